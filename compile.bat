@@ -9,16 +9,49 @@ if not exist "build" mkdir build
 
 echo Compiling Java files...
 javac -cp "lib/*" -d build ^
+  src/main/java/com/smartstudent/util/BloomFilter.java ^
   src/main/java/com/smartstudent/util/DatabaseConnection.java ^
+  src/main/java/com/smartstudent/util/DeltaExport.java ^
+  src/main/java/com/smartstudent/util/ByteTextWriter.java ^
+  src/main/java/com/smartstudent/util/CompressionOptions.java ^
+  src/main/java/com/smartstudent/util/ExportProgress.java ^
   src/main/java/com/smartstudent/util/ExportUtil.java ^
   src/main/java/com/smartstudent/util/GradeCalculator.java ^
+  src/main/java/com/smartstudent/util/GradePolicy.java ^
+  src/main/java/com/smartstudent/util/GradeSimulator.java ^
+  src/main/java/com/smartstudent/util/JsonLinesReader.java ^
+  src/main/java/com/smartstudent/util/XlsxWriter.java ^
+  src/main/java/com/smartstudent/util/ParallelGzipOutputStream.java ^
+  src/main/java/com/smartstudent/util/PartitionedExport.java ^
+  src/main/java/com/smartstudent/util/RunningStatistics.java ^
   src/main/java/com/smartstudent/model/Student.java ^
   src/main/java/com/smartstudent/model/User.java ^
+  src/main/java/com/smartstudent/store/StringColumn.java ^
+  src/main/java/com/smartstudent/store/RosterStore.java ^
+  src/main/java/com/smartstudent/store/RosterSnapshot.java ^
+  src/main/java/com/smartstudent/store/RosterBinaryFormat.java ^
+  src/main/java/com/smartstudent/store/OffHeapStudentStore.java ^
+  src/main/java/com/smartstudent/store/StudentView.java ^
+  src/main/java/com/smartstudent/dao/QueryCancellation.java ^
+  src/main/java/com/smartstudent/dao/RollNoRegistry.java ^
+  src/main/java/com/smartstudent/dao/SortSpec.java ^
+  src/main/java/com/smartstudent/dao/StudentRowHandler.java ^
+  src/main/java/com/smartstudent/dao/StudentSource.java ^
   src/main/java/com/smartstudent/dao/StudentDAO.java ^
   src/main/java/com/smartstudent/dao/UserDAO.java ^
   src/main/java/com/smartstudent/gui/LoginFrame.java ^
+  src/main/java/com/smartstudent/gui/AsyncDataLoader.java ^
+  src/main/java/com/smartstudent/gui/BarChart.java ^
+  src/main/java/com/smartstudent/gui/ExportJobManager.java ^
   src/main/java/com/smartstudent/gui/MainFrame.java ^
+  src/main/java/com/smartstudent/gui/StatisticsPanel.java ^
   src/main/java/com/smartstudent/gui/StudentForm.java ^
+  src/main/java/com/smartstudent/gui/StudentIndex.java ^
+  src/main/java/com/smartstudent/gui/StudentTableModel.java ^
+  src/main/java/com/smartstudent/benchmark/BenchmarkSupport.java ^
+  src/main/java/com/smartstudent/benchmark/RosterBenchmark.java ^
+  src/main/java/com/smartstudent/benchmark/OffHeapBenchmark.java ^
+  src/main/java/com/smartstudent/benchmark/ExportBenchmark.java ^
   src/main/java/com/smartstudent/SmartStudentApp.java
 
 if %errorlevel% neq 0 (
@@ -0,0 +1,103 @@
+/**
+ * Benchmark Support Class
+ *
+ * Shared helpers for the benchmark programs: synthetic roster generation,
+ * heap measurement and simple warmed-up timing.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.benchmark;
+
+import com.smartstudent.model.Student;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class BenchmarkSupport {
+    // Department names used for synthetic students
+    static final String[] DEPARTMENTS = {
+        "Computer Science", "Electrical Engineering", "Mechanical Engineering",
+        "Civil Engineering", "Information Technology", "Electronics & Communication"
+    };
+
+    // Keeps benchmark results reachable so the JIT cannot discard the work
+    static volatile Object sink;
+
+    /**
+     * Generates synthetic students with deterministic content
+     *
+     * @param rows Number of students
+     * @return New list of students
+     */
+    static List<Student> generateStudents(int rows) {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        List<Student> students = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            String rollNo = "R" + (100000 + i);
+            Student student = new Student(i + 1,
+                "Student " + i,
+                rollNo,
+                DEPARTMENTS[random.nextInt(DEPARTMENTS.length)],
+                "student" + i + "@example.edu",
+                String.valueOf(9000000000L + i),
+                random.nextInt(10001) / 100.0);
+            student.setCreatedAt(base.plusSeconds(i));
+            student.setUpdatedAt(base.plusSeconds(i + 60));
+            students.add(student);
+        }
+        return students;
+    }
+
+    /**
+     * Measures used heap after requesting garbage collection
+     *
+     * @return Used heap in bytes
+     */
+    static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Runs a task repeatedly after warm-up and reports the mean time
+     *
+     * @param task Task to time
+     * @param iterations Timed iterations (the same number is run as warm-up)
+     * @return Mean milliseconds per iteration
+     */
+    static double time(ThrowingSupplier task, int iterations) {
+        try {
+            for (int i = 0; i < iterations; i++) {
+                sink = task.get();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink = task.get();
+            }
+            return (System.nanoTime() - start) / 1_000_000.0 / iterations;
+        } catch (Exception e) {
+            throw new IllegalStateException("Benchmark task failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Benchmark task that may throw checked exceptions
+     */
+    @FunctionalInterface
+    interface ThrowingSupplier {
+        Object get() throws Exception;
+    }
+}
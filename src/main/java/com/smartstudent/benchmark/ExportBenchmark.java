@@ -0,0 +1,145 @@
+/**
+ * Export Benchmark
+ *
+ * Measures export throughput of ExportUtil against the original
+ * PrintWriter.printf implementation, kept here as the baseline, and the
+ * cost of single-stream and parallel GZIP compression on top of CSV, the
+ * write and read speed of JSON Lines, the write speed of streaming XLSX,
+ * and the write and reload speed of the binary columnar format.
+ * Files are written to a temporary directory and deleted afterwards.
+ *
+ * Usage: java -cp build com.smartstudent.benchmark.ExportBenchmark [rows]
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.benchmark;
+
+import com.smartstudent.dao.StudentSource;
+import com.smartstudent.model.Student;
+import com.smartstudent.store.RosterBinaryFormat;
+import com.smartstudent.store.RosterStore;
+import com.smartstudent.util.CompressionOptions;
+import com.smartstudent.util.ExportUtil;
+import com.smartstudent.util.JsonLinesReader;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+public class ExportBenchmark {
+    // Timed iterations per format (after the same number of warm-up runs)
+    private static final int ITERATIONS = 3;
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.println("Export benchmark with " + rows + " students");
+
+        List<Student> students = BenchmarkSupport.generateStudents(rows);
+        Path dir = Files.createTempDirectory("export-bench");
+        String file = dir.resolve("out").toString();
+        try {
+            report("CSV  printf baseline", rows, BenchmarkSupport.time(() -> { legacyCsv(students, file); return file; }, ITERATIONS));
+            report("CSV  ExportUtil", rows, BenchmarkSupport.time(() -> { ExportUtil.exportToCSV(students, file); return file; }, ITERATIONS));
+            report("Text printf baseline", rows, BenchmarkSupport.time(() -> { legacyText(students, file); return file; }, ITERATIONS));
+            report("Text ExportUtil", rows, BenchmarkSupport.time(() -> { ExportUtil.exportToText(students, file); return file; }, ITERATIONS));
+
+            report("JSONL ExportUtil", rows, BenchmarkSupport.time(() -> { ExportUtil.exportToJsonLines(students, file); return file; }, ITERATIONS));
+            System.out.printf("%-26s %,d bytes%n", "", Files.size(dir.resolve("out")));
+            report("JSONL read", rows, BenchmarkSupport.time(() -> {
+                try (JsonLinesReader reader = JsonLinesReader.open(Paths.get(file))) {
+                    return reader.forEach(student -> BenchmarkSupport.sink = student);
+                }
+            }, ITERATIONS));
+
+            report("XLSX ExportUtil", rows, BenchmarkSupport.time(() -> { ExportUtil.exportToExcel(students, file); return file; }, ITERATIONS));
+            System.out.printf("%-26s %,d bytes%n", "", Files.size(dir.resolve("out")));
+
+            int cores = Math.max(2, Runtime.getRuntime().availableProcessors());
+            CompressionOptions[] modes = {
+                CompressionOptions.gzip(1), CompressionOptions.gzip(6),
+                CompressionOptions.parallelGzip(1, cores), CompressionOptions.parallelGzip(6, cores)
+            };
+            StudentSource source = StudentSource.of(students);
+            for (CompressionOptions mode : modes) {
+                double millis = BenchmarkSupport.time(() -> { ExportUtil.exportToCSV(source, file, mode); return file; }, ITERATIONS);
+                report("CSV  " + mode, rows, millis);
+                System.out.printf("%-26s %,d bytes%n", "", Files.size(dir.resolve("out")));
+            }
+
+            RosterStore roster = RosterStore.of(students);
+            report("Binary write", rows, BenchmarkSupport.time(() -> ExportUtil.exportToBinary(roster, file), ITERATIONS));
+            System.out.printf("%-26s %,d bytes%n", "", Files.size(dir.resolve("out")));
+            report("Binary read", rows, BenchmarkSupport.time(() -> RosterBinaryFormat.read(Paths.get(file)), ITERATIONS));
+        } finally {
+            Files.deleteIfExists(dir.resolve("out"));
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    private static void report(String label, int rows, double millis) {
+        System.out.printf("%-26s %9.1f ms  %,12.0f rows/s%n", label, millis, rows / (millis / 1000));
+    }
+
+    // ==================== ORIGINAL IMPLEMENTATION (BASELINE) ====================
+
+    private static void legacyCsv(List<Student> students, String filename) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
+            writer.println("ID,Name,Roll No,Department,Email,Phone,Marks,Grade,Status");
+            for (Student student : students) {
+                writer.printf("%d,%s,%s,%s,%s,%s,%.2f,%s,%s%n",
+                    student.getId(),
+                    legacyEscape(student.getName()),
+                    legacyEscape(student.getRollNo()),
+                    legacyEscape(student.getDepartment()),
+                    legacyEscape(student.getEmail()),
+                    legacyEscape(student.getPhone()),
+                    student.getMarks(),
+                    student.getGrade(),
+                    student.isPassed() ? "Pass" : "Fail");
+            }
+        }
+    }
+
+    private static void legacyText(List<Student> students, String filename) throws IOException {
+        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
+            writer.printf("%-5s %-20s %-10s %-20s %-25s %-15s %-8s %-6s %-6s%n",
+                "ID", "Name", "Roll No", "Department", "Email", "Phone", "Marks", "Grade", "Status");
+            for (Student student : students) {
+                writer.printf("%-5d %-20s %-10s %-20s %-25s %-15s %-8.2f %-6s %-6s%n",
+                    student.getId(),
+                    legacyTruncate(student.getName(), 18),
+                    student.getRollNo(),
+                    legacyTruncate(student.getDepartment(), 18),
+                    legacyTruncate(student.getEmail(), 23),
+                    student.getPhone(),
+                    student.getMarks(),
+                    student.getGrade(),
+                    student.isPassed() ? "Pass" : "Fail");
+            }
+            writer.println("Passed: " + students.stream().filter(Student::isPassed).count());
+            writer.println("Failed: " + students.stream().filter(s -> !s.isPassed()).count());
+            writer.println("Average Marks: " + String.format("%.2f", students.stream().mapToDouble(Student::getMarks).average().orElse(0.0)));
+            writer.println("Highest Marks: " + String.format("%.2f", students.stream().mapToDouble(Student::getMarks).max().orElse(0.0)));
+            writer.println("Lowest Marks: " + String.format("%.2f", students.stream().mapToDouble(Student::getMarks).min().orElse(0.0)));
+        }
+    }
+
+    private static String legacyEscape(String field) {
+        if (field == null) return "";
+        if (field.contains(",") || field.contains("\"") || field.contains("\n")) {
+            return "\"" + field.replace("\"", "\"\"") + "\"";
+        }
+        return field;
+    }
+
+    private static String legacyTruncate(String str, int maxLength) {
+        if (str == null) return "";
+        return str.length() <= maxLength ? str : str.substring(0, maxLength - 3) + "...";
+    }
+}
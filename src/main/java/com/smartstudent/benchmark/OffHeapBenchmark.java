@@ -0,0 +1,151 @@
+/**
+ * Off-Heap Benchmark
+ *
+ * Compares an on-heap roster cache (Student objects indexed by roll number
+ * in a HashMap) with the OffHeapStudentStore. For each, the roster is
+ * loaded, then a workload of lookups and short-lived allocations runs
+ * while garbage collection counts and times are sampled. A full
+ * collection is also timed to show the pause cost of the live set.
+ *
+ * Usage: java -cp build com.smartstudent.benchmark.OffHeapBenchmark [rows] [onheap|offheap|both]
+ *
+ * Run each mode in its own JVM for the cleanest numbers.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.benchmark;
+
+import com.smartstudent.model.Student;
+import com.smartstudent.store.OffHeapStudentStore;
+import com.smartstudent.store.StudentView;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+public class OffHeapBenchmark {
+    // Lookups performed by the workload
+    private static final int LOOKUPS = 20_000_000;
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        String mode = args.length > 1 ? args[1] : "both";
+        System.out.println("Off-heap benchmark with " + rows + " students");
+
+        if (!mode.equals("offheap")) {
+            runOnHeap(rows);
+        }
+        if (!mode.equals("onheap")) {
+            runOffHeap(rows);
+        }
+    }
+
+    private static void runOnHeap(int rows) {
+        long before = BenchmarkSupport.usedHeap();
+        Map<String, Student> cache = new HashMap<>();
+        for (Student student : BenchmarkSupport.generateStudents(rows)) {
+            cache.put(student.getRollNo(), student);
+        }
+        long heap = BenchmarkSupport.usedHeap() - before;
+
+        GcSample start = GcSample.now();
+        double sum = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            Student student = cache.get(rollNo(i % rows));
+            sum += student.getMarks();
+            BenchmarkSupport.sink = new byte[64]; // typical short-lived request garbage
+        }
+        GcSample workload = GcSample.now().minus(start);
+        long fullGcMillis = timeFullGc();
+
+        report("On-heap cache", heap, 0, workload, fullGcMillis, sum + cache.size());
+    }
+
+    private static void runOffHeap(int rows) {
+        long before = BenchmarkSupport.usedHeap();
+        long directBefore = directMemory();
+        OffHeapStudentStore store = load(rows);
+        long heap = BenchmarkSupport.usedHeap() - before;
+        long direct = directMemory() - directBefore;
+
+        GcSample start = GcSample.now();
+        StudentView view = store.view();
+        double sum = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            int slot = store.findByRollNo(rollNo(i % rows));
+            sum += view.moveTo(slot).getMarks();
+            BenchmarkSupport.sink = new byte[64];
+        }
+        GcSample workload = GcSample.now().minus(start);
+        long fullGcMillis = timeFullGc();
+
+        report("Off-heap store", heap, direct, workload, fullGcMillis, sum + store.size());
+    }
+
+    private static OffHeapStudentStore load(int rows) {
+        // The generated list becomes unreachable when this method returns
+        OffHeapStudentStore store = new OffHeapStudentStore();
+        for (Student student : BenchmarkSupport.generateStudents(rows)) {
+            store.add(student);
+        }
+        return store;
+    }
+
+    private static String rollNo(int i) {
+        return "R" + (100000 + i);
+    }
+
+    private static long timeFullGc() {
+        long start = System.nanoTime();
+        System.gc();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static long directMemory() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (pool.getName().equals("direct")) {
+                return pool.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+
+    private static void report(String label, long heap, long direct, GcSample gc, long fullGcMillis, double checksum) {
+        System.out.println(label + ":");
+        System.out.printf("  heap footprint:   %,d bytes%n", heap);
+        System.out.printf("  direct memory:    %,d bytes%n", direct);
+        System.out.printf("  workload GCs:     %d collections, %d ms total%n", gc.count, gc.millis);
+        System.out.printf("  full GC pause:    %d ms%n", fullGcMillis);
+        System.out.printf("  (checksum %.1f)%n", checksum);
+    }
+
+    /**
+     * Cumulative collection count and time across all collectors
+     */
+    private static class GcSample {
+        final long count;
+        final long millis;
+
+        GcSample(long count, long millis) {
+            this.count = count;
+            this.millis = millis;
+        }
+
+        static GcSample now() {
+            long count = 0, millis = 0;
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                count += Math.max(0, gc.getCollectionCount());
+                millis += Math.max(0, gc.getCollectionTime());
+            }
+            return new GcSample(count, millis);
+        }
+
+        GcSample minus(GcSample other) {
+            return new GcSample(count - other.count, millis - other.millis);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * Roster Benchmark
+ *
+ * Compares the heap footprint and aggregation speed of the object-per-row
+ * List&lt;Student&gt; roster with the columnar RosterStore. Uses synthetic
+ * students, so no database is required.
+ *
+ * Usage: java -cp build com.smartstudent.benchmark.RosterBenchmark [rows]
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.benchmark;
+
+import com.smartstudent.model.Student;
+import com.smartstudent.store.RosterStore;
+import com.smartstudent.util.GradeCalculator;
+
+import java.util.List;
+
+public class RosterBenchmark {
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.println("Roster benchmark with " + rows + " students");
+
+        // Heap footprint of the object-per-row list
+        long baseline = BenchmarkSupport.usedHeap();
+        List<Student> students = BenchmarkSupport.generateStudents(rows);
+        long listBytes = BenchmarkSupport.usedHeap() - baseline;
+
+        // Heap footprint of the columnar store (the list is still reachable,
+        // so the delta counts only the store's own columns)
+        long beforeStore = BenchmarkSupport.usedHeap();
+        RosterStore store = RosterStore.of(students);
+        long storeBytes = BenchmarkSupport.usedHeap() - beforeStore;
+
+        System.out.printf("List<Student> heap: %,d bytes (%.1f bytes/student)%n", listBytes, (double) listBytes / rows);
+        System.out.printf("RosterStore heap:   %,d bytes (%.1f bytes/student)%n", storeBytes, (double) storeBytes / rows);
+
+        // Scan speed: full statistics over each representation
+        double listMillis = BenchmarkSupport.time(() -> GradeCalculator.calculateStatistics(students), 10);
+        double storeMillis = BenchmarkSupport.time(() -> GradeCalculator.calculateStatistics(store), 10);
+
+        System.out.printf("Statistics over List<Student>: %.2f ms%n", listMillis);
+        System.out.printf("Statistics over RosterStore:   %.2f ms%n", storeMillis);
+    }
+}
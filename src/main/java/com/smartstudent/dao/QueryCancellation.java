@@ -0,0 +1,71 @@
+/**
+ * Query Cancellation Class
+ *
+ * Lets another thread abort a DAO query while it is running. The DAO
+ * registers the JDBC statement with the cancellation for as long as it
+ * executes; cancelling then calls Statement.cancel(), which asks the
+ * server to stop the query, and the DAO call fails with an SQLException.
+ * A query whose cancellation has already been cancelled fails before it
+ * is sent.
+ *
+ * Statement.cancel() may open a connection of its own to reach the
+ * server, so cancel() should not be called on the Event Dispatch Thread.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.dao;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+public class QueryCancellation {
+    private Statement statement;
+    private boolean cancelled;
+
+    /**
+     * Cancels the running query, or the next one if none is running yet
+     */
+    public synchronized void cancel() {
+        if (cancelled) {
+            return;
+        }
+        cancelled = true;
+        if (statement != null) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // The query may have finished in the meantime
+            }
+        }
+    }
+
+    /**
+     * Checks whether the query has been cancelled
+     * @return true once cancel() has been called
+     */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Registers the statement about to be executed
+     *
+     * @param stmt Statement that can be cancelled until unregistered
+     * @throws SQLException if the query has already been cancelled
+     */
+    synchronized void register(Statement stmt) throws SQLException {
+        if (cancelled) {
+            throw new SQLException("Query cancelled");
+        }
+        statement = stmt;
+    }
+
+    /**
+     * Unregisters the statement before it is closed
+     */
+    synchronized void unregister() {
+        statement = null;
+    }
+}
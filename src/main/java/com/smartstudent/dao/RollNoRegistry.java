@@ -0,0 +1,163 @@
+/**
+ * Roll Number Registry Class
+ *
+ * Answers "is this roll number taken?" without a database query in the
+ * common case. The registry keeps a Bloom filter of every roll number in
+ * the students table, so a roll number that is not in the filter is
+ * certainly free and only a probable hit needs the database to confirm.
+ *
+ * The filter is loaded in one pass over the roll_no column and updated
+ * as this client adds and deletes students. A Bloom filter cannot forget,
+ * so a deleted roll number stays a probable hit, answered by the database,
+ * until the filter is loaded again; {@link #needsRefresh()} reports when
+ * deletions or growth past the filter's size make that worthwhile.
+ * Students added by other clients are only seen after a refresh, so the
+ * unique constraint on roll_no remains the final check on insert.
+ *
+ * Roll numbers are compared ignoring case and surrounding spaces, like
+ * the column's default MySQL collation, so the filter never misses a
+ * roll number the database would call a duplicate.
+ *
+ * Lookups and updates are thread-safe; they are cheap enough for the Event
+ * Dispatch Thread. {@link #refresh()} queries the database and must not be
+ * called there.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.dao;
+
+import com.smartstudent.util.BloomFilter;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class RollNoRegistry {
+    // Probable hits that turn out free, at the size the filter was built for
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Room for growth before the filter is due for a rebuild
+    private static final int MIN_CAPACITY = 1024;
+
+    private final StudentDAO studentDAO;
+
+    // Null until loaded: every roll number is then a probable hit
+    private BloomFilter filter;
+    // Deletions since the filter was loaded
+    private int removed;
+    // Roll numbers added while a refresh is reading the table
+    private List<String> addedDuringRefresh;
+
+    /**
+     * Creates an empty registry; call {@link #refresh()} to load it
+     *
+     * @param studentDAO DAO used to load roll numbers and confirm hits
+     */
+    public RollNoRegistry(StudentDAO studentDAO) {
+        this.studentDAO = studentDAO;
+    }
+
+    /**
+     * Loads the registry from the database, replacing the current filter
+     *
+     * Roll numbers added during the load are kept. Does nothing if another
+     * refresh is already running.
+     *
+     * @throws SQLException if the roll numbers cannot be read
+     */
+    public void refresh() throws SQLException {
+        synchronized (this) {
+            if (addedDuringRefresh != null) {
+                return;
+            }
+            addedDuringRefresh = new ArrayList<>();
+        }
+        BloomFilter loaded = null;
+        try {
+            int count = studentDAO.countStudents();
+            BloomFilter building = new BloomFilter(Math.max(MIN_CAPACITY, count * 2), FALSE_POSITIVE_RATE);
+            studentDAO.streamRollNos(rollNo -> building.add(key(rollNo)));
+            loaded = building;
+        } finally {
+            synchronized (this) {
+                if (loaded != null) {
+                    for (String rollNo : addedDuringRefresh) {
+                        loaded.add(rollNo);
+                    }
+                    filter = loaded;
+                    removed = 0;
+                }
+                addedDuringRefresh = null;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a roll number may be taken, without a database query
+     *
+     * @param rollNo Roll number to check
+     * @return false if the roll number is certainly free; true if it is
+     *         probably taken, or the registry is not loaded yet
+     */
+    public synchronized boolean mightExist(String rollNo) {
+        return filter == null || filter.mightContain(key(rollNo));
+    }
+
+    /**
+     * Checks whether a roll number is taken, asking the database only on a
+     * probable hit
+     *
+     * @param rollNo Roll number to check
+     * @return true if a student with the roll number exists
+     * @throws SQLException if a probable hit cannot be confirmed
+     */
+    public boolean exists(String rollNo) throws SQLException {
+        return mightExist(rollNo) && studentDAO.isRollNoExists(rollNo);
+    }
+
+    /**
+     * Records a roll number written to the database
+     *
+     * @param rollNo Roll number of an inserted student, or one found to be taken
+     */
+    public synchronized void added(String rollNo) {
+        String key = key(rollNo);
+        if (filter != null) {
+            filter.add(key);
+        }
+        if (addedDuringRefresh != null) {
+            addedDuringRefresh.add(key);
+        }
+    }
+
+    /**
+     * Records a roll number deleted from the database
+     *
+     * It stays a probable hit until the next refresh.
+     *
+     * @param rollNo Roll number of a deleted student
+     */
+    public synchronized void removed(String rollNo) {
+        removed++;
+    }
+
+    /**
+     * Checks whether the registry should be loaded again
+     *
+     * @return true if it has not been loaded, or if deletions or additions
+     *         have made probable hits noticeably less reliable
+     */
+    public synchronized boolean needsRefresh() {
+        if (filter == null) {
+            return addedDuringRefresh == null;
+        }
+        int capacity = filter.getExpectedInsertions();
+        return addedDuringRefresh == null && (filter.getInsertions() > capacity || removed > capacity / 4);
+    }
+
+    private static String key(String rollNo) {
+        return rollNo.trim().toLowerCase(Locale.ROOT);
+    }
+}
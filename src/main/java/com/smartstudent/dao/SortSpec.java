@@ -0,0 +1,465 @@
+/**
+ * Sort Specification Class
+ *
+ * Describes a multi-column ordering of the student table, such as
+ * department then marks descending, and turns it into SQL. Columns come
+ * from a fixed whitelist, so no user text ever reaches the ORDER BY
+ * clause.
+ *
+ * The chosen keys are completed to a total order that an index can
+ * deliver: if they are a prefix of one of the students table's indexes
+ * (read in either direction), the rest of that index's columns are
+ * appended as tie-breakers; the primary key always comes last. Such a
+ * spec sorts without a filesort, and the next page is found by keyset
+ * continuation from the last row of the previous one, so a page deep
+ * into a million rows costs the same as the first. Specs that match no
+ * index still work but sort the whole table on every page; check
+ * {@link #isIndexed()} before using them on large tables.
+ *
+ * Specs are immutable.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.dao;
+
+import com.smartstudent.model.Student;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+public class SortSpec {
+
+    /**
+     * Sortable columns of the students table
+     */
+    public enum Column {
+        ID("id", "ID", false, Student::getId),
+        NAME("name", "Name", false, Student::getName),
+        ROLL_NO("roll_no", "Roll No", false, Student::getRollNo),
+        DEPARTMENT("department", "Department", false, Student::getDepartment),
+        EMAIL("email", "Email", true, Student::getEmail),
+        PHONE("phone", "Phone", true, Student::getPhone),
+        // Nullable in the schema, but always written by the application
+        MARKS("marks", "Marks", false, Student::getMarks);
+
+        private final String sqlName;
+        private final String displayName;
+        private final boolean nullable;
+        private final Function<Student, Object> value;
+
+        Column(String sqlName, String displayName, boolean nullable, Function<Student, Object> value) {
+            this.sqlName = sqlName;
+            this.displayName = displayName;
+            this.nullable = nullable;
+            this.value = value;
+        }
+
+        public String getDisplayName() { return displayName; }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Comparator<Student> ascending() {
+            Comparator<Object> natural = (a, b) -> a instanceof String
+                ? String.CASE_INSENSITIVE_ORDER.compare((String) a, (String) b)
+                : ((Comparable) a).compareTo(b);
+            // NULLs sort first in ascending order, as in MySQL
+            return Comparator.comparing(value, Comparator.nullsFirst(natural));
+        }
+    }
+
+    /**
+     * One column of a sort and its direction
+     */
+    public static class Key {
+        private final Column column;
+        private final boolean ascending;
+
+        public Key(Column column, boolean ascending) {
+            this.column = Objects.requireNonNull(column);
+            this.ascending = ascending;
+        }
+
+        public Column getColumn() { return column; }
+        public boolean isAscending() { return ascending; }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key other = (Key) obj;
+            return column == other.column && ascending == other.ascending;
+        }
+
+        @Override
+        public int hashCode() {
+            return column.hashCode() * 2 + (ascending ? 1 : 0);
+        }
+
+        @Override
+        public String toString() {
+            return ascending ? column.displayName : column.displayName + " (descending)";
+        }
+    }
+
+    // Index column orders of the students table (see database.sql); the primary key follows each
+    private static final List<List<Key>> INDEXES = List.of(
+        List.of(new Key(Column.NAME, true)),
+        List.of(new Key(Column.ROLL_NO, true)),
+        List.of(new Key(Column.MARKS, true)),
+        List.of(new Key(Column.DEPARTMENT, true), new Key(Column.MARKS, false))
+    );
+
+    // Order of the full table: name, then id
+    public static final SortSpec DEFAULT = by(Column.NAME, true);
+
+    private final List<Key> keys;
+    private final List<Key> orderKeys;
+    private final boolean indexed;
+
+    private SortSpec(List<Key> keys) {
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("A sort needs at least one column");
+        }
+        List<Key> chosen = new ArrayList<>();
+        for (Key key : keys) {
+            for (Key existing : chosen) {
+                if (existing.column == key.column) {
+                    throw new IllegalArgumentException("Column sorted twice: " + key.column.displayName);
+                }
+            }
+            chosen.add(key);
+            if (key.column == Column.ID) {
+                break; // ids are unique, later keys would never be consulted
+            }
+        }
+        this.keys = Collections.unmodifiableList(chosen);
+
+        List<Key> completed = completeFromIndex(chosen);
+        this.indexed = completed != null;
+        if (completed == null) {
+            completed = new ArrayList<>(chosen);
+            if (chosen.get(chosen.size() - 1).column != Column.ID) {
+                completed.add(new Key(Column.ID, chosen.get(0).ascending));
+            }
+        }
+        this.orderKeys = Collections.unmodifiableList(completed);
+    }
+
+    /**
+     * Creates a sort by one column
+     *
+     * @param column Column to sort by
+     * @param ascending Sort direction
+     * @return Sort specification
+     */
+    public static SortSpec by(Column column, boolean ascending) {
+        return new SortSpec(List.of(new Key(column, ascending)));
+    }
+
+    /**
+     * Creates a sort from keys, most significant first
+     *
+     * @param keys Sort keys
+     * @return Sort specification
+     * @throws IllegalArgumentException if there are no keys or a column repeats
+     */
+    public static SortSpec of(List<Key> keys) {
+        return new SortSpec(keys);
+    }
+
+    /**
+     * Returns a copy with another, less significant key
+     *
+     * @param column Column to add
+     * @param ascending Its direction
+     * @return New sort specification
+     * @throws IllegalArgumentException if the column is already sorted
+     */
+    public SortSpec then(Column column, boolean ascending) {
+        List<Key> more = new ArrayList<>(keys);
+        more.add(new Key(column, ascending));
+        return new SortSpec(more);
+    }
+
+    /**
+     * Returns a copy with one key's direction reversed
+     *
+     * @param column Column to reverse; unchanged if not sorted
+     * @return New sort specification
+     */
+    public SortSpec toggle(Column column) {
+        List<Key> toggled = new ArrayList<>(keys.size());
+        for (Key key : keys) {
+            toggled.add(key.column == column ? new Key(column, !key.ascending) : key);
+        }
+        return new SortSpec(toggled);
+    }
+
+    /**
+     * Returns a copy with every key's direction reversed
+     *
+     * @return New sort specification
+     */
+    public SortSpec reversed() {
+        List<Key> reversed = new ArrayList<>(keys.size());
+        for (Key key : keys) {
+            reversed.add(new Key(key.column, !key.ascending));
+        }
+        return new SortSpec(reversed);
+    }
+
+    /**
+     * Checks whether this sort orders rows exactly opposite to another
+     *
+     * True when both sorts, tie-breakers included, use the same columns in
+     * opposite directions, so rows in one order read backwards are in the
+     * other.
+     *
+     * @param other Sort to compare with
+     * @return true if each sort is the other reversed
+     */
+    public boolean isReverseOf(SortSpec other) {
+        if (orderKeys.size() != other.orderKeys.size()) {
+            return false;
+        }
+        for (int i = 0; i < orderKeys.size(); i++) {
+            Key key = orderKeys.get(i);
+            Key opposite = other.orderKeys.get(i);
+            if (key.column != opposite.column || key.ascending == opposite.ascending) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the chosen keys, most significant first
+     * @return Sort keys, without the completing tie-breakers
+     */
+    public List<Key> getKeys() {
+        return keys;
+    }
+
+    /**
+     * Finds the key for a column
+     *
+     * @param column Column to look for
+     * @return Its key, or null if the column is not sorted
+     */
+    public Key getKey(Column column) {
+        for (Key key : keys) {
+            if (key.column == column) return key;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether an index delivers rows in this order
+     * @return true if paging needs no filesort
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Builds a comparator for the same total order as the SQL
+     *
+     * Strings compare ignoring case, approximating the database collation.
+     *
+     * @return Comparator of students
+     */
+    public Comparator<Student> comparator() {
+        Comparator<Student> result = null;
+        for (Key key : orderKeys) {
+            Comparator<Student> next = key.ascending ? key.column.ascending() : key.column.ascending().reversed();
+            result = result == null ? next : result.thenComparing(next);
+        }
+        return result;
+    }
+
+    // ==================== SQL ====================
+
+    /**
+     * Builds the ORDER BY list, e.g. "department, marks DESC, id"
+     *
+     * @return Column list without the ORDER BY keyword
+     */
+    String toOrderBy() {
+        StringBuilder sql = new StringBuilder();
+        for (Key key : orderKeys) {
+            if (sql.length() > 0) sql.append(", ");
+            sql.append(key.column.sqlName);
+            if (!key.ascending) sql.append(" DESC");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Builds the condition for the rows after a given row in this order
+     *
+     * For keys k1, k2, id the condition reads
+     * k1 &gt; ? OR (k1 = ? AND k2 &gt; ?) OR (k1 = ? AND k2 = ? AND id &gt; ?),
+     * with the comparisons flipped for descending keys, led by a redundant
+     * bound on k1 that lets the optimizer start a range scan. A NULL in
+     * the row becomes IS NULL / IS NOT NULL, following MySQL's rule that
+     * NULLs sort first ascending and last descending.
+     * {@link #bindKeyset} binds the parameters in the same order.
+     *
+     * @param previous Last row of the previous page
+     * @return Condition with ? placeholders
+     */
+    String keysetCondition(Student previous) {
+        StringBuilder terms = new StringBuilder();
+        for (int i = 0; i < orderKeys.size(); i++) {
+            String after = after(orderKeys.get(i), previous);
+            if (after == null) {
+                continue; // nothing sorts after a NULL in a descending key
+            }
+            StringBuilder term = new StringBuilder();
+            for (int j = 0; j < i; j++) {
+                Key key = orderKeys.get(j);
+                term.append(key.column.value.apply(previous) == null ? key.column.sqlName + " IS NULL"
+                                                                     : key.column.sqlName + " = ?");
+                term.append(" AND ");
+            }
+            term.append(after);
+            if (terms.length() > 0) terms.append(" OR ");
+            terms.append('(').append(term).append(')');
+        }
+        if (terms.length() == 0) {
+            return "1 = 0";
+        }
+        String bound = leadingBound(previous);
+        return bound == null ? "(" + terms + ")" : bound + " AND (" + terms + ")";
+    }
+
+    /**
+     * Binds the parameters of {@link #keysetCondition(Student)}
+     *
+     * @param stmt Statement to bind
+     * @param index Index of the first parameter
+     * @param previous Last row of the previous page
+     * @return Index of the next parameter
+     * @throws SQLException if binding fails
+     */
+    int bindKeyset(PreparedStatement stmt, int index, Student previous) throws SQLException {
+        if (leadingBound(previous) != null) {
+            stmt.setObject(index++, orderKeys.get(0).column.value.apply(previous));
+        }
+        for (int i = 0; i < orderKeys.size(); i++) {
+            Key key = orderKeys.get(i);
+            if (after(key, previous) == null) {
+                continue;
+            }
+            for (int j = 0; j < i; j++) {
+                Object value = orderKeys.get(j).column.value.apply(previous);
+                if (value != null) stmt.setObject(index++, value);
+            }
+            Object value = key.column.value.apply(previous);
+            if (value != null) stmt.setObject(index++, value);
+        }
+        return index;
+    }
+
+    /**
+     * Condition for rows after the given row's value of one key
+     *
+     * @return SQL, or null if no row can follow
+     */
+    private static String after(Key key, Student previous) {
+        String column = key.column.sqlName;
+        boolean isNull = key.column.value.apply(previous) == null;
+        if (key.ascending) {
+            return isNull ? column + " IS NOT NULL" : column + " > ?";
+        }
+        if (isNull) {
+            return null;
+        }
+        return key.column.nullable ? "(" + column + " < ? OR " + column + " IS NULL)" : column + " < ?";
+    }
+
+    private String leadingBound(Student previous) {
+        Key first = orderKeys.get(0);
+        if (orderKeys.size() < 2 || first.column.value.apply(previous) == null) {
+            return null;
+        }
+        if (first.ascending) {
+            return first.column.sqlName + " >= ?";
+        }
+        return first.column.nullable ? null : first.column.sqlName + " <= ?";
+    }
+
+    /**
+     * Appends the remaining columns of the first index that starts with
+     * the keys, read forwards or backwards
+     *
+     * @return Completed keys ending with the primary key, or null if no index fits
+     */
+    private static List<Key> completeFromIndex(List<Key> keys) {
+        for (List<Key> columns : INDEXES) {
+            List<Key> index = new ArrayList<>(columns);
+            index.add(new Key(Column.ID, true));
+            List<Key> completed = matchIndex(keys, index);
+            if (completed != null) {
+                return completed;
+            }
+        }
+        // The primary key itself
+        if (keys.size() == 1 && keys.get(0).column == Column.ID) {
+            return new ArrayList<>(keys);
+        }
+        return null;
+    }
+
+    private static List<Key> matchIndex(List<Key> keys, List<Key> index) {
+        if (keys.size() > index.size()) {
+            return null;
+        }
+        boolean backwards = keys.get(0).ascending != index.get(0).ascending;
+        for (int i = 0; i < keys.size(); i++) {
+            Key key = keys.get(i);
+            Key part = index.get(i);
+            if (key.column != part.column || key.ascending != (part.ascending ^ backwards)) {
+                return null;
+            }
+        }
+        List<Key> completed = new ArrayList<>(keys);
+        for (int i = keys.size(); i < index.size(); i++) {
+            Key part = index.get(i);
+            completed.add(new Key(part.column, part.ascending ^ backwards));
+        }
+        return completed;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof SortSpec)) return false;
+        return keys.equals(((SortSpec) obj).keys);
+    }
+
+    @Override
+    public int hashCode() {
+        return keys.hashCode();
+    }
+
+    /**
+     * Describes the sort for display, e.g. "Department, Marks (descending)"
+     */
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (Key key : keys) {
+            if (text.length() > 0) text.append(", ");
+            text.append(key);
+        }
+        return text.toString();
+    }
+}
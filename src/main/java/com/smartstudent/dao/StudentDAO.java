@@ -19,27 +19,40 @@
 package com.smartstudent.dao;
 
 import com.smartstudent.model.Student;
+import com.smartstudent.store.RosterStore;
 import com.smartstudent.util.DatabaseConnection;
 
+import java.io.IOException;
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class StudentDAO {
-    
+    // Rows per multi-row INSERT in bulkInsert
+    private static final int BULK_INSERT_ROWS = 500;
+
     /**
      * Inserts a new student record into the database
      * 
      * This method creates a new student record with all the provided information.
-     * The student ID is auto-generated by the database.
+     * The student ID is auto-generated by the database and set on the student.
      * 
      * @param student Student object containing all student information
+     * @return Generated student ID
      * @throws SQLException if database error occurs during insertion
      */
-    public void insertStudent(Student student) throws SQLException {
+    public int insertStudent(Student student) throws SQLException {
         String sql = "INSERT INTO students (name, roll_no, department, email, phone, marks) VALUES (?, ?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, student.getName());
             stmt.setString(2, student.getRollNo());
             stmt.setString(3, student.getDepartment());
@@ -47,9 +60,87 @@ public class StudentDAO {
             stmt.setString(5, student.getPhone());
             stmt.setDouble(6, student.getMarks());
             stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                if (!keys.next()) {
+                    throw new SQLException("Inserted student has no generated ID");
+                }
+                student.setId(keys.getInt(1));
+                return student.getId();
+            }
         }
     }
 
+    /**
+     * Bulk-loads a roster into the database
+     *
+     * Rows are sent as multi-row INSERT statements of up to
+     * {@link #BULK_INSERT_ROWS} rows each, all in one transaction, so
+     * either the whole roster is loaded or nothing is. Students whose roll
+     * number already exists are updated in place, which makes restoring a
+     * backup or re-importing a roster from another instance repeatable.
+     * Database ids are assigned by this database, not taken from the roster.
+     *
+     * @param roster Roster to load
+     * @return Number of roster rows loaded
+     * @throws SQLException if database error occurs; no rows are kept
+     */
+    public int bulkInsert(RosterStore roster) throws SQLException {
+        int rows = roster.size();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                PreparedStatement full = null;
+                try {
+                    for (int start = 0; start < rows; start += BULK_INSERT_ROWS) {
+                        int count = Math.min(BULK_INSERT_ROWS, rows - start);
+                        PreparedStatement stmt;
+                        if (count == BULK_INSERT_ROWS) {
+                            if (full == null) full = conn.prepareStatement(bulkInsertSql(count));
+                            stmt = full;
+                        } else {
+                            stmt = conn.prepareStatement(bulkInsertSql(count));
+                        }
+                        try {
+                            int param = 1;
+                            for (int row = start; row < start + count; row++) {
+                                stmt.setString(param++, roster.getName(row));
+                                stmt.setString(param++, roster.getRollNo(row));
+                                stmt.setString(param++, roster.getDepartment(row));
+                                stmt.setString(param++, roster.getEmail(row));
+                                stmt.setString(param++, roster.getPhone(row));
+                                stmt.setDouble(param++, roster.getMarks(row));
+                            }
+                            stmt.executeUpdate();
+                        } finally {
+                            if (stmt != full) stmt.close();
+                        }
+                    }
+                } finally {
+                    if (full != null) full.close();
+                }
+                conn.commit();
+                return rows;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private static String bulkInsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(
+            "INSERT INTO students (name, roll_no, department, email, phone, marks) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?)");
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE name = VALUES(name), department = VALUES(department),"
+                 + " email = VALUES(email), phone = VALUES(phone), marks = VALUES(marks)");
+        return sql.toString();
+    }
+
     /**
      * Retrieves all students from the database
      * 
@@ -72,6 +163,175 @@ public class StudentDAO {
         return list;
     }
 
+    /**
+     * Retrieves one page of students in table order
+     * 
+     * Pages are ordered by name, then id, so every row has a fixed
+     * position. The database still skips the rows before the offset, so
+     * prefer {@link #getStudentsPageAfter(String, int, int)} when the row
+     * before the page is known.
+     * 
+     * @param offset Number of rows to skip
+     * @param limit Maximum number of rows to return
+     * @return Students in the page, fewer than limit at the end of the table
+     * @throws SQLException if database error occurs during retrieval
+     */
+    public List<Student> getStudentsPage(int offset, int limit) throws SQLException {
+        return getStudentsPage(SortSpec.DEFAULT, offset, limit);
+    }
+
+    /**
+     * Retrieves one page of students in a given order
+     * 
+     * The order is completed to a total order, so every row has a fixed
+     * position. The database still skips the rows before the offset, so
+     * prefer {@link #getStudentsPageAfter(SortSpec, Student, int)} when the
+     * row before the page is known.
+     * 
+     * @param sort Order of the rows
+     * @param offset Number of rows to skip
+     * @param limit Maximum number of rows to return
+     * @return Students in the page, fewer than limit at the end of the table
+     * @throws SQLException if database error occurs during retrieval
+     */
+    public List<Student> getStudentsPage(SortSpec sort, int offset, int limit) throws SQLException {
+        String sql = "SELECT * FROM students ORDER BY " + sort.toOrderBy() + " LIMIT ? OFFSET ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, limit);
+            stmt.setInt(2, offset);
+            return readStudents(stmt);
+        }
+    }
+
+    /**
+     * Retrieves the page of students that follows a given row in table order
+     * 
+     * @param name Name of the row before the page
+     * @param id ID of the row before the page
+     * @param limit Maximum number of rows to return
+     * @return Students after the given row, ordered by name, then id
+     * @throws SQLException if database error occurs during retrieval
+     */
+    public List<Student> getStudentsPageAfter(String name, int id, int limit) throws SQLException {
+        Student previous = new Student();
+        previous.setName(name);
+        previous.setId(id);
+        return getStudentsPageAfter(SortSpec.DEFAULT, previous, limit);
+    }
+
+    /**
+     * Retrieves the page of students that follows a given row in a given order
+     * 
+     * Keyset continuation: for an indexed sort the query seeks straight to
+     * the row on the index instead of skipping every row before it, so its
+     * cost does not grow with the position in the table.
+     * 
+     * @param sort Order of the rows
+     * @param previous Row before the page, with the values of the sorted columns
+     * @param limit Maximum number of rows to return
+     * @return Students after the given row, in the given order
+     * @throws SQLException if database error occurs during retrieval
+     */
+    public List<Student> getStudentsPageAfter(SortSpec sort, Student previous, int limit) throws SQLException {
+        String sql = "SELECT * FROM students WHERE " + sort.keysetCondition(previous)
+                     + " ORDER BY " + sort.toOrderBy() + " LIMIT ?";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = sort.bindKeyset(stmt, 1, previous);
+            stmt.setInt(index, limit);
+            return readStudents(stmt);
+        }
+    }
+
+    /**
+     * Counts all students
+     * 
+     * @return Number of student records
+     * @throws SQLException if database error occurs
+     */
+    public int countStudents() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM students")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Streams all students to a row handler
+     * 
+     * Rows are read through a forward-only streaming cursor and handed to
+     * the handler one at a time, so the table is never held in memory and
+     * heap use stays constant regardless of the number of students.
+     * 
+     * @param handler Handler receiving each student in name order, then id
+     * @throws SQLException if database error occurs during retrieval
+     * @throws IOException if the handler fails
+     */
+    public void streamAllStudents(StudentRowHandler handler) throws SQLException, IOException {
+        streamStudents(SortSpec.DEFAULT, handler);
+    }
+
+    /**
+     * Streams all students to a row handler in a given order
+     * 
+     * Runs the query behind a paged table as one forward-only cursor, so
+     * the whole table can be exported in the order it is shown in.
+     * 
+     * @param sort Order of the rows
+     * @param handler Handler receiving each student
+     * @throws SQLException if database error occurs during retrieval
+     * @throws IOException if the handler fails
+     */
+    public void streamStudents(SortSpec sort, StudentRowHandler handler) throws SQLException, IOException {
+        String sql = "SELECT * FROM students ORDER BY " + sort.toOrderBy();
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Integer.MIN_VALUE); // MySQL: stream rows instead of buffering the result
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                handleRows(stmt, rs, handler);
+            }
+        }
+    }
+
+    /**
+     * Loads all students into a columnar roster store
+     * 
+     * Rows are streamed from the result set straight into the store's
+     * columns without creating Student objects, so loading is bounded by
+     * the store's compact footprint rather than a full object list.
+     * 
+     * @return Columnar store of all students ordered by name
+     * @throws SQLException if database error occurs during retrieval
+     */
+    public RosterStore loadRoster() throws SQLException {
+        String sql = "SELECT * FROM students ORDER BY name";
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Integer.MIN_VALUE); // MySQL: stream rows instead of buffering the result
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                RosterStore.Builder builder = new RosterStore.Builder(1024);
+                boolean hasTimestamps = hasColumn(rs, "updated_at");
+                while (rs.next()) {
+                    builder.add(
+                        rs.getInt("id"),
+                        rs.getString("name"),
+                        rs.getString("roll_no"),
+                        rs.getString("department"),
+                        rs.getString("email"),
+                        rs.getString("phone"),
+                        rs.getDouble("marks"),
+                        hasTimestamps ? toMillis(rs.getTimestamp("created_at")) : RosterStore.NO_TIMESTAMP,
+                        hasTimestamps ? toMillis(rs.getTimestamp("updated_at")) : RosterStore.NO_TIMESTAMP
+                    );
+                }
+                return builder.build();
+            }
+        }
+    }
+
     /**
      * Retrieves a specific student by roll number
      * 
@@ -149,18 +409,24 @@ public class StudentDAO {
      * @throws SQLException if database error occurs during search
      */
     public List<Student> searchByDepartment(String department) throws SQLException {
-        List<Student> list = new ArrayList<>();
+        return searchByDepartment(department, null);
+    }
+
+    /**
+     * Cancellable variant of {@link #searchByDepartment(String)}
+     * 
+     * @param department Department name to search for (partial match)
+     * @param cancellation Cancellation that can abort the query while it runs (null for none)
+     * @return List of students in the specified department
+     * @throws SQLException if database error occurs during search, or the search is cancelled
+     */
+    public List<Student> searchByDepartment(String department, QueryCancellation cancellation) throws SQLException {
         String sql = "SELECT * FROM students WHERE department LIKE ? ORDER BY name";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, "%" + department + "%");
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    list.add(createStudentFromResultSet(rs));
-                }
-            }
+            return readStudents(stmt, cancellation);
         }
-        return list;
     }
 
     /**
@@ -174,18 +440,24 @@ public class StudentDAO {
      * @throws SQLException if database error occurs during search
      */
     public List<Student> searchByName(String name) throws SQLException {
-        List<Student> list = new ArrayList<>();
+        return searchByName(name, null);
+    }
+
+    /**
+     * Cancellable variant of {@link #searchByName(String)}
+     * 
+     * @param name Student name to search for (partial match)
+     * @param cancellation Cancellation that can abort the query while it runs (null for none)
+     * @return List of students matching the name criteria
+     * @throws SQLException if database error occurs during search, or the search is cancelled
+     */
+    public List<Student> searchByName(String name, QueryCancellation cancellation) throws SQLException {
         String sql = "SELECT * FROM students WHERE name LIKE ? ORDER BY name";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, "%" + name + "%");
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    list.add(createStudentFromResultSet(rs));
-                }
-            }
+            return readStudents(stmt, cancellation);
         }
-        return list;
     }
 
     /**
@@ -199,18 +471,24 @@ public class StudentDAO {
      * @throws SQLException if database error occurs during search
      */
     public List<Student> searchByRollNo(String rollNo) throws SQLException {
-        List<Student> list = new ArrayList<>();
+        return searchByRollNo(rollNo, null);
+    }
+
+    /**
+     * Cancellable variant of {@link #searchByRollNo(String)}
+     * 
+     * @param rollNo Roll number to search for (partial match)
+     * @param cancellation Cancellation that can abort the query while it runs (null for none)
+     * @return List of students matching the roll number criteria
+     * @throws SQLException if database error occurs during search, or the search is cancelled
+     */
+    public List<Student> searchByRollNo(String rollNo, QueryCancellation cancellation) throws SQLException {
         String sql = "SELECT * FROM students WHERE roll_no LIKE ? ORDER BY roll_no";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, "%" + rollNo + "%");
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    list.add(createStudentFromResultSet(rs));
-                }
-            }
+            return readStudents(stmt, cancellation);
         }
-        return list;
     }
 
     /**
@@ -225,19 +503,27 @@ public class StudentDAO {
      * @throws SQLException if database error occurs during search
      */
     public List<Student> searchByMarksRange(double minMarks, double maxMarks) throws SQLException {
-        List<Student> list = new ArrayList<>();
+        return searchByMarksRange(minMarks, maxMarks, null);
+    }
+
+    /**
+     * Cancellable variant of {@link #searchByMarksRange(double, double)}
+     * 
+     * @param minMarks Minimum marks in the range
+     * @param maxMarks Maximum marks in the range
+     * @param cancellation Cancellation that can abort the query while it runs (null for none)
+     * @return List of students within the marks range
+     * @throws SQLException if database error occurs during search, or the search is cancelled
+     */
+    public List<Student> searchByMarksRange(double minMarks, double maxMarks, QueryCancellation cancellation)
+            throws SQLException {
         String sql = "SELECT * FROM students WHERE marks BETWEEN ? AND ? ORDER BY marks DESC";
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setDouble(1, minMarks);
             stmt.setDouble(2, maxMarks);
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    list.add(createStudentFromResultSet(rs));
-                }
-            }
+            return readStudents(stmt, cancellation);
         }
-        return list;
     }
 
     /**
@@ -311,6 +597,288 @@ public class StudentDAO {
         return false;
     }
 
+    /**
+     * Streams every roll number to a consumer
+     * 
+     * Only the roll_no column is read, through a streaming cursor, so the
+     * roll numbers of a large table can be indexed without loading the
+     * students.
+     * 
+     * @param consumer Consumer receiving each roll number, in no particular order
+     * @throws SQLException if database error occurs during retrieval
+     */
+    public void streamRollNos(Consumer<String> consumer) throws SQLException {
+        String sql = "SELECT roll_no FROM students";
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Integer.MIN_VALUE); // MySQL: stream rows instead of buffering the result
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                try {
+                    while (rs.next()) {
+                        consumer.accept(rs.getString(1));
+                    }
+                } catch (RuntimeException e) {
+                    abandonStream(stmt);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether an exception reports a duplicate key, such as an
+     * existing roll number
+     * 
+     * @param e Exception thrown by an insert
+     * @return true if the insert broke a unique constraint
+     */
+    public static boolean isDuplicateKey(SQLException e) {
+        // 1062 is MySQL's ER_DUP_ENTRY; other integrity errors share SQLState 23000
+        return "23000".equals(e.getSQLState()) && e.getErrorCode() == 1062;
+    }
+
+    /**
+     * Retrieves students changed since a point in time
+     * 
+     * Returns every student whose updated_at is at or after the given time.
+     * The comparison is inclusive so rows updated within the same second as
+     * the previous sync are not missed.
+     * 
+     * @param since Lower bound for updated_at
+     * @return List of changed students ordered by name
+     * @throws SQLException if database error occurs or the schema has no updated_at column
+     */
+    public List<Student> getStudentsUpdatedSince(LocalDateTime since) throws SQLException {
+        List<Student> list = new ArrayList<>();
+        String sql = "SELECT * FROM students WHERE updated_at >= ? ORDER BY name";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(since));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(createStudentFromResultSet(rs));
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Streams students changed within a time window to a row handler
+     *
+     * The window is half-open: updated_at must be at or after since and
+     * strictly before until, so consecutive windows that share a boundary
+     * never skip or repeat a row. Rows are read through a streaming cursor.
+     *
+     * @param since Inclusive lower bound for updated_at, or null for no lower bound
+     * @param until Exclusive upper bound for updated_at
+     * @param handler Handler receiving each changed student in id order
+     * @throws SQLException if database error occurs or the schema has no updated_at column
+     * @throws IOException if the handler fails
+     */
+    public void streamStudentsUpdatedBetween(LocalDateTime since, LocalDateTime until,
+                                             StudentRowHandler handler) throws SQLException, IOException {
+        String sql = since == null
+            ? "SELECT * FROM students WHERE updated_at < ? ORDER BY id"
+            : "SELECT * FROM students WHERE updated_at < ? AND updated_at >= ? ORDER BY id";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Integer.MIN_VALUE); // MySQL: stream rows instead of buffering the result
+            stmt.setTimestamp(1, Timestamp.valueOf(until));
+            if (since != null) {
+                stmt.setTimestamp(2, Timestamp.valueOf(since));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                handleRows(stmt, rs, handler);
+            }
+        }
+    }
+
+    /**
+     * Retrieves roll numbers of students deleted within a time window
+     *
+     * Deletions are recorded in student_deletions by a trigger on the
+     * students table. The window is half-open like
+     * {@link #streamStudentsUpdatedBetween(LocalDateTime, LocalDateTime, StudentRowHandler)}.
+     * A roll number deleted more than once in the window is returned once.
+     *
+     * @param since Inclusive lower bound for deleted_at
+     * @param until Exclusive upper bound for deleted_at
+     * @return Deleted roll numbers in deletion order
+     * @throws SQLException if database error occurs or the deletion log does not exist
+     */
+    public List<String> getDeletedRollNosBetween(LocalDateTime since, LocalDateTime until) throws SQLException {
+        Set<String> rollNos = new LinkedHashSet<>();
+        String sql = "SELECT roll_no FROM student_deletions WHERE deleted_at >= ? AND deleted_at < ? ORDER BY id";
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, Timestamp.valueOf(since));
+            stmt.setTimestamp(2, Timestamp.valueOf(until));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    rollNos.add(rs.getString(1));
+                }
+            }
+        }
+        return new ArrayList<>(rollNos);
+    }
+
+    /**
+     * Gets the database server's current time
+     *
+     * Export windows are bounded by the clock that stamps updated_at, so
+     * differences between client and server clocks cannot drop rows.
+     *
+     * @return Current database time, truncated to whole seconds like TIMESTAMP columns
+     * @throws SQLException if database error occurs
+     */
+    public LocalDateTime getDatabaseTime() throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT CURRENT_TIMESTAMP")) {
+            rs.next();
+            return rs.getTimestamp(1).toLocalDateTime().withNano(0);
+        }
+    }
+
+    /**
+     * Retrieves the ids of all students
+     * 
+     * Used to detect deletions when reconciling a cached roster; only the
+     * primary key is transferred.
+     * 
+     * @return Set of student ids
+     * @throws SQLException if database error occurs during retrieval
+     */
+    public Set<Integer> getAllStudentIds() throws SQLException {
+        Set<Integer> ids = new HashSet<>();
+        String sql = "SELECT id FROM students";
+        try (Connection conn = DatabaseConnection.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Reconciles a cached roster with the database
+     * 
+     * Fetches only the students changed since the cache was taken plus the
+     * current id list, then replaces changed rows, adds new rows and drops
+     * deleted rows. If the cache has no timestamp, or the schema has no
+     * updated_at column, the full table is reloaded instead.
+     * 
+     * @param cached Cached students (not modified)
+     * @param since Newest updated_at in the cache, or null
+     * @return Up-to-date list of all students ordered by name
+     * @throws SQLException if database error occurs during retrieval
+     */
+    public List<Student> reconcile(List<Student> cached, LocalDateTime since) throws SQLException {
+        if (since == null) {
+            return getAllStudents();
+        }
+        List<Student> changed;
+        try {
+            changed = getStudentsUpdatedSince(since);
+        } catch (SQLException e) {
+            // Older schema without updated_at: fall back to a full reload
+            return getAllStudents();
+        }
+        Set<Integer> liveIds = getAllStudentIds();
+        
+        Map<Integer, Student> byId = new LinkedHashMap<>();
+        for (Student student : cached) {
+            if (liveIds.contains(student.getId())) {
+                byId.put(student.getId(), student);
+            }
+        }
+        for (Student student : changed) {
+            byId.put(student.getId(), student);
+        }
+        
+        List<Student> merged = new ArrayList<>(byId.values());
+        merged.sort(Comparator.comparing(Student::getName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER)));
+        return merged;
+    }
+
+    /**
+     * Checks whether a result set has a column (older schemas lack timestamps)
+     * 
+     * @param rs ResultSet to inspect
+     * @param column Column label
+     * @return true if the column is present
+     * @throws SQLException if the metadata cannot be read
+     */
+    private boolean hasColumn(ResultSet rs, String column) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            if (column.equalsIgnoreCase(meta.getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<Student> readStudents(PreparedStatement stmt) throws SQLException {
+        return readStudents(stmt, null);
+    }
+
+    private List<Student> readStudents(PreparedStatement stmt, QueryCancellation cancellation) throws SQLException {
+        if (cancellation != null) {
+            cancellation.register(stmt);
+        }
+        try {
+            List<Student> list = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    list.add(createStudentFromResultSet(rs));
+                }
+            }
+            return list;
+        } finally {
+            if (cancellation != null) {
+                cancellation.unregister();
+            }
+        }
+    }
+
+    /**
+     * Hands each row of a streaming result set to a handler
+     * 
+     * Closing a streaming result set reads every row the server has not
+     * sent yet, so if the handler stops early, for example because an
+     * export was cancelled or its file could not be written, the query is
+     * cancelled first and the cursor closes without reading the rest of
+     * the table.
+     */
+    private void handleRows(Statement stmt, ResultSet rs, StudentRowHandler handler)
+            throws SQLException, IOException {
+        try {
+            while (rs.next()) {
+                handler.handle(createStudentFromResultSet(rs));
+            }
+        } catch (IOException | RuntimeException e) {
+            abandonStream(stmt);
+            throw e;
+        }
+    }
+
+    private static void abandonStream(Statement stmt) {
+        try {
+            stmt.cancel();
+        } catch (SQLException e) {
+            // The query may have finished in the meantime; closing then
+            // has nothing left to read
+        }
+    }
+
+    private static long toMillis(Timestamp timestamp) {
+        return timestamp == null ? RosterStore.NO_TIMESTAMP : RosterStore.toMillis(timestamp.toLocalDateTime());
+    }
+
     /**
      * Creates a Student object from database result set
      * 
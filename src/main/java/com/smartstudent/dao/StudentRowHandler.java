@@ -0,0 +1,28 @@
+/**
+ * Student Row Handler Interface
+ * 
+ * Receives students one at a time as they are read from a streaming
+ * source such as a database cursor. Used by exports that write rows
+ * as they arrive instead of loading the whole table first.
+ * 
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.dao;
+
+import com.smartstudent.model.Student;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface StudentRowHandler {
+    
+    /**
+     * Handles one student row
+     * 
+     * @param student Student read from the source
+     * @throws IOException if writing the row fails
+     */
+    void handle(Student student) throws IOException;
+}
@@ -0,0 +1,44 @@
+/**
+ * Student Source Interface
+ * 
+ * A sequence of students that can be pushed through a row handler, either
+ * from memory or straight from a database cursor. Exports accept a source
+ * so the same writer serves both in-memory lists and streamed queries.
+ * 
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.dao;
+
+import com.smartstudent.model.Student;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+@FunctionalInterface
+public interface StudentSource {
+    
+    /**
+     * Passes every student of the source to the handler, in order
+     * 
+     * @param handler Handler receiving each student
+     * @throws SQLException if reading from the database fails
+     * @throws IOException if the handler fails
+     */
+    void forEach(StudentRowHandler handler) throws SQLException, IOException;
+    
+    /**
+     * Creates a source over students already in memory
+     * 
+     * @param students Students to pass through
+     * @return Source yielding the students in iteration order
+     */
+    static StudentSource of(Iterable<Student> students) {
+        return handler -> {
+            for (Student student : students) {
+                handler.handle(student);
+            }
+        };
+    }
+}
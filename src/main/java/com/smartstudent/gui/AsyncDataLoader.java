@@ -0,0 +1,244 @@
+/**
+ * Async Data Loader Class
+ *
+ * Runs database queries for the user interface off the Event Dispatch
+ * Thread and delivers their results back on it. Each query is a
+ * SwingWorker executed on a small pool of daemon threads; the DAO opens
+ * a connection per call, so queries may overlap.
+ *
+ * Requests are grouped into channels, such as the main table or the
+ * statistics dialog. Only the newest request on a channel is wanted: when
+ * a new one is submitted, the previous one is cancelled if it has not
+ * started and its result is discarded if it has, so a slow query can
+ * never overwrite the answer to a later one. Requests without a channel,
+ * such as deletions, are never superseded. A request submitted with a
+ * QueryCancellation also has its running JDBC statement cancelled when it
+ * is superseded, so the server stops working on an answer nobody wants.
+ *
+ * While any wanted request is outstanding the loader reports itself busy,
+ * so the window can show a wait cursor or progress indicator.
+ *
+ * All methods must be called on the Event Dispatch Thread.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.gui;
+
+import com.smartstudent.dao.QueryCancellation;
+
+import javax.swing.SwingWorker;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+public class AsyncDataLoader {
+    // Background threads shared by all channels
+    private static final int WORKER_THREADS = 3;
+
+    /**
+     * Work performed off the Event Dispatch Thread
+     *
+     * @param <T> Result type
+     */
+    @FunctionalInterface
+    public interface Query<T> {
+        /**
+         * Runs the query
+         *
+         * @return Result delivered to the success handler
+         * @throws Exception if the query fails
+         */
+        T run() throws Exception;
+    }
+
+    /**
+     * Receives busy state changes on the Event Dispatch Thread
+     */
+    @FunctionalInterface
+    public interface BusyListener {
+        /**
+         * Called when the first request starts or the last one finishes
+         * @param busy Whether any wanted request is outstanding
+         */
+        void busyChanged(boolean busy);
+    }
+
+    private final ExecutorService executor;
+    // Statement.cancel() can block, so it runs on its own thread
+    private final ExecutorService canceller;
+    private final BusyListener busyListener;
+    private final Map<String, Request<?>> latest = new HashMap<>();
+    private int pending;
+
+    /**
+     * Creates a loader
+     *
+     * @param busyListener Listener for busy state changes
+     */
+    public AsyncDataLoader(BusyListener busyListener) {
+        this.busyListener = busyListener;
+        this.executor = Executors.newFixedThreadPool(WORKER_THREADS, r -> {
+            Thread thread = new Thread(r, "ui-data-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.canceller = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "ui-query-canceller");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs a query in the background
+     *
+     * Exactly one of the handlers is called on the Event Dispatch Thread,
+     * unless the request is superseded first, in which case neither is.
+     *
+     * @param <T> Result type
+     * @param channel Channel whose previous request this one supersedes (null for none)
+     * @param query Query to run
+     * @param onSuccess Handler for the result
+     * @param onFailure Handler for the error thrown by the query
+     */
+    public <T> void submit(String channel, Query<T> query, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        submit(channel, null, query, onSuccess, onFailure);
+    }
+
+    /**
+     * Runs a cancellable query in the background
+     *
+     * The query should pass the cancellation to the DAO; if the request is
+     * superseded while the query runs, the cancellation is cancelled and
+     * the statement is aborted on the server.
+     *
+     * @param <T> Result type
+     * @param channel Channel whose previous request this one supersedes (null for none)
+     * @param cancellation Cancellation used by the query (null for none)
+     * @param query Query to run
+     * @param onSuccess Handler for the result
+     * @param onFailure Handler for the error thrown by the query
+     */
+    public <T> void submit(String channel, QueryCancellation cancellation, Query<T> query,
+                           Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        Request<T> request = new Request<>(channel, cancellation, query, onSuccess, onFailure);
+        // Count the new request first so superseding the old one does not end the busy state
+        pending++;
+        if (pending == 1) {
+            busyListener.busyChanged(true);
+        }
+        if (channel != null) {
+            Request<?> previous = latest.put(channel, request);
+            if (previous != null) {
+                previous.supersede();
+            }
+        }
+        executor.execute(request);
+    }
+
+    /**
+     * Discards the outstanding request on a channel, if any
+     *
+     * @param channel Channel to cancel
+     */
+    public void cancel(String channel) {
+        Request<?> previous = latest.remove(channel);
+        if (previous != null) {
+            previous.supersede();
+        }
+    }
+
+    /**
+     * Checks whether any wanted request is outstanding
+     * @return true while the loader is busy
+     */
+    public boolean isBusy() {
+        return pending > 0;
+    }
+
+    /**
+     * Stops the worker threads; outstanding results are discarded
+     */
+    public void shutdown() {
+        for (Request<?> request : latest.values()) {
+            request.supersede();
+        }
+        latest.clear();
+        executor.shutdownNow();
+        canceller.shutdown();
+    }
+
+    private void finished() {
+        pending--;
+        if (pending == 0) {
+            busyListener.busyChanged(false);
+        }
+    }
+
+    /**
+     * One background query and its handlers
+     */
+    private class Request<T> extends SwingWorker<T, Void> {
+        private final String channel;
+        private final QueryCancellation cancellation;
+        private final Query<T> query;
+        private final Consumer<T> onSuccess;
+        private final Consumer<Throwable> onFailure;
+        private boolean superseded;
+
+        Request(String channel, QueryCancellation cancellation, Query<T> query,
+                Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+            this.channel = channel;
+            this.cancellation = cancellation;
+            this.query = query;
+            this.onSuccess = onSuccess;
+            this.onFailure = onFailure;
+        }
+
+        @Override
+        protected T doInBackground() throws Exception {
+            return query.run();
+        }
+
+        /**
+         * Marks the result as unwanted, drops the query if it has not started
+         * and cancels its statement if it has
+         */
+        void supersede() {
+            superseded = true;
+            // Not interrupting: JDBC drivers do not reliably abort on interrupt
+            cancel(false);
+            if (cancellation != null) {
+                // A query that has not reached the server yet fails before it is sent
+                canceller.execute(cancellation::cancel);
+            }
+        }
+
+        @Override
+        protected void done() {
+            // Done runs once, immediately on cancellation or when the query completes
+            finished();
+            if (superseded) {
+                return;
+            }
+            if (channel != null) {
+                latest.remove(channel);
+            }
+            try {
+                onSuccess.accept(get());
+            } catch (CancellationException e) {
+                // Cancelled without being superseded; nothing to deliver
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                onFailure.accept(e.getCause());
+            }
+        }
+    }
+}
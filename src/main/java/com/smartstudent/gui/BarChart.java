@@ -0,0 +1,326 @@
+/**
+ * Bar Chart Class
+ *
+ * Draws a labelled bar chart of counts, such as the students per grade or
+ * per department. Each bar is annotated with its count and its share of
+ * the total.
+ *
+ * The chart is rendered once into an off-screen image compatible with the
+ * screen, and painting just copies that image, so repaints caused by
+ * other windows or by scrolling cost the same however many bars there
+ * are. The image is only rendered again when the data changes or the
+ * component is resized; while a resize is in progress the old image is
+ * stretched over the new size and the chart is rendered again once the
+ * size has settled. Setting the same data again does nothing.
+ *
+ * A horizontal chart gives every bar a row of fixed height and implements
+ * Scrollable, so a long list of bars can be placed in a JScrollPane.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.gui;
+
+import javax.swing.JComponent;
+import javax.swing.JViewport;
+import javax.swing.Scrollable;
+import javax.swing.SwingConstants;
+import javax.swing.Timer;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+public class BarChart extends JComponent implements Scrollable {
+    /**
+     * Direction the bars grow in
+     */
+    public enum Orientation {
+        /** Bars grow upwards from labels along the bottom */
+        VERTICAL,
+        /** Bars grow rightwards from labels down the left side, one row each */
+        HORIZONTAL
+    }
+
+    // Layout constants
+    private static final int PADDING = 8;
+    private static final int ROW_HEIGHT = 18;
+    private static final int BAR_GAP = 4;
+    private static final int MAX_LABEL_WIDTH = 160;
+    private static final int RESIZE_DELAY_MS = 150;
+
+    private final Orientation orientation;
+    private Color barColor = new Color(70, 130, 180);
+    private String[] labels = new String[0];
+    private long[] values = new long[0];
+    private long total;
+    private long maximum;
+
+    // Rendered chart, null when it has to be rendered again
+    private BufferedImage image;
+    private final Timer resizeTimer;
+
+    /**
+     * Creates an empty chart
+     *
+     * @param orientation Direction the bars grow in
+     */
+    public BarChart(Orientation orientation) {
+        this.orientation = orientation;
+        setOpaque(true);
+        setBackground(Color.WHITE);
+        setForeground(Color.DARK_GRAY);
+        setToolTipText("");
+        resizeTimer = new Timer(RESIZE_DELAY_MS, e -> invalidateImage());
+        resizeTimer.setRepeats(false);
+    }
+
+    /**
+     * Sets the bars to draw
+     *
+     * Does nothing if the labels and values are the same as before.
+     *
+     * @param labels Label of each bar
+     * @param values Count of each bar, not negative
+     */
+    public void setData(String[] labels, long[] values) {
+        if (labels.length != values.length) {
+            throw new IllegalArgumentException("Expected one value per label");
+        }
+        if (Arrays.equals(this.labels, labels) && Arrays.equals(this.values, values)) {
+            return;
+        }
+        this.labels = labels.clone();
+        this.values = values.clone();
+        total = 0;
+        maximum = 0;
+        for (long value : values) {
+            total += value;
+            maximum = Math.max(maximum, value);
+        }
+        revalidate();
+        invalidateImage();
+    }
+
+    /**
+     * Sets the colour of the bars
+     * @param color Bar colour
+     */
+    public void setBarColor(Color color) {
+        barColor = color;
+        invalidateImage();
+    }
+
+    /**
+     * Gets the number of bars
+     * @return Bar count
+     */
+    public int getBarCount() {
+        return values.length;
+    }
+
+    private void invalidateImage() {
+        image = null;
+        repaint();
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        // The image may be large and belongs to the old screen
+        resizeTimer.stop();
+        image = null;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        if (orientation == Orientation.HORIZONTAL) {
+            return new Dimension(320, 2 * PADDING + Math.max(values.length, 1) * ROW_HEIGHT);
+        }
+        return new Dimension(Math.max(240, 2 * PADDING + values.length * 24), 200);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        if (image == null) {
+            resizeTimer.stop();
+            image = render(width, height);
+        } else if (image.getWidth() != width || image.getHeight() != height) {
+            // Stretch the old chart until the size settles
+            g.drawImage(image, 0, 0, width, height, null);
+            resizeTimer.restart();
+            return;
+        }
+        g.drawImage(image, 0, 0, null);
+    }
+
+    private BufferedImage render(int width, int height) {
+        GraphicsConfiguration config = getGraphicsConfiguration();
+        BufferedImage rendered = config != null
+            ? config.createCompatibleImage(width, height, Transparency.OPAQUE)
+            : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rendered.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setColor(getBackground());
+            g.fillRect(0, 0, width, height);
+            g.setFont(getFont());
+            if (maximum == 0) {
+                drawCentered(g, "No data", width / 2, height / 2);
+            } else if (orientation == Orientation.HORIZONTAL) {
+                renderHorizontal(g, width);
+            } else {
+                renderVertical(g, width, height);
+            }
+        } finally {
+            g.dispose();
+        }
+        return rendered;
+    }
+
+    private void renderHorizontal(Graphics2D g, int width) {
+        FontMetrics metrics = g.getFontMetrics();
+        int labelWidth = 0;
+        for (String label : labels) {
+            labelWidth = Math.max(labelWidth, metrics.stringWidth(label));
+        }
+        labelWidth = Math.min(labelWidth, Math.min(MAX_LABEL_WIDTH, width / 3));
+        int valueWidth = metrics.stringWidth(annotation(maximum));
+        int barLeft = PADDING + labelWidth + BAR_GAP;
+        int barSpace = Math.max(0, width - barLeft - BAR_GAP - valueWidth - PADDING);
+        int baseline = (ROW_HEIGHT + metrics.getAscent() - metrics.getDescent()) / 2;
+
+        for (int i = 0; i < values.length; i++) {
+            int top = PADDING + i * ROW_HEIGHT;
+            int barWidth = (int) Math.round((double) values[i] / maximum * barSpace);
+            g.setColor(barColor);
+            g.fillRect(barLeft, top + 2, barWidth, ROW_HEIGHT - 4);
+            g.setColor(getForeground());
+            g.drawString(fit(metrics, labels[i], labelWidth), PADDING, top + baseline);
+            g.drawString(annotation(values[i]), barLeft + barWidth + BAR_GAP, top + baseline);
+        }
+    }
+
+    private void renderVertical(Graphics2D g, int width, int height) {
+        FontMetrics metrics = g.getFontMetrics();
+        int lineHeight = metrics.getHeight();
+        int slot = Math.max(1, (width - 2 * PADDING) / values.length);
+        int left = (width - slot * values.length) / 2;
+        int axis = height - PADDING - lineHeight;
+        int barSpace = Math.max(0, axis - PADDING - lineHeight);
+        int barWidth = Math.max(1, slot - BAR_GAP);
+
+        // Label every bar if the labels fit, otherwise every few bars
+        int labelWidth = 0;
+        for (String label : labels) {
+            labelWidth = Math.max(labelWidth, metrics.stringWidth(label));
+        }
+        int labelStep = Math.max(1, (labelWidth + BAR_GAP + slot - 1) / slot);
+
+        g.setColor(getForeground());
+        g.drawLine(left, axis, left + slot * values.length, axis);
+        for (int i = 0; i < values.length; i++) {
+            int x = left + i * slot + BAR_GAP / 2;
+            int barHeight = (int) Math.round((double) values[i] / maximum * barSpace);
+            g.setColor(barColor);
+            g.fillRect(x, axis - barHeight, barWidth, barHeight);
+            g.setColor(getForeground());
+            String count = String.valueOf(values[i]);
+            if (values[i] > 0 && metrics.stringWidth(count) <= slot) {
+                drawCentered(g, count, x + barWidth / 2, axis - barHeight - metrics.getDescent() - lineHeight / 2);
+            }
+            if (i % labelStep == 0) {
+                drawCentered(g, labels[i], x + barWidth / 2, axis + lineHeight / 2 + 2);
+            }
+        }
+    }
+
+    private String annotation(long value) {
+        return String.format("%d (%.1f%%)", value, total > 0 ? value * 100.0 / total : 0.0);
+    }
+
+    private static void drawCentered(Graphics2D g, String text, int centerX, int centerY) {
+        FontMetrics metrics = g.getFontMetrics();
+        g.drawString(text, centerX - metrics.stringWidth(text) / 2,
+                     centerY + (metrics.getAscent() - metrics.getDescent()) / 2);
+    }
+
+    /**
+     * Shortens a label with an ellipsis until it fits the width
+     */
+    private static String fit(FontMetrics metrics, String text, int width) {
+        if (metrics.stringWidth(text) <= width) {
+            return text;
+        }
+        int end = text.length();
+        while (end > 0 && metrics.stringWidth(text.substring(0, end) + "...") > width) {
+            end--;
+        }
+        return text.substring(0, end) + "...";
+    }
+
+    /**
+     * Shows the full label and count of the bar under the mouse
+     */
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        int bar;
+        if (values.length == 0) {
+            return null;
+        } else if (orientation == Orientation.HORIZONTAL) {
+            bar = Math.floorDiv(event.getY() - PADDING, ROW_HEIGHT);
+        } else {
+            int slot = Math.max(1, (getWidth() - 2 * PADDING) / values.length);
+            int left = (getWidth() - slot * values.length) / 2;
+            bar = Math.floorDiv(event.getX() - left, slot);
+        }
+        return bar >= 0 && bar < values.length ? labels[bar] + ": " + annotation(values[bar]) : null;
+    }
+
+    // ==================== SCROLLABLE METHODS ====================
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        Dimension size = getPreferredSize();
+        return new Dimension(size.width, Math.min(size.height, 2 * PADDING + 12 * ROW_HEIGHT));
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int direction, int orientation) {
+        return orientation == SwingConstants.VERTICAL ? ROW_HEIGHT : 16;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int direction, int orientation) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height - ROW_HEIGHT : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        // Fill the viewport unless the rows need more height than it has
+        return orientation == Orientation.VERTICAL
+            || (getParent() instanceof JViewport && getParent().getHeight() > getPreferredSize().height);
+    }
+}
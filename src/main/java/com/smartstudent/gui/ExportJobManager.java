@@ -0,0 +1,241 @@
+/**
+ * Export Job Manager Class
+ *
+ * Runs exports as background jobs so the Event Dispatch Thread stays
+ * responsive. Jobs are queued on a fixed pool whose size is the
+ * concurrency limit. While any job is running, a Swing timer reports its
+ * progress to the listener a few times per second, and each job's outcome
+ * is delivered on the EDT when it finishes.
+ *
+ * Cancellation is cooperative: a cancelled job stops at the next row it
+ * counts through its ExportProgress, and its partial output file is
+ * deleted once the export has returned. A job that has not started yet
+ * is simply dropped; a job moves from queued to either running or
+ * cancelled exactly once, so a job that is just starting is never
+ * reported cancelled while its export still runs.
+ *
+ * All methods must be called on the Event Dispatch Thread.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.gui;
+
+import com.smartstudent.util.ExportProgress;
+
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ExportJobManager {
+    // Interval between progress reports
+    private static final int PROGRESS_INTERVAL_MS = 250;
+
+    /**
+     * Work performed by a job off the Event Dispatch Thread
+     */
+    @FunctionalInterface
+    public interface ExportTask {
+        /**
+         * Runs the export
+         *
+         * @param progress Progress to update and cancellation to honour
+         * @return Message describing the result, shown when the job succeeds
+         * @throws Exception if the export fails
+         */
+        String run(ExportProgress progress) throws Exception;
+    }
+
+    /**
+     * Receives job updates on the Event Dispatch Thread
+     */
+    public interface Listener {
+        /**
+         * Called periodically for each running job
+         * @param job Running job
+         */
+        void jobProgress(Job job);
+
+        /**
+         * Called once when a job succeeds, fails or is cancelled
+         * @param job Finished job
+         */
+        void jobFinished(Job job);
+    }
+
+    /**
+     * Job lifecycle states
+     */
+    public enum State { QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED }
+
+    private final ExecutorService executor;
+    private final Listener listener;
+    private final List<Job> activeJobs = new ArrayList<>();
+    private final Timer progressTimer;
+
+    /**
+     * Creates a job manager
+     *
+     * @param maxConcurrent Maximum number of exports running at once (at least 1)
+     * @param listener Listener for progress and results
+     */
+    public ExportJobManager(int maxConcurrent, Listener listener) {
+        this.listener = listener;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, maxConcurrent), r -> {
+            Thread thread = new Thread(r, "export-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.progressTimer = new Timer(PROGRESS_INTERVAL_MS, e -> reportProgress());
+    }
+
+    /**
+     * Queues an export job
+     *
+     * @param name Name shown in progress and result messages
+     * @param output File the job writes, deleted if the job fails or is cancelled (may be null)
+     * @param task Export to run
+     * @return The queued job
+     */
+    public Job submit(String name, Path output, ExportTask task) {
+        Job job = new Job(name, output, task);
+        activeJobs.add(job);
+        executor.execute(job.worker);
+        progressTimer.start();
+        return job;
+    }
+
+    /**
+     * Cancels every queued and running job
+     */
+    public void cancelAll() {
+        for (Job job : new ArrayList<>(activeJobs)) {
+            job.cancel();
+        }
+    }
+
+    /**
+     * Gets the jobs that have not finished yet
+     * @return Queued and running jobs in submission order
+     */
+    public List<Job> getActiveJobs() {
+        return Collections.unmodifiableList(new ArrayList<>(activeJobs));
+    }
+
+    /**
+     * Cancels all jobs and stops the worker threads
+     *
+     * Running jobs stop at their next row; each is reported to the
+     * listener, with its partial output deleted, once it has stopped.
+     */
+    public void shutdown() {
+        cancelAll();
+        progressTimer.stop();
+        executor.shutdown();
+    }
+
+    private void reportProgress() {
+        for (Job job : new ArrayList<>(activeJobs)) {
+            if (job.getState() == State.RUNNING) {
+                listener.jobProgress(job);
+            }
+        }
+    }
+
+    private void finished(Job job) {
+        activeJobs.remove(job);
+        if (activeJobs.isEmpty()) {
+            progressTimer.stop();
+        }
+        listener.jobFinished(job);
+    }
+
+    /**
+     * One queued, running or finished export
+     */
+    public class Job {
+        private final String name;
+        private final Path output;
+        private final ExportProgress progress = new ExportProgress();
+        private final SwingWorker<String, Void> worker;
+        private final AtomicReference<State> state = new AtomicReference<>(State.QUEUED);
+        private String result;
+        private Throwable error;
+
+        private Job(String name, Path output, ExportTask task) {
+            this.name = name;
+            this.output = output;
+            this.worker = new SwingWorker<String, Void>() {
+                @Override
+                protected String doInBackground() throws Exception {
+                    if (!state.compareAndSet(State.QUEUED, State.RUNNING)) {
+                        throw new CancellationException("Export cancelled");
+                    }
+                    progress.start();
+                    return task.run(progress);
+                }
+
+                @Override
+                protected void done() {
+                    complete();
+                }
+            };
+        }
+
+        /**
+         * Requests cancellation of this job
+         */
+        public void cancel() {
+            progress.cancel();
+            if (state.compareAndSet(State.QUEUED, State.CANCELLED)) {
+                // The export can no longer start: drop it from the queue and
+                // let done() report the cancellation. A running export is
+                // left to stop at its next row, and done() follows its return
+                worker.cancel(false);
+            }
+        }
+
+        private void complete() {
+            State outcome;
+            try {
+                result = worker.get();
+                outcome = State.SUCCEEDED;
+            } catch (CancellationException e) {
+                outcome = State.CANCELLED;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                outcome = State.CANCELLED;
+            } catch (ExecutionException e) {
+                error = e.getCause();
+                outcome = error instanceof CancellationException ? State.CANCELLED : State.FAILED;
+            }
+            state.set(outcome);
+            if (outcome != State.SUCCEEDED && output != null) {
+                try {
+                    Files.deleteIfExists(output);
+                } catch (IOException e) {
+                    System.err.println("Could not delete partial export " + output + ": " + e.getMessage());
+                }
+            }
+            finished(this);
+        }
+
+        // Getters
+        public String getName() { return name; }
+        public State getState() { return state.get(); }
+        public ExportProgress getProgress() { return progress; }
+        public String getResult() { return result; }
+        public Throwable getError() { return error; }
+    }
+}
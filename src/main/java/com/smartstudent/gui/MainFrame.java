@@ -1,24 +1,110 @@
 package com.smartstudent.gui;
 
+import com.smartstudent.dao.QueryCancellation;
+import com.smartstudent.dao.RollNoRegistry;
+import com.smartstudent.dao.SortSpec;
 import com.smartstudent.dao.StudentDAO;
+import com.smartstudent.dao.StudentSource;
 import com.smartstudent.model.Student;
+import com.smartstudent.store.RosterBinaryFormat;
+import com.smartstudent.store.RosterSnapshot;
+import com.smartstudent.store.RosterStore;
+import com.smartstudent.util.CompressionOptions;
+import com.smartstudent.util.DeltaExport;
 import com.smartstudent.util.ExportUtil;
 import com.smartstudent.util.GradeCalculator;
+import com.smartstudent.util.GradePolicy;
+import com.smartstudent.util.PartitionedExport;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
 public class MainFrame extends JFrame {
     private StudentDAO studentDAO;
+    // Lets the student form flag taken roll numbers while typing
+    private RollNoRegistry rollNoRegistry;
     private JTable studentTable;
-    private DefaultTableModel tableModel;
+    private StudentTableModel tableModel;
     private JTextField searchField;
     private JComboBox<String> searchTypeCombo;
     private JLabel statusLabel;
+    private JProgressBar busyIndicator;
+    
+    // Live search runs once typing pauses for this long
+    private static final int SEARCH_DEBOUNCE_MS = 300;
+    private Timer searchTimer;
+    // Type and text of the search shown in the table ("" for all students)
+    private String appliedSearch = "";
+    // Whether the table holds every student, so searches can filter it locally
+    private boolean fullRosterLoaded;
+    
+    // Statistics window, kept while open so a new request updates it
+    private JDialog statisticsDialog;
+    private StatisticsPanel statisticsPanel;
+    private boolean statisticsUpdatePending;
+    
+    // Runs database queries off the Event Dispatch Thread
+    private final AsyncDataLoader dataLoader = new AsyncDataLoader(this::setBusy);
+    
+    // Loader channels: a newer request on a channel discards the older one's result
+    private static final String TABLE_CHANNEL = "table";
+    private static final String STUDENT_CHANNEL = "student";
+    private static final String STATISTICS_CHANNEL = "statistics";
+    private static final String TOP_PERFORMERS_CHANNEL = "topPerformers";
+    private static final String ROLL_NO_CHANNEL = "rollNos";
+    
+    // Tables larger than this are fetched page by page as the user scrolls
+    private static final int PAGED_TABLE_THRESHOLD = 10_000;
+    
+    // Writes the local roster snapshot off the Event Dispatch Thread
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "roster-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    // Runs exports off the Event Dispatch Thread, at most two at a time
+    private static final int MAX_CONCURRENT_EXPORTS = 2;
+    private final ExportJobManager exportJobs = new ExportJobManager(MAX_CONCURRENT_EXPORTS,
+        new ExportJobManager.Listener() {
+            @Override
+            public void jobProgress(ExportJobManager.Job job) {
+                exportJobProgress(job);
+            }
+
+            @Override
+            public void jobFinished(ExportJobManager.Job job) {
+                exportJobFinished(job);
+            }
+        });
+    
+    // Set once the user has chosen to exit while exports were running; the
+    // window closes when the last cancelled export has cleaned up
+    private boolean closing;
+    
+    // Longest wait at exit for a roster snapshot being written
+    private static final int SNAPSHOT_EXIT_WAIT_SECONDS = 5;
+    
+    // Rows written by the CSV, text, JSON Lines and Excel exports
+    private enum ExportScope { ALL, VIEW, SELECTION }
+    private ExportScope exportScope = ExportScope.ALL;
     
     // Menu components
     private JMenuBar menuBar;
@@ -26,12 +112,21 @@ public class MainFrame extends JFrame {
 
     public MainFrame() {
         studentDAO = new StudentDAO();
+        rollNoRegistry = new RollNoRegistry(studentDAO);
         initializeComponents();
         setupLayout();
         setupEventHandlers();
-        loadStudents();
+        loadInitialStudents();
+        refreshRollNoRegistry();
         
-        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        // Closing goes through requestExit so running exports can clean up
+        setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                requestExit();
+            }
+        });
         setTitle("Smart Student Management System");
         setSize(1000, 700);
         setLocationRelativeTo(null);
@@ -40,26 +135,29 @@ public class MainFrame extends JFrame {
 
     private void initializeComponents() {
         // Initialize table
-        String[] columnNames = {"ID", "Name", "Roll No", "Department", "Email", "Phone", "Marks", "Grade", "Status"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make table read-only
-            }
-        };
+        tableModel = new StudentTableModel();
+        tableModel.addTableModelListener(e -> scheduleStatisticsUpdate());
         studentTable = new JTable(tableModel);
-        studentTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        // Several rows can be selected for export; edit and delete take one
+        studentTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         studentTable.getTableHeader().setReorderingAllowed(false);
         
         // Initialize search components
         searchField = new JTextField(20);
-        String[] searchTypes = {"All", "Name", "Roll No", "Department", "Marks Range"};
+        String[] searchTypes = {"All", "Name", "Roll No", "Department", "Marks Range", "Grade"};
         searchTypeCombo = new JComboBox<>(searchTypes);
+        searchTimer = new Timer(SEARCH_DEBOUNCE_MS, e -> performSearch(false));
+        searchTimer.setRepeats(false);
         
         // Initialize status label
         statusLabel = new JLabel("Ready");
         statusLabel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
         
+        // Initialize busy indicator, shown while queries run
+        busyIndicator = new JProgressBar();
+        busyIndicator.setIndeterminate(true);
+        busyIndicator.setVisible(false);
+        
         // Initialize menu bar
         setupMenuBar();
     }
@@ -71,10 +169,38 @@ public class MainFrame extends JFrame {
         fileMenu = new JMenu("File");
         JMenuItem exportCsvItem = new JMenuItem("Export to CSV");
         JMenuItem exportTextItem = new JMenuItem("Export to Text");
+        JMenuItem exportJsonItem = new JMenuItem("Export to JSON Lines");
+        JMenuItem exportExcelItem = new JMenuItem("Export to Excel (XLSX)");
+        JMenuItem exportByDeptItem = new JMenuItem("Export by Department (ZIP)");
+        JMenuItem exportBinaryItem = new JMenuItem("Export Binary Backup");
+        JMenuItem exportDeltaItem = new JMenuItem("Export Changes Since Last Export");
+        JMenuItem restoreBinaryItem = new JMenuItem("Restore Binary Backup...");
+        JMenuItem cancelExportsItem = new JMenuItem("Cancel Running Exports");
         JMenuItem exitItem = new JMenuItem("Exit");
         
+        // Scope of the row exports
+        JMenu exportScopeMenu = new JMenu("Export Scope");
+        ButtonGroup exportScopeGroup = new ButtonGroup();
+        JRadioButtonMenuItem scopeAllItem = new JRadioButtonMenuItem("All Students", true);
+        JRadioButtonMenuItem scopeViewItem = new JRadioButtonMenuItem("Current View");
+        JRadioButtonMenuItem scopeSelectionItem = new JRadioButtonMenuItem("Selected Rows");
+        for (JRadioButtonMenuItem item : new JRadioButtonMenuItem[] { scopeAllItem, scopeViewItem, scopeSelectionItem }) {
+            exportScopeGroup.add(item);
+            exportScopeMenu.add(item);
+        }
+        
+        fileMenu.add(exportScopeMenu);
+        fileMenu.addSeparator();
         fileMenu.add(exportCsvItem);
         fileMenu.add(exportTextItem);
+        fileMenu.add(exportJsonItem);
+        fileMenu.add(exportExcelItem);
+        fileMenu.add(exportByDeptItem);
+        fileMenu.add(exportBinaryItem);
+        fileMenu.add(exportDeltaItem);
+        fileMenu.add(cancelExportsItem);
+        fileMenu.addSeparator();
+        fileMenu.add(restoreBinaryItem);
         fileMenu.addSeparator();
         fileMenu.add(exitItem);
         
@@ -128,12 +254,25 @@ public class MainFrame extends JFrame {
         // Add event handlers
         exportCsvItem.addActionListener(e -> exportToCSV());
         exportTextItem.addActionListener(e -> exportToText());
-        exitItem.addActionListener(e -> System.exit(0));
+        exportJsonItem.addActionListener(e -> exportToJsonLines());
+        exportExcelItem.addActionListener(e -> exportToExcel());
+        exportByDeptItem.addActionListener(e -> exportByDepartment());
+        exportBinaryItem.addActionListener(e -> exportBinaryBackup());
+        exportDeltaItem.addActionListener(e -> exportDelta());
+        restoreBinaryItem.addActionListener(e -> restoreBinaryBackup());
+        cancelExportsItem.addActionListener(e -> exportJobs.cancelAll());
+        scopeAllItem.addActionListener(e -> exportScope = ExportScope.ALL);
+        scopeViewItem.addActionListener(e -> exportScope = ExportScope.VIEW);
+        scopeSelectionItem.addActionListener(e -> exportScope = ExportScope.SELECTION);
+        exitItem.addActionListener(e -> requestExit());
         
         addStudentItem.addActionListener(e -> showAddStudentDialog());
         editStudentItem.addActionListener(e -> editSelectedStudent());
         deleteStudentItem.addActionListener(e -> deleteSelectedStudent());
-        refreshItem.addActionListener(e -> loadStudents());
+        refreshItem.addActionListener(e -> {
+            loadStudents();
+            refreshRollNoRegistry();
+        });
         
         searchByNameItem.addActionListener(e -> searchByName());
         searchByRollItem.addActionListener(e -> searchByRollNo());
@@ -158,12 +297,13 @@ public class MainFrame extends JFrame {
         topPanel.add(searchTypeCombo);
         
         JButton searchButton = new JButton("Search");
-        searchButton.addActionListener(e -> performSearch());
+        searchButton.addActionListener(e -> searchNow());
         topPanel.add(searchButton);
         
         JButton clearButton = new JButton("Clear");
         clearButton.addActionListener(e -> {
             searchField.setText("");
+            searchTimer.stop();
             loadStudents();
         });
         topPanel.add(clearButton);
@@ -175,6 +315,7 @@ public class MainFrame extends JFrame {
         // Bottom panel for status
         JPanel bottomPanel = new JPanel(new BorderLayout());
         bottomPanel.add(statusLabel, BorderLayout.WEST);
+        bottomPanel.add(busyIndicator, BorderLayout.EAST);
         
         // Add components
         add(topPanel, BorderLayout.NORTH);
@@ -191,123 +332,421 @@ public class MainFrame extends JFrame {
                 }
             }
         });
+        
+        // Search as you type: each change restarts the debounce timer
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Attribute changes only
+            }
+        });
+        searchTypeCombo.addActionListener(e -> searchTimer.restart());
+        searchField.addActionListener(e -> searchNow());
+        
+        // Click a column header to sort by it, again to reverse; shift-click to add a secondary sort
+        studentTable.getTableHeader().addMouseListener(new java.awt.event.MouseAdapter() {
+            public void mouseClicked(java.awt.event.MouseEvent evt) {
+                int column = studentTable.convertColumnIndexToModel(studentTable.columnAtPoint(evt.getPoint()));
+                if (column >= 0) {
+                    sortTable(StudentTableModel.getSortColumn(column), evt.isShiftDown());
+                }
+            }
+        });
     }
 
-    private void loadStudents() {
+    /**
+     * Applies a header click to the table's sort
+     * 
+     * Small tables are sorted in memory. Paged tables are fetched again
+     * from the top in the new order, which is only allowed for sorts an
+     * index can deliver.
+     * 
+     * @param column Column clicked
+     * @param extend true to add or reverse a secondary key instead of replacing the sort
+     */
+    private void sortTable(SortSpec.Column column, boolean extend) {
+        SortSpec current = tableModel.getSort();
+        SortSpec.Key key = current == null ? null : current.getKey(column);
+        // Highest marks first by default
+        boolean ascending = column != SortSpec.Column.MARKS;
+        SortSpec sort;
+        if (current == null) {
+            sort = SortSpec.by(column, ascending);
+        } else if (extend) {
+            sort = key != null ? current.toggle(column) : current.then(column, ascending);
+        } else if (key != null && current.getKeys().get(0) == key) {
+            // Reverse every key so that an indexed sort stays indexed
+            sort = current.reversed();
+        } else {
+            sort = SortSpec.by(column, ascending);
+        }
+        
+        if (tableModel.isPaged()) {
+            if (!sort.isIndexed()) {
+                updateStatus("Sorting by " + sort + " is not indexed and would sort the whole table on every page; "
+                             + "try ID, Name, Roll No, Marks, or Department then Marks");
+                return;
+            }
+            showPagedTable(tableModel.getRowCount(), sort);
+            studentTable.scrollRectToVisible(new Rectangle(0, 0, 1, 1));
+        } else {
+            tableModel.setSort(sort);
+        }
+        updateSortHeaders();
+        updateStatus("Sorted by " + sort);
+    }
+
+    /**
+     * Marks the sorted columns' headers with the sort direction, numbered
+     * when there are several sort keys
+     */
+    private void updateSortHeaders() {
+        SortSpec sort = tableModel.getSort();
+        List<SortSpec.Key> keys = sort == null ? List.of() : sort.getKeys();
+        for (int i = 0; i < studentTable.getColumnCount(); i++) {
+            int column = studentTable.convertColumnIndexToModel(i);
+            String name = StudentTableModel.COLUMN_NAMES[column];
+            SortSpec.Column sortColumn = StudentTableModel.getSortColumn(column);
+            // Grade and status sort by marks; only the marks column shows it
+            boolean owner = column == 0 || StudentTableModel.getSortColumn(column - 1) != sortColumn;
+            SortSpec.Key key = owner && sort != null ? sort.getKey(sortColumn) : null;
+            if (key != null) {
+                name += key.isAscending() ? " \u25B2" : " \u25BC";
+                if (keys.size() > 1) {
+                    name += keys.indexOf(key) + 1;
+                }
+            }
+            studentTable.getColumnModel().getColumn(i).setHeaderValue(name);
+        }
+        studentTable.getTableHeader().repaint();
+    }
+
+    private void loadInitialStudents() {
+        List<Student> cached;
+        LocalDateTime since;
         try {
-            List<Student> students = studentDAO.getAllStudents();
+            if (!Files.exists(RosterSnapshot.DEFAULT_PATH)) {
+                loadStudents();
+                return;
+            }
+            RosterSnapshot snapshot = RosterSnapshot.open(RosterSnapshot.DEFAULT_PATH);
+            cached = snapshot.toStudents();
+            since = snapshot.getMaxUpdatedAt();
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable roster snapshot: " + e.getMessage());
+            loadStudents();
+            return;
+        }
+        
+        // Render the cached roster immediately, then sync with the database
+        updateTable(cached);
+        updateStatus("Loaded " + cached.size() + " students from local snapshot, syncing...");
+        
+        dataLoader.submit(TABLE_CHANNEL, () -> studentDAO.reconcile(cached, since), students -> {
             updateTable(students);
             updateStatus("Loaded " + students.size() + " students");
-        } catch (SQLException e) {
-            showError("Error loading students: " + e.getMessage());
+            saveSnapshot(students);
+        }, error -> updateStatus("Showing cached data - sync failed: " + error.getMessage()));
+    }
+
+    private void loadStudents() {
+        loadStudents(null);
+    }
+
+    /**
+     * Reloads the table in the background
+     * 
+     * @param message Status to show once loaded, or null for the student count
+     */
+    private void loadStudents(String message) {
+        appliedSearch = "";
+        updateStatus("Loading students...");
+        dataLoader.submit(TABLE_CHANNEL, () -> {
+            int count = studentDAO.countStudents();
+            return count > PAGED_TABLE_THRESHOLD ? new TableLoad(count, null) : new TableLoad(count, studentDAO.getAllStudents());
+        }, load -> {
+            if (load.students == null) {
+                // Keep the user's sort across reloads if the server can page it
+                SortSpec sort = tableModel.getSort();
+                showPagedTable(load.count, sort != null && sort.isIndexed() ? sort : null);
+                fullRosterLoaded = false;
+                updateSortHeaders();
+                // A snapshot of a table this large would be loaded in full at startup
+                deleteSnapshot();
+                updateStatus(message != null ? message : String.format("Showing %,d students", load.count));
+            } else {
+                updateTable(load.students);
+                updateStatus(message != null ? message : "Loaded " + load.students.size() + " students");
+                saveSnapshot(load.students);
+            }
+        }, error -> showError("Error loading students: " + error.getMessage()));
+    }
+
+    /**
+     * Shows a table of known size whose pages are fetched as they are painted
+     * 
+     * @param count Number of students
+     * @param sort Order of the table, or null for table order
+     */
+    private void showPagedTable(int count, SortSpec sort) {
+        SortSpec pageOrder = sort != null ? sort : SortSpec.DEFAULT;
+        tableModel.setPaged(count, (offset, limit, previous) -> fetchTablePage(pageOrder, offset, limit, previous), sort);
+    }
+
+    /**
+     * Fetches one page of the paged table, continuing from the previous
+     * row when it is known
+     */
+    private List<Student> fetchTablePage(SortSpec sort, int offset, int limit, Student previous) throws SQLException {
+        if (previous != null) {
+            return studentDAO.getStudentsPageAfter(sort, previous, limit);
+        }
+        return studentDAO.getStudentsPage(sort, offset, limit);
+    }
+
+    private void saveSnapshot(List<Student> students) {
+        snapshotExecutor.execute(() -> {
+            try {
+                RosterSnapshot.write(students, RosterSnapshot.DEFAULT_PATH);
+            } catch (IOException e) {
+                System.err.println("Error writing roster snapshot: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Selects a row and scrolls it into view
+     * 
+     * @param row Row index, or -1 to leave the selection unchanged
+     */
+    private void selectRow(int row) {
+        if (row >= 0) {
+            studentTable.setRowSelectionInterval(row, row);
+            studentTable.scrollRectToVisible(studentTable.getCellRect(row, 0, true));
         }
     }
 
+    private void deleteSnapshot() {
+        snapshotExecutor.execute(() -> {
+            try {
+                Files.deleteIfExists(RosterSnapshot.DEFAULT_PATH);
+            } catch (IOException e) {
+                System.err.println("Error deleting roster snapshot: " + e.getMessage());
+            }
+        });
+    }
+
     private void updateTable(List<Student> students) {
-        tableModel.setRowCount(0);
-        for (Student student : students) {
-            Vector<Object> row = new Vector<>();
-            row.add(student.getId());
-            row.add(student.getName());
-            row.add(student.getRollNo());
-            row.add(student.getDepartment());
-            row.add(student.getEmail());
-            row.add(student.getPhone());
-            row.add(String.format("%.2f", student.getMarks()));
-            row.add(student.getGrade());
-            row.add(student.isPassed() ? "Pass" : "Fail");
-            tableModel.addRow(row);
-        }
-    }
-
-    private void performSearch() {
+        tableModel.setStudents(students);
+        fullRosterLoaded = true;
+        if (!appliedSearch.isEmpty()) {
+            // Typed while the roster was loading; filter the new rows the same way
+            appliedSearch = "";
+            performSearch(false);
+        }
+    }
+
+    /**
+     * Runs the search at once, without waiting for typing to pause
+     */
+    private void searchNow() {
+        searchTimer.stop();
+        performSearch(true);
+    }
+
+    /**
+     * Searches and shows the results in the table
+     * 
+     * When the table holds every student, the search filters it in memory
+     * through the table model's index. Otherwise it queries the database
+     * in the background; a newer search supersedes an older one on the
+     * table channel, which also cancels its statement on the server, so
+     * only the newest result is ever applied.
+     * 
+     * @param interactive true when the user asked for the search, false for
+     *                    live search while typing, which skips searches that
+     *                    would not change the table and does not report
+     *                    incomplete input
+     */
+    private void performSearch(boolean interactive) {
         String searchText = searchField.getText().trim();
         String searchType = (String) searchTypeCombo.getSelectedItem();
         
-        if (searchText.isEmpty()) {
-            loadStudents();
+        // "All" ignores the search text
+        String search = searchText.isEmpty() || "All".equals(searchType) ? "" : searchType + ": " + searchText;
+        if (!interactive && search.equals(appliedSearch)) {
+            return;
+        }
+        if (search.isEmpty()) {
+            if (!interactive && fullRosterLoaded) {
+                appliedSearch = "";
+                tableModel.setViewFilter(StudentIndex.Filter.all());
+                updateStatus("Showing all " + tableModel.getRowCount() + " students");
+            } else {
+                loadStudents();
+            }
             return;
         }
         
-        try {
-            List<Student> results = null;
-            switch (searchType) {
-                case "Name":
-                    results = studentDAO.searchByName(searchText);
-                    break;
-                case "Roll No":
-                    results = studentDAO.searchByRollNo(searchText);
-                    break;
-                case "Department":
-                    results = studentDAO.searchByDepartment(searchText);
-                    break;
-                case "Marks Range":
-                    try {
-                        String[] range = searchText.split("-");
-                        if (range.length == 2) {
-                            double min = Double.parseDouble(range[0].trim());
-                            double max = Double.parseDouble(range[1].trim());
-                            results = studentDAO.searchByMarksRange(min, max);
-                        } else {
+        // Each search also describes its result order and filter, so that
+        // later edits can patch the results in place
+        QueryCancellation cancellation = new QueryCancellation();
+        AsyncDataLoader.Query<List<Student>> query;
+        Comparator<Student> order = StudentTableModel.TABLE_ORDER;
+        StudentIndex.Filter filter = StudentIndex.Filter.all();
+        switch (searchType) {
+            case "Name":
+                query = () -> studentDAO.searchByName(searchText, cancellation);
+                filter = filter.withName(searchText);
+                break;
+            case "Roll No":
+                query = () -> studentDAO.searchByRollNo(searchText, cancellation);
+                order = Comparator.comparing(Student::getRollNo, String.CASE_INSENSITIVE_ORDER);
+                filter = filter.withRollNo(searchText);
+                break;
+            case "Department":
+                query = () -> studentDAO.searchByDepartment(searchText, cancellation);
+                filter = filter.withDepartment(searchText);
+                break;
+            case "Marks Range":
+                try {
+                    String[] range = searchText.split("-");
+                    if (range.length == 2) {
+                        double min = Double.parseDouble(range[0].trim());
+                        double max = Double.parseDouble(range[1].trim());
+                        query = () -> studentDAO.searchByMarksRange(min, max, cancellation);
+                        order = Comparator.comparingDouble(Student::getMarks).reversed();
+                        filter = filter.withMarksRange(min, max);
+                    } else {
+                        if (interactive) {
                             showError("Please enter marks range as 'min-max' (e.g., 70-90)");
-                            return;
                         }
-                    } catch (NumberFormatException e) {
-                        showError("Invalid marks range format");
                         return;
                     }
-                    break;
-                default:
-                    loadStudents();
+                } catch (NumberFormatException e) {
+                    if (interactive) {
+                        showError("Invalid marks range format");
+                    }
                     return;
+                }
+                break;
+            case "Grade": {
+                GradePolicy policy = GradePolicy.getDefault();
+                String grade = searchText.toUpperCase();
+                int band = policy.getGrades().indexOf(grade);
+                if (band < 0) {
+                    if (interactive) {
+                        showError("Unknown grade. Valid grades: " + String.join(", ", policy.getGrades()));
+                    }
+                    return;
+                }
+                // A band runs up to the hundredth of a mark below the next better band
+                double min = policy.getMinMarks(band);
+                double max = band == 0 ? GradePolicy.MAX_MARKS : policy.getMinMarks(band - 1) - 1.0 / GradePolicy.SCALE;
+                query = () -> studentDAO.searchByMarksRange(min, max, cancellation);
+                order = Comparator.comparingDouble(Student::getMarks).reversed();
+                filter = filter.withGrade(grade);
+                break;
             }
-            
-            updateTable(results);
-            updateStatus("Found " + results.size() + " students");
-        } catch (SQLException e) {
-            showError("Error searching: " + e.getMessage());
+            default:
+                loadStudents();
+                return;
         }
+        
+        appliedSearch = search;
+        if (fullRosterLoaded) {
+            // Every student is already in the table; no query needed. A reload
+            // still in flight re-applies the search when it arrives
+            int shown = tableModel.setViewFilter(filter);
+            updateStatus("Found " + shown + " students");
+            return;
+        }
+        updateStatus("Searching...");
+        Comparator<Student> resultOrder = order;
+        Predicate<Student> resultFilter = filter;
+        dataLoader.submit(TABLE_CHANNEL, cancellation, query, results -> {
+            tableModel.setStudents(results, resultOrder, resultFilter);
+            fullRosterLoaded = false;
+            updateStatus("Found " + results.size() + " students");
+        }, error -> showError("Error searching: " + error.getMessage()));
     }
 
     private void showAddStudentDialog() {
         StudentForm dialog = new StudentForm(this, null);
         dialog.setVisible(true);
         if (dialog.isConfirmed()) {
-            loadStudents();
+            Student saved = dialog.getSavedStudent();
+            if (rollNoRegistry.needsRefresh()) {
+                refreshRollNoRegistry();
+            }
+            int row = tableModel.insertStudent(saved);
+            if (row < 0 && tableModel.isPaged()) {
+                // Lands outside the cached pages
+                loadStudents("Student added successfully");
+                return;
+            }
+            selectRow(row);
+            updateStatus("Student added successfully");
         }
     }
 
     private void editSelectedStudent() {
         int selectedRow = studentTable.getSelectedRow();
-        if (selectedRow == -1) {
-            showError("Please select a student to edit");
+        if (selectedRow == -1 || studentTable.getSelectedRowCount() > 1) {
+            showError("Please select a single student to edit");
             return;
         }
         
-        String rollNo = (String) tableModel.getValueAt(selectedRow, 2);
-        try {
-            Student student = studentDAO.getStudentByRollNo(rollNo);
-            if (student != null) {
-                StudentForm dialog = new StudentForm(this, student);
-                dialog.setVisible(true);
-                if (dialog.isConfirmed()) {
-                    loadStudents();
+        Student selected = tableModel.getStudentAt(selectedRow);
+        if (selected == null) {
+            showError("The selected row is still loading");
+            return;
+        }
+        String rollNo = selected.getRollNo();
+        dataLoader.submit(STUDENT_CHANNEL, () -> studentDAO.getStudentByRollNo(rollNo), student -> {
+            if (student == null) {
+                tableModel.removeStudent(selected);
+                showError("Student no longer exists");
+                return;
+            }
+            StudentForm dialog = new StudentForm(this, student);
+            dialog.setVisible(true);
+            if (dialog.isConfirmed()) {
+                int row = tableModel.updateStudent(selected, dialog.getSavedStudent());
+                if (row < 0 && tableModel.isPaged()) {
+                    loadStudents("Student updated successfully");
+                    return;
                 }
+                selectRow(row);
+                updateStatus("Student updated successfully");
             }
-        } catch (SQLException e) {
-            showError("Error loading student: " + e.getMessage());
-        }
+        }, error -> showError("Error loading student: " + error.getMessage()));
     }
 
     private void deleteSelectedStudent() {
         int selectedRow = studentTable.getSelectedRow();
-        if (selectedRow == -1) {
-            showError("Please select a student to delete");
+        if (selectedRow == -1 || studentTable.getSelectedRowCount() > 1) {
+            showError("Please select a single student to delete");
             return;
         }
         
-        String rollNo = (String) tableModel.getValueAt(selectedRow, 2);
-        String name = (String) tableModel.getValueAt(selectedRow, 1);
+        Student selected = tableModel.getStudentAt(selectedRow);
+        if (selected == null) {
+            showError("The selected row is still loading");
+            return;
+        }
+        String rollNo = selected.getRollNo();
+        String name = selected.getName();
         
         int confirm = JOptionPane.showConfirmDialog(this,
             "Are you sure you want to delete student '" + name + "' (Roll No: " + rollNo + ")?",
@@ -315,34 +754,255 @@ public class MainFrame extends JFrame {
             JOptionPane.YES_NO_OPTION);
         
         if (confirm == JOptionPane.YES_OPTION) {
-            try {
+            // Deletions are never superseded; each one reports its own outcome
+            dataLoader.submit(null, () -> {
                 studentDAO.deleteStudent(rollNo);
-                loadStudents();
+                return rollNo;
+            }, deleted -> {
+                rollNoRegistry.removed(rollNo);
+                if (rollNoRegistry.needsRefresh()) {
+                    refreshRollNoRegistry();
+                }
+                if (!tableModel.removeStudent(selected) && tableModel.isPaged()) {
+                    loadStudents("Student deleted successfully");
+                    return;
+                }
                 updateStatus("Student deleted successfully");
-            } catch (SQLException e) {
-                showError("Error deleting student: " + e.getMessage());
+            },
+               error -> showError("Error deleting student: " + error.getMessage()));
+        }
+    }
+
+    /**
+     * Captures the rows the next export covers, according to the export scope
+     * 
+     * Rows held by the table are copied now, so the export writes what is
+     * on screen without a database query. A paged view is exported by
+     * re-running its query as one cursor in the same order, and selected
+     * rows that are not cached are fetched by the export job.
+     * 
+     * @return Rows to export, or null if no rows are selected
+     */
+    private ExportRows exportRows() {
+        switch (exportScope) {
+            case VIEW: {
+                StudentSource view = tableModel.getViewSource();
+                if (view == null) {
+                    SortSpec sort = tableModel.getSort() != null ? tableModel.getSort() : SortSpec.DEFAULT;
+                    view = handler -> studentDAO.streamStudents(sort, handler);
+                }
+                return new ExportRows("students_view", tableModel.getRowCount(), view);
+            }
+            case SELECTION: {
+                int[] rows = studentTable.getSelectedRows();
+                if (rows.length == 0) {
+                    showError("Please select the students to export");
+                    return null;
+                }
+                return new ExportRows("students_selection", rows.length, tableModel.getRowsSource(rows));
             }
+            default:
+                // Counted by the export job, off the Event Dispatch Thread
+                return new ExportRows("students", -1, studentDAO::streamAllStudents);
         }
     }
 
+    private long exportTotal(ExportRows rows) throws SQLException {
+        return rows.total >= 0 ? rows.total : studentDAO.countStudents();
+    }
+
     private void exportToCSV() {
-        try {
-            List<Student> students = studentDAO.getAllStudents();
-            ExportUtil.exportToCSV(students, null);
-            updateStatus("Data exported to CSV successfully");
-        } catch (Exception e) {
-            showError("Error exporting to CSV: " + e.getMessage());
-        }
+        ExportRows rows = exportRows();
+        if (rows == null) return;
+        String filename = ExportUtil.defaultFilename(rows.prefix, "csv");
+        exportJobs.submit("CSV export", Paths.get(filename), progress -> {
+            progress.setTotal(exportTotal(rows));
+            // Stream rows from the table or the database cursor straight into the file
+            ExportUtil.exportToCSV(progress.track(rows.source), filename);
+            return "Data exported to CSV successfully";
+        });
     }
 
     private void exportToText() {
+        ExportRows rows = exportRows();
+        if (rows == null) return;
+        String filename = ExportUtil.defaultFilename(rows.prefix, "txt");
+        exportJobs.submit("Text export", Paths.get(filename), progress -> {
+            long total = exportTotal(rows);
+            progress.setTotal(total);
+            // Rows and summary are written in one pass over the rows
+            ExportUtil.exportToText(progress.track(rows.source), total, filename, CompressionOptions.none());
+            return "Data exported to text successfully";
+        });
+    }
+
+    private void exportToJsonLines() {
+        ExportRows rows = exportRows();
+        if (rows == null) return;
+        String filename = ExportUtil.defaultFilename(rows.prefix, "jsonl");
+        exportJobs.submit("JSON Lines export", Paths.get(filename), progress -> {
+            progress.setTotal(exportTotal(rows));
+            ExportUtil.exportToJsonLines(progress.track(rows.source), filename, CompressionOptions.none());
+            return "Data exported to JSON Lines successfully";
+        });
+    }
+
+    private void exportToExcel() {
+        ExportRows rows = exportRows();
+        if (rows == null) return;
+        String filename = ExportUtil.defaultFilename(rows.prefix, "xlsx");
+        exportJobs.submit("Excel export", Paths.get(filename), progress -> {
+            progress.setTotal(exportTotal(rows));
+            ExportUtil.exportToExcel(progress.track(rows.source), filename);
+            return "Data exported to Excel successfully";
+        });
+    }
+
+    private void exportByDepartment() {
+        String filename = ExportUtil.defaultFilename("students_by_department", "zip");
+        exportJobs.submit("Department export", Paths.get(filename), progress -> {
+            RosterStore roster = studentDAO.loadRoster();
+            progress.setTotal(roster.size());
+            progress.checkCancelled();
+            // One CSV entry per department plus a combined entry
+            PartitionedExport.withAvailableCores().export(roster, filename, PartitionedExport.Mode.ZIP, progress);
+            return "Data exported by department successfully";
+        });
+    }
+
+    private void exportBinaryBackup() {
+        String filename = ExportUtil.defaultFilename("students", "ssrb");
+        exportJobs.submit("Binary backup", Paths.get(filename), progress -> {
+            RosterStore roster = studentDAO.loadRoster();
+            progress.setTotal(roster.size());
+            progress.checkCancelled();
+            ExportUtil.exportToBinary(roster, filename, progress);
+            return "Binary backup exported successfully";
+        });
+    }
+
+    private void exportDelta() {
+        String filename = ExportUtil.defaultFilename("students_delta", "csv");
+        exportJobs.submit("Delta export", Paths.get(filename), progress -> {
+            DeltaExport.Result result = new DeltaExport(studentDAO).export(filename, CompressionOptions.none(), progress);
+            return "Changes exported: " + result;
+        });
+    }
+
+    /**
+     * Loads a binary backup into the database as a background job
+     * 
+     * The backup is read and checked in full before anything is written,
+     * then loaded in one transaction: students whose roll number exists are
+     * updated, the rest are added. The table is reloaded afterwards.
+     */
+    private void restoreBinaryBackup() {
+        JFileChooser chooser = new JFileChooser(Paths.get("").toAbsolutePath().toFile());
+        chooser.setDialogTitle("Restore Binary Backup");
+        chooser.setFileFilter(new FileNameExtensionFilter("Binary roster backups (*.ssrb)", "ssrb"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path backup = chooser.getSelectedFile().toPath();
+        int confirm = JOptionPane.showConfirmDialog(this,
+            "Load every student in '" + backup.getFileName() + "' into the database?\n"
+                + "Students whose roll number already exists will be overwritten.",
+            "Confirm Restore",
+            JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+        // The job reads the backup; it writes no file of its own to clean up
+        exportJobs.submit("Binary restore", null, progress -> {
+            RosterStore roster = RosterBinaryFormat.read(backup);
+            progress.setTotal(roster.size());
+            progress.checkCancelled();
+            // Loaded in one transaction, so past this point it is all or nothing
+            int restored = studentDAO.bulkInsert(roster);
+            SwingUtilities.invokeLater(() -> {
+                loadStudents();
+                refreshRollNoRegistry();
+            });
+            return "Restored " + restored + " students from " + backup.getFileName();
+        });
+    }
+
+    private void exportJobProgress(ExportJobManager.Job job) {
+        int queued = 0;
+        for (ExportJobManager.Job other : exportJobs.getActiveJobs()) {
+            if (other.getState() == ExportJobManager.State.QUEUED) queued++;
+        }
+        updateStatus(job.getName() + ": " + job.getProgress().describe()
+                     + (queued > 0 ? " - " + queued + " more queued" : ""));
+    }
+
+    private void exportJobFinished(ExportJobManager.Job job) {
+        if (closing) {
+            // Partial output has been deleted by now
+            if (exportJobs.getActiveJobs().isEmpty()) {
+                exit();
+            }
+            return;
+        }
+        switch (job.getState()) {
+            case SUCCEEDED:
+                updateStatus(job.getResult());
+                break;
+            case CANCELLED:
+                updateStatus(job.getName() + " cancelled");
+                break;
+            default:
+                updateStatus(job.getName() + " failed");
+                showError("Error in " + job.getName().toLowerCase() + ": " + job.getError().getMessage());
+                break;
+        }
+    }
+
+    /**
+     * Exits, first cancelling any running exports
+     * 
+     * Exports write their files in the background, so exiting while one
+     * runs would leave a partial file behind. The user is asked whether to
+     * cancel them; the application then exits once every cancelled export
+     * has stopped and deleted its output.
+     */
+    private void requestExit() {
+        if (closing) {
+            return;
+        }
+        int running = exportJobs.getActiveJobs().size();
+        if (running == 0) {
+            exit();
+            return;
+        }
+        int confirm = JOptionPane.showConfirmDialog(this,
+            running + (running == 1 ? " export is" : " exports are") + " still running.\n"
+                + "Cancel " + (running == 1 ? "it" : "them") + " and exit?",
+            "Confirm Exit",
+            JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+        closing = true;
+        updateStatus("Cancelling exports before exit...");
+        exportJobs.shutdown();
+        if (exportJobs.getActiveJobs().isEmpty()) {
+            exit();
+        }
+    }
+
+    private void exit() {
+        dataLoader.shutdown();
+        tableModel.shutdown();
+        // Let a snapshot being written finish, so no temporary file is left
+        snapshotExecutor.shutdown();
         try {
-            List<Student> students = studentDAO.getAllStudents();
-            ExportUtil.exportToText(students, null);
-            updateStatus("Data exported to text successfully");
-        } catch (Exception e) {
-            showError("Error exporting to text: " + e.getMessage());
+            snapshotExecutor.awaitTermination(SNAPSHOT_EXIT_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+        dispose();
+        System.exit(0);
     }
 
     private void searchByName() {
@@ -367,36 +1027,71 @@ public class MainFrame extends JFrame {
         searchField.selectAll();
     }
 
+    /**
+     * Shows statistics of the students in the table
+     * 
+     * When the table holds its rows in memory, they are counted there with
+     * no database query, so the statistics match the current search. A
+     * paged table only holds some of its rows, so its statistics are
+     * computed in the background from the columnar roster.
+     */
     private void showStatistics() {
-        try {
-            List<Student> students = studentDAO.getAllStudents();
-            GradeCalculator.Statistics stats = GradeCalculator.calculateStatistics(students);
-            
-            StringBuilder message = new StringBuilder();
-            message.append("STUDENT STATISTICS\n");
-            message.append("==================\n\n");
-            message.append("Total Students: ").append(stats.getTotalStudents()).append("\n");
-            message.append("Passed: ").append(stats.getPassedStudents()).append(" (").append(String.format("%.1f", stats.getPassPercentage())).append("%)\n");
-            message.append("Failed: ").append(stats.getFailedStudents()).append(" (").append(String.format("%.1f", stats.getFailPercentage())).append("%)\n\n");
-            message.append("Marks Analysis:\n");
-            message.append("Average: ").append(String.format("%.2f", stats.getAverageMarks())).append("\n");
-            message.append("Highest: ").append(String.format("%.2f", stats.getHighestMarks())).append("\n");
-            message.append("Lowest: ").append(String.format("%.2f", stats.getLowestMarks())).append("\n\n");
-            
-            message.append("Department-wise Distribution:\n");
-            for (var entry : stats.getDepartmentStats().entrySet()) {
-                message.append(entry.getKey()).append(": ").append(entry.getValue()).append(" students\n");
-            }
-            
-            JOptionPane.showMessageDialog(this, message.toString(), "Statistics", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            showError("Error loading statistics: " + e.getMessage());
+        GradeCalculator.Statistics viewStats = tableModel.getViewStatistics();
+        if (viewStats != null) {
+            dataLoader.cancel(STATISTICS_CHANNEL);
+            presentStatistics(viewStats);
+            return;
         }
+        dataLoader.submit(STATISTICS_CHANNEL, () -> GradeCalculator.calculateStatistics(studentDAO.loadRoster()),
+                          this::presentStatistics, error -> showError("Error loading statistics: " + error.getMessage()));
+    }
+
+    private void presentStatistics(GradeCalculator.Statistics stats) {
+        String title = statisticsTitle();
+        // Reuse the open window; its charts are only redrawn if the numbers changed
+        if (statisticsDialog != null && statisticsDialog.isDisplayable()) {
+            statisticsPanel.showStatistics(stats);
+            statisticsDialog.setTitle(title);
+            statisticsDialog.toFront();
+            return;
+        }
+        statisticsPanel = new StatisticsPanel(stats);
+        statisticsPanel.setRefreshAction(this::showStatistics);
+        statisticsDialog = new JDialog(this, title, false);
+        statisticsDialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        statisticsDialog.add(statisticsPanel);
+        statisticsDialog.setSize(900, 600);
+        statisticsDialog.setLocationRelativeTo(this);
+        statisticsDialog.setVisible(true);
+    }
+
+    /**
+     * Updates an open statistics window after the table changed
+     * 
+     * A search or edit fires several table events; the statistics are
+     * fetched once, after the last of them.
+     */
+    private void scheduleStatisticsUpdate() {
+        if (statisticsUpdatePending || statisticsDialog == null || !statisticsDialog.isDisplayable()) {
+            return;
+        }
+        statisticsUpdatePending = true;
+        SwingUtilities.invokeLater(() -> {
+            statisticsUpdatePending = false;
+            GradeCalculator.Statistics stats = tableModel.getViewStatistics();
+            if (stats != null && statisticsDialog.isDisplayable()) {
+                statisticsPanel.showStatistics(stats);
+                statisticsDialog.setTitle(statisticsTitle());
+            }
+        });
+    }
+
+    private String statisticsTitle() {
+        return "Statistics - " + (appliedSearch.isEmpty() || tableModel.isPaged() ? "All Students" : appliedSearch);
     }
 
     private void showTopPerformers() {
-        try {
-            List<Student> topStudents = studentDAO.getTopPerformers(10);
+        dataLoader.submit(TOP_PERFORMERS_CHANNEL, () -> studentDAO.getTopPerformers(10), topStudents -> {
             if (topStudents.isEmpty()) {
                 showError("No students found");
                 return;
@@ -414,9 +1109,7 @@ public class MainFrame extends JFrame {
             }
             
             JOptionPane.showMessageDialog(this, message.toString(), "Top Performers", JOptionPane.INFORMATION_MESSAGE);
-        } catch (SQLException e) {
-            showError("Error loading top performers: " + e.getMessage());
-        }
+        }, error -> showError("Error loading top performers: " + error.getMessage()));
     }
 
     private void showAboutDialog() {
@@ -435,6 +1128,11 @@ public class MainFrame extends JFrame {
         JOptionPane.showMessageDialog(this, aboutMessage, "About", JOptionPane.INFORMATION_MESSAGE);
     }
 
+    private void setBusy(boolean busy) {
+        busyIndicator.setVisible(busy);
+        setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
     private void updateStatus(String message) {
         statusLabel.setText(message);
     }
@@ -446,4 +1144,51 @@ public class MainFrame extends JFrame {
     public StudentDAO getStudentDAO() {
         return studentDAO;
     }
+
+    public RollNoRegistry getRollNoRegistry() {
+        return rollNoRegistry;
+    }
+
+    /**
+     * Reloads the roll number registry in the background
+     * 
+     * Until it has loaded, and if loading fails, every roll number typed
+     * in the student form is checked with the database instead.
+     */
+    private void refreshRollNoRegistry() {
+        dataLoader.submit(ROLL_NO_CHANNEL, () -> {
+            rollNoRegistry.refresh();
+            return null;
+        }, loaded -> { }, error -> System.err.println("Could not load roll numbers: " + error.getMessage()));
+    }
+
+    /**
+     * Rows for an export: a file name prefix, the number of rows if known
+     * (-1 otherwise) and the source to read them from
+     */
+    private static class ExportRows {
+        final String prefix;
+        final long total;
+        final StudentSource source;
+
+        ExportRows(String prefix, long total, StudentSource source) {
+            this.prefix = prefix;
+            this.total = total;
+            this.source = source;
+        }
+    }
+
+    /**
+     * Result of a table load: the full list for small tables, or only the
+     * row count for tables shown page by page
+     */
+    private static class TableLoad {
+        final int count;
+        final List<Student> students;
+
+        TableLoad(int count, List<Student> students) {
+            this.count = count;
+            this.students = students;
+        }
+    }
 } 
\ No newline at end of file
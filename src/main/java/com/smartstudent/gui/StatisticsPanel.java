@@ -1,14 +1,16 @@
 package com.smartstudent.gui;
 
 import com.smartstudent.dao.StudentDAO;
-import com.smartstudent.model.Student;
 import com.smartstudent.util.GradeCalculator;
+import com.smartstudent.util.GradePolicy;
 
 import javax.swing.*;
 import java.awt.*;
-import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 public class StatisticsPanel extends JPanel {
     private StudentDAO studentDAO;
@@ -18,10 +20,15 @@ public class StatisticsPanel extends JPanel {
     private JLabel averageMarksLabel;
     private JLabel highestMarksLabel;
     private JLabel lowestMarksLabel;
-    private JTextArea departmentStatsArea;
-    private JTextArea gradeStatsArea;
+    private BarChart departmentChart;
+    private BarChart gradeChart;
+    private BarChart marksChart;
     private JButton refreshButton;
     private JButton exportButton;
+    private SwingWorker<GradeCalculator.Statistics, Void> loader;
+    // Statistics currently shown, exported as they are
+    private GradeCalculator.Statistics shownStats;
+    private Runnable refreshAction = this::loadStatistics;
 
     public StatisticsPanel() {
         studentDAO = new StudentDAO();
@@ -31,6 +38,19 @@ public class StatisticsPanel extends JPanel {
         loadStatistics();
     }
 
+    /**
+     * Creates the panel showing statistics that have already been computed
+     *
+     * @param stats Statistics to show; Refresh loads them again from the database
+     */
+    public StatisticsPanel(GradeCalculator.Statistics stats) {
+        studentDAO = new StudentDAO();
+        initializeComponents();
+        setupLayout();
+        setupEventHandlers();
+        showStatistics(stats);
+    }
+
     private void initializeComponents() {
         totalStudentsLabel = new JLabel("Total Students: 0");
         passedStudentsLabel = new JLabel("Passed: 0 (0.0%)");
@@ -39,13 +59,11 @@ public class StatisticsPanel extends JPanel {
         highestMarksLabel = new JLabel("Highest Marks: 0.00");
         lowestMarksLabel = new JLabel("Lowest Marks: 0.00");
 
-        departmentStatsArea = new JTextArea(10, 30);
-        departmentStatsArea.setEditable(false);
-        departmentStatsArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
-
-        gradeStatsArea = new JTextArea(10, 30);
-        gradeStatsArea.setEditable(false);
-        gradeStatsArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        departmentChart = new BarChart(BarChart.Orientation.HORIZONTAL);
+        gradeChart = new BarChart(BarChart.Orientation.VERTICAL);
+        gradeChart.setBarColor(new Color(34, 139, 34));
+        marksChart = new BarChart(BarChart.Orientation.VERTICAL);
+        marksChart.setBarColor(new Color(218, 165, 32));
 
         refreshButton = new JButton("Refresh Statistics");
         exportButton = new JButton("Export Statistics");
@@ -95,12 +113,17 @@ public class StatisticsPanel extends JPanel {
         // Department statistics panel
         JPanel deptPanel = new JPanel(new BorderLayout());
         deptPanel.setBorder(BorderFactory.createTitledBorder("Department-wise Distribution"));
-        deptPanel.add(new JScrollPane(departmentStatsArea), BorderLayout.CENTER);
+        deptPanel.add(new JScrollPane(departmentChart), BorderLayout.CENTER);
 
         // Grade statistics panel
         JPanel gradePanel = new JPanel(new BorderLayout());
         gradePanel.setBorder(BorderFactory.createTitledBorder("Grade Distribution"));
-        gradePanel.add(new JScrollPane(gradeStatsArea), BorderLayout.CENTER);
+        gradePanel.add(gradeChart, BorderLayout.CENTER);
+
+        // Marks histogram panel
+        JPanel marksPanel = new JPanel(new BorderLayout());
+        marksPanel.setBorder(BorderFactory.createTitledBorder("Marks Distribution"));
+        marksPanel.add(marksChart, BorderLayout.CENTER);
 
         // Buttons panel
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
@@ -112,93 +135,146 @@ public class StatisticsPanel extends JPanel {
         leftPanel.add(statsPanel, BorderLayout.NORTH);
         leftPanel.add(buttonPanel, BorderLayout.SOUTH);
 
+        JPanel distributionPanel = new JPanel(new GridLayout(1, 2, 10, 10));
+        distributionPanel.add(gradePanel);
+        distributionPanel.add(marksPanel);
+
         JPanel rightPanel = new JPanel(new GridLayout(2, 1, 10, 10));
         rightPanel.add(deptPanel);
-        rightPanel.add(gradePanel);
+        rightPanel.add(distributionPanel);
 
         add(leftPanel, BorderLayout.WEST);
         add(rightPanel, BorderLayout.CENTER);
     }
 
     private void setupEventHandlers() {
-        refreshButton.addActionListener(e -> loadStatistics());
+        refreshButton.addActionListener(e -> refreshAction.run());
         exportButton.addActionListener(e -> exportStatistics());
     }
 
+    /**
+     * Loads the statistics from the database in the background
+     *
+     * A load still running when another starts has its result discarded.
+     */
     public void loadStatistics() {
-        try {
-            List<Student> students = studentDAO.getAllStudents();
-            GradeCalculator.Statistics stats = GradeCalculator.calculateStatistics(students);
-
-            // Update overview labels
-            totalStudentsLabel.setText("Total Students: " + stats.getTotalStudents());
-            passedStudentsLabel.setText(String.format("Passed: %d (%.1f%%)", 
-                stats.getPassedStudents(), stats.getPassPercentage()));
-            failedStudentsLabel.setText(String.format("Failed: %d (%.1f%%)", 
-                stats.getFailedStudents(), stats.getFailPercentage()));
-
-            // Update marks analysis
-            averageMarksLabel.setText(String.format("Average Marks: %.2f", stats.getAverageMarks()));
-            highestMarksLabel.setText(String.format("Highest Marks: %.2f", stats.getHighestMarks()));
-            lowestMarksLabel.setText(String.format("Lowest Marks: %.2f", stats.getLowestMarks()));
+        if (loader != null) {
+            loader.cancel(false);
+        }
+        refreshButton.setEnabled(false);
+        loader = new SwingWorker<GradeCalculator.Statistics, Void>() {
+            @Override
+            protected GradeCalculator.Statistics doInBackground() throws Exception {
+                return GradeCalculator.calculateStatistics(studentDAO.loadRoster());
+            }
 
-            // Update department statistics
-            updateDepartmentStats(stats.getDepartmentStats());
+            @Override
+            protected void done() {
+                if (loader != this) {
+                    return;
+                }
+                loader = null;
+                refreshButton.setEnabled(true);
+                try {
+                    showStatistics(get());
+                } catch (ExecutionException e) {
+                    JOptionPane.showMessageDialog(StatisticsPanel.this, 
+                        "Error loading statistics: " + e.getCause().getMessage(), 
+                        "Error", 
+                        JOptionPane.ERROR_MESSAGE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        loader.execute();
+    }
 
-            // Update grade statistics
-            updateGradeStats(stats.getGradeStats());
+    /**
+     * Replaces what the Refresh button does
+     * 
+     * By default it loads the statistics of every student from the
+     * database; a window showing statistics of part of the students can
+     * recompute them its own way instead.
+     * 
+     * @param action Action to run when Refresh is pressed
+     */
+    public void setRefreshAction(Runnable action) {
+        refreshAction = action;
+    }
 
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, 
-                "Error loading statistics: " + e.getMessage(), 
-                "Error", 
-                JOptionPane.ERROR_MESSAGE);
-        }
+    /**
+     * Shows statistics that have already been computed
+     *
+     * Charts whose data has not changed are not drawn again.
+     *
+     * @param stats Statistics to show
+     */
+    public void showStatistics(GradeCalculator.Statistics stats) {
+        shownStats = stats;
+        // Update overview labels
+        totalStudentsLabel.setText("Total Students: " + stats.getTotalStudents());
+        passedStudentsLabel.setText(String.format("Passed: %d (%.1f%%)", 
+            stats.getPassedStudents(), stats.getPassPercentage()));
+        failedStudentsLabel.setText(String.format("Failed: %d (%.1f%%)", 
+            stats.getFailedStudents(), stats.getFailPercentage()));
+
+        // Update marks analysis
+        averageMarksLabel.setText(String.format("Average Marks: %.2f", stats.getAverageMarks()));
+        highestMarksLabel.setText(String.format("Highest Marks: %.2f", stats.getHighestMarks()));
+        lowestMarksLabel.setText(String.format("Lowest Marks: %.2f", stats.getLowestMarks()));
+
+        // Update distribution charts; the maps are null when there are no students
+        updateDepartmentStats(stats.getDepartmentStats() != null ? stats.getDepartmentStats() : Collections.emptyMap());
+        updateGradeStats(stats.getGradeStats() != null ? stats.getGradeStats() : Collections.emptyMap());
+        updateMarksStats(stats.getMarksHistogram());
     }
 
     private void updateDepartmentStats(Map<String, Long> departmentStats) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Department\t\tCount\tPercentage\n");
-        sb.append("==========================================\n");
-
-        int totalStudents = departmentStats.values().stream().mapToInt(Long::intValue).sum();
-
-        for (Map.Entry<String, Long> entry : departmentStats.entrySet()) {
-            String dept = entry.getKey();
-            long count = entry.getValue();
-            double percentage = totalStudents > 0 ? (double) count / totalStudents * 100 : 0.0;
-            
-            sb.append(String.format("%-20s\t%d\t%.1f%%\n", dept, count, percentage));
+        // Largest departments first, then by name
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(departmentStats.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+                     .thenComparing(Map.Entry.comparingByKey()));
+
+        String[] labels = new String[entries.size()];
+        long[] counts = new long[entries.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = entries.get(i).getKey();
+            counts[i] = entries.get(i).getValue();
         }
-
-        departmentStatsArea.setText(sb.toString());
+        departmentChart.setData(labels, counts);
     }
 
     private void updateGradeStats(Map<String, Long> gradeStats) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Grade\tCount\tPercentage\n");
-        sb.append("========================\n");
-
-        int totalStudents = gradeStats.values().stream().mapToInt(Long::intValue).sum();
-
-        // Define grade order
-        String[] gradeOrder = {"A+", "A", "B", "C", "D", "F"};
-
-        for (String grade : gradeOrder) {
-            long count = gradeStats.getOrDefault(grade, 0L);
-            double percentage = totalStudents > 0 ? (double) count / totalStudents * 100 : 0.0;
-            
-            sb.append(String.format("%s\t%d\t%.1f%%\n", grade, count, percentage));
+        // Grade order comes from the configured policy, best first
+        List<String> grades = GradePolicy.getDefault().getGrades();
+        String[] labels = grades.toArray(new String[0]);
+        long[] counts = new long[labels.length];
+        for (int i = 0; i < labels.length; i++) {
+            counts[i] = gradeStats.getOrDefault(labels[i], 0L);
         }
+        gradeChart.setData(labels, counts);
+    }
 
-        gradeStatsArea.setText(sb.toString());
+    private void updateMarksStats(long[] histogram) {
+        String[] labels = new String[histogram.length];
+        for (int bin = 0; bin < labels.length; bin++) {
+            int from = bin * GradeCalculator.MARKS_HISTOGRAM_BIN_WIDTH;
+            labels[bin] = from + "-" + (from + GradeCalculator.MARKS_HISTOGRAM_BIN_WIDTH);
+        }
+        marksChart.setData(labels, histogram);
     }
 
     private void exportStatistics() {
+        GradeCalculator.Statistics stats = shownStats;
+        if (stats == null) {
+            JOptionPane.showMessageDialog(this, 
+                "Statistics are still loading", 
+                "Export Statistics", 
+                JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
         try {
-            List<Student> students = studentDAO.getAllStudents();
-            GradeCalculator.Statistics stats = GradeCalculator.calculateStatistics(students);
-
             StringBuilder report = new StringBuilder();
             report.append("STUDENT STATISTICS REPORT\n");
             report.append("=========================\n\n");
@@ -217,12 +293,15 @@ public class StatisticsPanel extends JPanel {
             report.append("Lowest: ").append(String.format("%.2f", stats.getLowestMarks())).append("\n\n");
             
             report.append("DEPARTMENT DISTRIBUTION:\n");
-            for (Map.Entry<String, Long> entry : stats.getDepartmentStats().entrySet()) {
+            // The maps are null when there are no students
+            Map<String, Long> departmentStats = stats.getDepartmentStats() != null ? stats.getDepartmentStats() : Collections.emptyMap();
+            for (Map.Entry<String, Long> entry : departmentStats.entrySet()) {
                 report.append(entry.getKey()).append(": ").append(entry.getValue()).append(" students\n");
             }
             
             report.append("\nGRADE DISTRIBUTION:\n");
-            for (Map.Entry<String, Long> entry : stats.getGradeStats().entrySet()) {
+            Map<String, Long> gradeStats = stats.getGradeStats() != null ? stats.getGradeStats() : Collections.emptyMap();
+            for (Map.Entry<String, Long> entry : gradeStats.entrySet()) {
                 report.append(entry.getKey()).append(": ").append(entry.getValue()).append(" students\n");
             }
 
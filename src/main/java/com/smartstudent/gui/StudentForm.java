@@ -1,12 +1,15 @@
 package com.smartstudent.gui;
 
+import com.smartstudent.dao.RollNoRegistry;
 import com.smartstudent.dao.StudentDAO;
 import com.smartstudent.model.Student;
+import com.smartstudent.util.GradePolicy;
 
 import javax.swing.*;
 import java.awt.*;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
 
 public class StudentForm extends JDialog {
     private JTextField nameField;
@@ -19,10 +22,20 @@ public class StudentForm extends JDialog {
     private JButton cancelButton;
     private JLabel gradeLabel;
     private JLabel statusLabel;
+    private JLabel rollNoStatusLabel;
+    
+    // Probable duplicates are confirmed by the database once typing pauses
+    private static final int ROLL_NO_CHECK_DELAY_MS = 300;
+    private Timer rollNoCheckTimer;
+    private SwingWorker<Boolean, Void> rollNoCheck;
+    // Roll number the database last confirmed as taken
+    private String duplicateRollNo;
     
     private StudentDAO studentDAO;
+    private RollNoRegistry rollNoRegistry;
     private Student student;
     private boolean confirmed = false;
+    private Student savedStudent;
     private MainFrame parentFrame;
 
     public StudentForm(MainFrame parent, Student student) {
@@ -30,6 +43,7 @@ public class StudentForm extends JDialog {
         this.parentFrame = parent;
         this.student = student;
         this.studentDAO = parent.getStudentDAO();
+        this.rollNoRegistry = parent.getRollNoRegistry();
         
         initializeComponents();
         setupLayout();
@@ -61,6 +75,10 @@ public class StudentForm extends JDialog {
         
         gradeLabel = new JLabel("Grade: -");
         statusLabel = new JLabel("Status: -");
+        rollNoStatusLabel = new JLabel(" ");
+        
+        rollNoCheckTimer = new Timer(ROLL_NO_CHECK_DELAY_MS, e -> confirmRollNo());
+        rollNoCheckTimer.setRepeats(false);
         
         // Style buttons
         saveButton.setBackground(new Color(70, 130, 180));
@@ -77,6 +95,13 @@ public class StudentForm extends JDialog {
             public void removeUpdate(javax.swing.event.DocumentEvent e) { updateGrade(); }
             public void insertUpdate(javax.swing.event.DocumentEvent e) { updateGrade(); }
         });
+        
+        // Flag taken roll numbers while typing (new students only)
+        rollNoField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { checkRollNo(); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { checkRollNo(); }
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { checkRollNo(); }
+        });
     }
 
     private void setupLayout() {
@@ -100,7 +125,10 @@ public class StudentForm extends JDialog {
         gbc.gridx = 0; gbc.gridy = 1;
         mainPanel.add(new JLabel("Roll No:"), gbc);
         gbc.gridx = 1;
-        mainPanel.add(rollNoField, gbc);
+        JPanel rollNoPanel = new JPanel(new BorderLayout());
+        rollNoPanel.add(rollNoField, BorderLayout.CENTER);
+        rollNoPanel.add(rollNoStatusLabel, BorderLayout.SOUTH);
+        mainPanel.add(rollNoPanel, gbc);
         
         // Department
         gbc.gridx = 0; gbc.gridy = 2;
@@ -195,14 +223,84 @@ public class StudentForm extends JDialog {
         }
     }
 
+    /**
+     * Shows whether the roll number is taken
+     * 
+     * The registry answers at once for roll numbers that are certainly
+     * free; a probable duplicate is confirmed by the database in the
+     * background once typing pauses.
+     */
+    private void checkRollNo() {
+        if (student != null) {
+            return;
+        }
+        rollNoCheckTimer.stop();
+        rollNoCheck = null;
+        String rollNo = rollNoField.getText().trim();
+        if (rollNo.isEmpty()) {
+            setRollNoStatus(" ", Color.BLACK);
+        } else if (rollNo.equals(duplicateRollNo)) {
+            setRollNoStatus("Roll No already exists", new Color(220, 20, 60));
+        } else if (!rollNoRegistry.mightExist(rollNo)) {
+            setRollNoStatus("Roll No available", new Color(0, 128, 0));
+        } else {
+            setRollNoStatus("Checking Roll No...", Color.GRAY);
+            rollNoCheckTimer.restart();
+        }
+    }
+
+    private void confirmRollNo() {
+        String rollNo = rollNoField.getText().trim();
+        if (rollNo.isEmpty()) {
+            return;
+        }
+        SwingWorker<Boolean, Void> check = new SwingWorker<Boolean, Void>() {
+            @Override
+            protected Boolean doInBackground() throws Exception {
+                return rollNoRegistry.exists(rollNo);
+            }
+
+            @Override
+            protected void done() {
+                // A newer check or edit makes this answer stale
+                if (rollNoCheck != this) {
+                    return;
+                }
+                rollNoCheck = null;
+                try {
+                    if (get()) {
+                        duplicateRollNo = rollNo;
+                        rollNoRegistry.added(rollNo);
+                        setRollNoStatus("Roll No already exists", new Color(220, 20, 60));
+                    } else {
+                        setRollNoStatus("Roll No available", new Color(0, 128, 0));
+                    }
+                } catch (ExecutionException e) {
+                    // Saving still reports a duplicate
+                    setRollNoStatus(" ", Color.BLACK);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        rollNoCheck = check;
+        check.execute();
+    }
+
+    private void setRollNoStatus(String text, Color color) {
+        rollNoStatusLabel.setText(text);
+        rollNoStatusLabel.setForeground(color);
+    }
+
     private void updateGrade() {
         try {
             String marksText = marksField.getText().trim();
             if (!marksText.isEmpty()) {
                 double marks = Double.parseDouble(marksText);
                 if (marks >= 0 && marks <= 100) {
-                    String grade = calculateGrade(marks);
-                    boolean passed = marks >= 50;
+                    GradePolicy policy = GradePolicy.getDefault();
+                    String grade = policy.gradeFor(marks);
+                    boolean passed = policy.isPassed(marks);
                     
                     gradeLabel.setText("Grade: " + grade);
                     statusLabel.setText("Status: " + (passed ? "Pass" : "Fail"));
@@ -230,15 +328,6 @@ public class StudentForm extends JDialog {
         }
     }
 
-    private String calculateGrade(double marks) {
-        if (marks >= 90) return "A+";
-        else if (marks >= 80) return "A";
-        else if (marks >= 70) return "B";
-        else if (marks >= 60) return "C";
-        else if (marks >= 50) return "D";
-        else return "F";
-    }
-
     private void handleSave() {
         if (!validateInput()) {
             return;
@@ -255,19 +344,36 @@ public class StudentForm extends JDialog {
             );
             
             if (student == null) {
-                // Adding new student
-                if (studentDAO.isRollNoExists(newStudent.getRollNo())) {
+                // Adding new student; the unique roll_no constraint catches
+                // duplicates the live check has not confirmed
+                if (newStudent.getRollNo().equals(duplicateRollNo)) {
                     showError("A student with this Roll No already exists!");
                     return;
                 }
-                studentDAO.insertStudent(newStudent);
+                try {
+                    studentDAO.insertStudent(newStudent); // sets the generated id
+                } catch (SQLException e) {
+                    if (!StudentDAO.isDuplicateKey(e)) {
+                        throw e;
+                    }
+                    duplicateRollNo = newStudent.getRollNo();
+                    rollNoRegistry.added(duplicateRollNo);
+                    checkRollNo();
+                    showError("A student with this Roll No already exists!");
+                    return;
+                }
+                rollNoRegistry.added(newStudent.getRollNo());
                 JOptionPane.showMessageDialog(this, "Student added successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
             } else {
-                // Updating existing student
+                // Updating existing student; the roll no and id stay the same
                 studentDAO.updateStudent(student.getRollNo(), newStudent);
+                newStudent.setId(student.getId());
+                newStudent.setRollNo(student.getRollNo());
+                newStudent.setCreatedAt(student.getCreatedAt());
                 JOptionPane.showMessageDialog(this, "Student updated successfully!", "Success", JOptionPane.INFORMATION_MESSAGE);
             }
             
+            savedStudent = newStudent;
             confirmed = true;
             dispose();
             
@@ -346,6 +452,13 @@ public class StudentForm extends JDialog {
         dispose();
     }
 
+    @Override
+    public void dispose() {
+        rollNoCheckTimer.stop();
+        rollNoCheck = null;
+        super.dispose();
+    }
+
     private void showError(String message) {
         JOptionPane.showMessageDialog(this, message, "Error", JOptionPane.ERROR_MESSAGE);
     }
@@ -353,4 +466,12 @@ public class StudentForm extends JDialog {
     public boolean isConfirmed() {
         return confirmed;
     }
+
+    /**
+     * Gets the student as written to the database
+     * @return Saved student with its id, or null if the form was cancelled
+     */
+    public Student getSavedStudent() {
+        return savedStudent;
+    }
 } 
\ No newline at end of file
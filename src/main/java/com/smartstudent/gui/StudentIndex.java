@@ -0,0 +1,510 @@
+/**
+ * Student Index Class
+ *
+ * Indexes an in-memory list of students so that the table can be sorted
+ * and filtered without going back to the database.
+ *
+ * - Sort orders are kept as permutations of the row numbers, computed the
+ *   first time an order is used and reused afterwards; a descending sort
+ *   walks the ascending permutation backwards
+ * - Departments and grades map to bit sets of the rows that have them
+ * - Marks ranges are found by binary search in the rows sorted by marks
+ * - Names and roll numbers are lower-cased once for substring matching
+ *
+ * A selection intersects the bit sets of the criteria and then walks the
+ * permutation of the wanted order, keeping the matching rows, so its
+ * result comes out sorted without sorting.
+ *
+ * Students can be added and removed one at a time after the index is
+ * built. Row numbers never change: an added student gets the next row
+ * number and is inserted into each sorted permutation by binary search,
+ * and a removed student's row is only marked as removed and skipped from
+ * then on. Removed rows still take up space, so once they outnumber the
+ * rest ({@link #getRemovedCount()}) the index should be built again.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.gui;
+
+import com.smartstudent.model.Student;
+import com.smartstudent.util.GradePolicy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
+public class StudentIndex {
+    // Rows in the order they were indexed; the arrays grow as students are added
+    private Student[] rows;
+    private int rowCount;
+    private final BitSet removed = new BitSet();
+    private final Map<Integer, Integer> rowsById = new HashMap<>();
+
+    // Lower-cased text columns, null where the value is missing
+    private String[] names;
+    private String[] rollNos;
+
+    // Rows per department and per grade band
+    private final Map<String, BitSet> departments = new HashMap<>();
+    private final GradePolicy gradePolicy;
+    private final BitSet[] grades;
+
+    // Rows in ascending order of marks, and their marks; sorted on first use
+    private int[] byMarks;
+    private double[] sortedMarks;
+
+    // Sort permutations by comparator
+    private final Map<Comparator<Student>, int[]> permutations = new IdentityHashMap<>();
+
+    /**
+     * Builds the index
+     *
+     * @param students Students to index; the list is not modified
+     */
+    public StudentIndex(List<Student> students) {
+        this(students, null);
+    }
+
+    /**
+     * Builds the index over a list that is already sorted
+     *
+     * Selecting in the list's own order then needs no sorting at all.
+     *
+     * @param students Students to index; the list is not modified
+     * @param listOrder Order the list is sorted by, or null if unsorted
+     */
+    public StudentIndex(List<Student> students, Comparator<Student> listOrder) {
+        int size = students.size();
+        rows = students.toArray(new Student[0]);
+        rowCount = size;
+        names = new String[size];
+        rollNos = new String[size];
+        gradePolicy = GradePolicy.getDefault();
+        grades = new BitSet[gradePolicy.getBandCount()];
+        for (int band = 0; band < grades.length; band++) {
+            grades[band] = new BitSet(size);
+        }
+        for (int row = 0; row < size; row++) {
+            indexRow(row);
+        }
+        if (listOrder != null) {
+            int[] identity = new int[size];
+            for (int row = 0; row < size; row++) {
+                identity[row] = row;
+            }
+            permutations.put(listOrder, identity);
+        }
+    }
+
+    private void indexRow(int row) {
+        Student student = rows[row];
+        names[row] = lower(student.getName());
+        rollNos[row] = lower(student.getRollNo());
+        departments.computeIfAbsent(student.getDepartment(), d -> new BitSet(rows.length)).set(row);
+        grades[gradePolicy.bandIndex(student.getMarks())].set(row);
+        rowsById.put(student.getId(), row);
+    }
+
+    /**
+     * Gets the number of indexed students
+     * @return Row count, not counting removed rows
+     */
+    public int size() {
+        return rowCount - removed.cardinality();
+    }
+
+    /**
+     * Gets the number of rows removed since the index was built
+     * @return Removed row count
+     */
+    public int getRemovedCount() {
+        return removed.cardinality();
+    }
+
+    /**
+     * Adds a student to the index
+     *
+     * @param student Student to add
+     * @return Row number of the student
+     */
+    public int add(Student student) {
+        if (rowCount == rows.length) {
+            int capacity = Math.max(16, rows.length + (rows.length >> 1));
+            rows = Arrays.copyOf(rows, capacity);
+            names = Arrays.copyOf(names, capacity);
+            rollNos = Arrays.copyOf(rollNos, capacity);
+        }
+        int row = rowCount++;
+        rows[row] = student;
+        indexRow(row);
+        for (Map.Entry<Comparator<Student>, int[]> entry : permutations.entrySet()) {
+            entry.setValue(insertSorted(entry.getValue(), row, entry.getKey()));
+        }
+        if (byMarks != null) {
+            int position = upperBound(student.getMarks());
+            byMarks = insertAt(byMarks, position, row);
+            double[] marks = new double[sortedMarks.length + 1];
+            System.arraycopy(sortedMarks, 0, marks, 0, position);
+            marks[position] = student.getMarks();
+            System.arraycopy(sortedMarks, position, marks, position + 1, sortedMarks.length - position);
+            sortedMarks = marks;
+        }
+        return row;
+    }
+
+    /**
+     * Removes a student from the index
+     *
+     * @param student Student to remove, matched by id
+     * @return Row number the student had, or -1 if it is not indexed
+     */
+    public int remove(Student student) {
+        Integer row = rowsById.get(student.getId());
+        if (row == null || removed.get(row)) {
+            return -1;
+        }
+        removed.set(row);
+        rowsById.remove(student.getId());
+        return row;
+    }
+
+    /**
+     * Inserts a row into a permutation after the rows ordered before or
+     * equal to it
+     */
+    private int[] insertSorted(int[] permutation, int row, Comparator<Student> order) {
+        int low = 0;
+        int high = permutation.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (order.compare(rows[permutation[mid]], rows[row]) <= 0) low = mid + 1;
+            else high = mid;
+        }
+        return insertAt(permutation, low, row);
+    }
+
+    private static int[] insertAt(int[] values, int position, int value) {
+        int[] inserted = new int[values.length + 1];
+        System.arraycopy(values, 0, inserted, 0, position);
+        inserted[position] = value;
+        System.arraycopy(values, position, inserted, position + 1, values.length - position);
+        return inserted;
+    }
+
+    /**
+     * Selects the students matching a filter, in a given order
+     *
+     * The order should be a long-lived comparator, such as a constant,
+     * because its permutation is cached by identity.
+     *
+     * @param filter Criteria the students must match
+     * @param order Ascending order of the result
+     * @param ascending false to return the result in reverse order
+     * @return Matching students
+     */
+    public List<Student> select(Filter filter, Comparator<Student> order, boolean ascending) {
+        BitSet mask = match(filter);
+        int[] permutation = permutations.computeIfAbsent(order, this::sortRows);
+        List<Student> result = new ArrayList<>(mask == null ? rowCount : mask.cardinality());
+        if (ascending) {
+            for (int i = 0; i < permutation.length; i++) {
+                int row = permutation[i];
+                if (mask == null || mask.get(row)) result.add(rows[row]);
+            }
+        } else {
+            for (int i = permutation.length - 1; i >= 0; i--) {
+                int row = permutation[i];
+                if (mask == null || mask.get(row)) result.add(rows[row]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts the students matching a filter
+     *
+     * @param filter Criteria the students must match
+     * @return Number of matching students
+     */
+    public int count(Filter filter) {
+        BitSet mask = match(filter);
+        return mask == null ? rowCount : mask.cardinality();
+    }
+
+    /**
+     * Finds the rows matching a filter
+     *
+     * Comparing the rows of two filters shows which students enter and
+     * leave a view when its filter changes.
+     *
+     * @param filter Criteria the students must match
+     * @return New set of the row numbers of the matching students
+     */
+    public BitSet rows(Filter filter) {
+        BitSet mask = match(filter);
+        if (mask == null) {
+            mask = new BitSet(rowCount);
+            mask.set(0, rowCount);
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the student in a row
+     *
+     * @param row Row number, in the order the students were indexed
+     * @return Student
+     */
+    public Student get(int row) {
+        return rows[row];
+    }
+
+    /**
+     * Finds the rows matching a filter, cheapest criteria first
+     *
+     * @return Matching rows, or null if the filter matches every row and
+     *         no row has been removed
+     */
+    private BitSet match(Filter filter) {
+        BitSet mask = matchCriteria(filter);
+        if (removed.isEmpty()) {
+            return mask;
+        }
+        if (mask == null) {
+            mask = new BitSet(rowCount);
+            mask.set(0, rowCount);
+        }
+        mask.andNot(removed);
+        return mask;
+    }
+
+    private BitSet matchCriteria(Filter filter) {
+        BitSet mask = null;
+        if (filter.department != null) {
+            BitSet matching = new BitSet(rowCount);
+            for (Map.Entry<String, BitSet> entry : departments.entrySet()) {
+                if (contains(lower(entry.getKey()), filter.department)) {
+                    matching.or(entry.getValue());
+                }
+            }
+            mask = matching;
+        }
+        if (filter.grade != null) {
+            int band = gradePolicy.getGrades().indexOf(filter.grade);
+            mask = intersect(mask, band >= 0 ? grades[band] : new BitSet());
+        }
+        if (filter.minMarks > Double.NEGATIVE_INFINITY || filter.maxMarks < Double.POSITIVE_INFINITY) {
+            if (byMarks == null) {
+                sortByMarks();
+            }
+            BitSet matching = new BitSet(rowCount);
+            int from = lowerBound(filter.minMarks);
+            int to = upperBound(filter.maxMarks);
+            for (int i = from; i < to; i++) {
+                matching.set(byMarks[i]);
+            }
+            mask = intersect(mask, matching);
+        }
+        if (filter.name != null) {
+            mask = scan(mask, names, filter.name);
+        }
+        if (filter.rollNo != null) {
+            mask = scan(mask, rollNos, filter.rollNo);
+        }
+        return mask;
+    }
+
+    private BitSet scan(BitSet mask, String[] column, String text) {
+        BitSet matching = new BitSet(rowCount);
+        if (mask == null) {
+            for (int row = 0; row < rowCount; row++) {
+                if (contains(column[row], text)) matching.set(row);
+            }
+        } else {
+            for (int row = mask.nextSetBit(0); row >= 0; row = mask.nextSetBit(row + 1)) {
+                if (contains(column[row], text)) matching.set(row);
+            }
+        }
+        return matching;
+    }
+
+    private static BitSet intersect(BitSet mask, BitSet rows) {
+        if (mask == null) {
+            return (BitSet) rows.clone();
+        }
+        mask.and(rows);
+        return mask;
+    }
+
+    /**
+     * First position in sortedMarks with marks &gt;= min
+     */
+    private int lowerBound(double min) {
+        int low = 0;
+        int high = sortedMarks.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedMarks[mid] < min) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    /**
+     * First position in sortedMarks with marks &gt; max
+     */
+    private int upperBound(double max) {
+        int low = 0;
+        int high = sortedMarks.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedMarks[mid] <= max) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private void sortByMarks() {
+        byMarks = sortRows(Comparator.comparingDouble(Student::getMarks));
+        sortedMarks = new double[byMarks.length];
+        for (int i = 0; i < byMarks.length; i++) {
+            sortedMarks[i] = rows[byMarks[i]].getMarks();
+        }
+    }
+
+    private int[] sortRows(Comparator<Student> order) {
+        Integer[] sorted = new Integer[rowCount];
+        for (int row = 0; row < sorted.length; row++) {
+            sorted[row] = row;
+        }
+        Arrays.sort(sorted, (a, b) -> order.compare(rows[a], rows[b]));
+        int[] permutation = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            permutation[i] = sorted[i];
+        }
+        return permutation;
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean contains(String lowerValue, String lowerText) {
+        return lowerValue != null && lowerValue.contains(lowerText);
+    }
+
+    /**
+     * Criteria for selecting students
+     *
+     * Text criteria match case-insensitive substrings, like the DAO's LIKE
+     * searches; the marks range is inclusive; the grade must match exactly.
+     * Unset criteria match every student. Filters are immutable.
+     */
+    public static class Filter implements Predicate<Student> {
+        private static final Filter ALL = new Filter(null, null, null, null,
+                                                     Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+        private final String name;
+        private final String rollNo;
+        private final String department;
+        private final String grade;
+        private final double minMarks;
+        private final double maxMarks;
+
+        private Filter(String name, String rollNo, String department, String grade, double minMarks, double maxMarks) {
+            this.name = name;
+            this.rollNo = rollNo;
+            this.department = department;
+            this.grade = grade;
+            this.minMarks = minMarks;
+            this.maxMarks = maxMarks;
+        }
+
+        /**
+         * Creates a filter that matches every student
+         * @return Empty filter
+         */
+        public static Filter all() {
+            return ALL;
+        }
+
+        /**
+         * Returns a copy that also requires the name to contain the text
+         * @param text Text to look for, ignoring case
+         * @return New filter
+         */
+        public Filter withName(String text) {
+            return new Filter(lower(text), rollNo, department, grade, minMarks, maxMarks);
+        }
+
+        /**
+         * Returns a copy that also requires the roll number to contain the text
+         * @param text Text to look for, ignoring case
+         * @return New filter
+         */
+        public Filter withRollNo(String text) {
+            return new Filter(name, lower(text), department, grade, minMarks, maxMarks);
+        }
+
+        /**
+         * Returns a copy that also requires the department to contain the text
+         * @param text Text to look for, ignoring case
+         * @return New filter
+         */
+        public Filter withDepartment(String text) {
+            return new Filter(name, rollNo, lower(text), grade, minMarks, maxMarks);
+        }
+
+        /**
+         * Returns a copy that also requires the given grade
+         * @param grade Letter grade under the default grade policy
+         * @return New filter
+         */
+        public Filter withGrade(String grade) {
+            return new Filter(name, rollNo, department, grade, minMarks, maxMarks);
+        }
+
+        /**
+         * Returns a copy that also requires marks within a range
+         * @param min Lowest marks, inclusive
+         * @param max Highest marks, inclusive
+         * @return New filter
+         */
+        public Filter withMarksRange(double min, double max) {
+            return new Filter(name, rollNo, department, grade, min, max);
+        }
+
+        /**
+         * Checks whether the filter matches every student
+         * @return true if no criteria are set
+         */
+        public boolean isEmpty() {
+            return name == null && rollNo == null && department == null && grade == null
+                   && minMarks == Double.NEGATIVE_INFINITY && maxMarks == Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * Checks a single student against the criteria
+         *
+         * @param student Student to check
+         * @return true if the student matches
+         */
+        @Override
+        public boolean test(Student student) {
+            return (name == null || contains(lower(student.getName()), name))
+                   && (rollNo == null || contains(lower(student.getRollNo()), rollNo))
+                   && (department == null || contains(lower(student.getDepartment()), department))
+                   && (grade == null || grade.equals(student.getGrade()))
+                   && student.getMarks() >= minMarks && student.getMarks() <= maxMarks;
+        }
+    }
+}
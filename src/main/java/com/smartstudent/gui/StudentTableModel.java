@@ -0,0 +1,908 @@
+/**
+ * Student Table Model Class
+ *
+ * Read-only table model for the main student table. Cells are derived
+ * from Student objects only when the table asks for them, so display
+ * strings such as formatted marks exist only for the rows on screen.
+ *
+ * The model works in one of two modes:
+ * - List mode shows an in-memory list, such as search results
+ * - Paged mode shows a table of known size whose rows are fetched in
+ *   pages as the user scrolls; a bounded number of pages is cached and
+ *   the least recently used page is dropped first
+ *
+ * In paged mode a row whose page is not loaded yet shows a placeholder
+ * and its page is fetched on a background thread; the rows are repainted
+ * when it arrives. Pages requested before the model was last reset are
+ * discarded.
+ *
+ * Both modes can be sorted by a {@link SortSpec}. In list mode the loaded
+ * rows are sorted, and narrowed by a filter, without a database query:
+ * the model keeps every loaded row and shows a view selected through a
+ * {@link StudentIndex}, which is built on first use and then patched as
+ * single rows change. In paged mode the page source sorts on the server and the
+ * model only needs to know the order to place changed rows.
+ *
+ * The rows in the view, or any selection of them, can be handed to an
+ * export as a {@link StudentSource}. Rows held in memory are copied when
+ * the source is created, so the export sees the table as it was even if
+ * the table changes while it runs; in paged mode the rows that are not
+ * cached are fetched by the export itself.
+ *
+ * In list mode the model can also report statistics of the rows in the
+ * view. They are computed on first request and then kept up to date: a
+ * new view filter adds and removes only the students that enter or leave
+ * the view, found by comparing the index's row sets for the two filters,
+ * and a single-row change adjusts them by that student.
+ *
+ * Single students can be inserted, updated and removed after a database
+ * write without reloading: the row is found by binary search in the
+ * model's sort order and only that row's change is fired. In paged mode
+ * cached pages are shifted in memory; pages that cannot be shifted are
+ * dropped and fetched again when painted.
+ *
+ * All methods must be called on the Event Dispatch Thread.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.gui;
+
+import com.smartstudent.dao.SortSpec;
+import com.smartstudent.dao.StudentSource;
+import com.smartstudent.model.Student;
+import com.smartstudent.util.GradeCalculator;
+import com.smartstudent.util.RunningStatistics;
+
+import javax.swing.SwingWorker;
+import javax.swing.table.AbstractTableModel;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+public class StudentTableModel extends AbstractTableModel {
+    // Column layout
+    public static final String[] COLUMN_NAMES = {
+        "ID", "Name", "Roll No", "Department", "Email", "Phone", "Marks", "Grade", "Status"
+    };
+
+    // Rows fetched per page in paged mode
+    public static final int PAGE_SIZE = 200;
+
+    // Pages kept in memory in paged mode
+    public static final int MAX_CACHED_PAGES = 64;
+
+    // Order of the full table: name ignoring case, then id
+    public static final Comparator<Student> TABLE_ORDER =
+        Comparator.comparing(Student::getName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+                  .thenComparingInt(Student::getId);
+
+    // Sort column of each table column; grade and status follow marks
+    private static final SortSpec.Column[] SORT_COLUMNS = {
+        SortSpec.Column.ID, SortSpec.Column.NAME, SortSpec.Column.ROLL_NO, SortSpec.Column.DEPARTMENT,
+        SortSpec.Column.EMAIL, SortSpec.Column.PHONE, SortSpec.Column.MARKS, SortSpec.Column.MARKS,
+        SortSpec.Column.MARKS
+    };
+
+    // Shown in the name column of rows still being fetched
+    private static final String LOADING = "Loading...";
+
+    /**
+     * Fetches pages of rows in paged mode
+     */
+    @FunctionalInterface
+    public interface PageSource {
+        /**
+         * Fetches rows in table order, off the Event Dispatch Thread
+         *
+         * @param offset Index of the first row
+         * @param limit Number of rows wanted
+         * @param previous Row just before the offset if it is cached, for keyset continuation; otherwise null
+         * @return Rows from the offset, fewer than limit at the end of the table
+         * @throws Exception if fetching fails
+         */
+        List<Student> fetch(int offset, int limit, Student previous) throws Exception;
+    }
+
+    // Fetches pages one at a time, in request order
+    private final ExecutorService pageLoader = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "table-page-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Least recently used page first
+    private final Map<Integer, List<Student>> pages = new LinkedHashMap<>(MAX_CACHED_PAGES * 2, 0.75f, true);
+    private final Set<Integer> pendingPages = new HashSet<>();
+    private List<Student> students = new ArrayList<>();
+    private Comparator<Student> order = TABLE_ORDER;
+    private Predicate<Student> filter = student -> true;
+
+    // List mode: every loaded row, in the order it was loaded in
+    private List<Student> roster = new ArrayList<>();
+    private Comparator<Student> rosterOrder = TABLE_ORDER;
+    private Predicate<Student> rosterFilter = student -> true;
+    // Index over the roster, built on first use and patched as the roster changes
+    private StudentIndex index;
+    private StudentIndex.Filter viewFilter = StudentIndex.Filter.all();
+    // Statistics of the view, once asked for, and the index rows they count
+    // (null when they were counted from the view, or the index has been rebuilt since)
+    private RunningStatistics viewStatistics;
+    private BitSet statisticsRows;
+
+    // Sort chosen by the user, or null for the order the rows came in
+    private SortSpec sort;
+    // One comparator per sort, so the index can reuse its permutations; a
+    // sort that starts descending is read from its ascending reverse
+    private final Map<SortSpec, Comparator<Student>> sortOrders = new HashMap<>();
+    private PageSource pageSource;
+    private Comparator<Student> pagedOrder = TABLE_ORDER;
+    private int pagedRowCount;
+    private volatile int generation;
+
+    /**
+     * Shows an in-memory list of all students in table order
+     *
+     * @param students Students sorted by {@link #TABLE_ORDER}
+     */
+    public void setStudents(List<Student> students) {
+        setStudents(students, TABLE_ORDER, student -> true);
+    }
+
+    /**
+     * Shows an in-memory list of students, such as search results
+     *
+     * The order and filter describe the list so that later inserts and
+     * updates land in the right place, or leave the list if they no
+     * longer match. The view filter is cleared; a sort chosen with
+     * {@link #setSort(SortSpec)} stays in effect.
+     *
+     * @param students Students sorted by the order
+     * @param order Order of the list
+     * @param filter Test for students that belong in the list
+     */
+    public void setStudents(List<Student> students, Comparator<Student> order, Predicate<Student> filter) {
+        reset();
+        this.roster = new ArrayList<>(students);
+        this.rosterOrder = order;
+        this.rosterFilter = filter;
+        applyView();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Shows a table of known size whose rows are fetched on demand
+     *
+     * Pages must be in {@link #TABLE_ORDER}.
+     *
+     * @param rowCount Number of rows in the table
+     * @param source Source of pages
+     */
+    public void setPaged(int rowCount, PageSource source) {
+        setPaged(rowCount, source, null);
+    }
+
+    /**
+     * Shows a table of known size whose rows are fetched on demand in a
+     * given order
+     *
+     * @param rowCount Number of rows in the table
+     * @param source Source of pages, sorted by the spec
+     * @param sort Order of the pages, or null for {@link #TABLE_ORDER}
+     */
+    public void setPaged(int rowCount, PageSource source, SortSpec sort) {
+        reset();
+        this.sort = sort;
+        this.pagedOrder = sort == null ? TABLE_ORDER : sortOrder(sort);
+        this.pageSource = source;
+        this.pagedRowCount = rowCount;
+        fireTableDataChanged();
+    }
+
+    /**
+     * Checks whether rows are fetched on demand
+     * @return true in paged mode
+     */
+    public boolean isPaged() {
+        return pageSource != null;
+    }
+
+    /**
+     * Gets the student shown in a row
+     *
+     * @param row Row index
+     * @return Student, or null if the row is still being fetched
+     */
+    public Student getStudentAt(int row) {
+        return studentAt(row);
+    }
+
+    // ==================== SORTING AND FILTERING ====================
+
+    /**
+     * Sorts the list
+     *
+     * In paged mode the order of the pages is fixed by their source; use
+     * {@link #setPaged(int, PageSource, SortSpec)} with a source sorted by
+     * the new spec instead.
+     *
+     * @param sort Sort to apply, or null for the order the rows came in
+     * @return false in paged mode, where the list was left unchanged
+     */
+    public boolean setSort(SortSpec sort) {
+        if (isPaged()) {
+            return false;
+        }
+        this.sort = sort;
+        applyView();
+        fireTableDataChanged();
+        return true;
+    }
+
+    /**
+     * Gets the sort chosen for the table
+     * @return Sort, or null if the rows are in the order they came in
+     */
+    public SortSpec getSort() {
+        return sort;
+    }
+
+    /**
+     * Gets the sort column behind a table column
+     *
+     * @param column Column index
+     * @return Sort column; grade and status sort by marks
+     */
+    public static SortSpec.Column getSortColumn(int column) {
+        return SORT_COLUMNS[column];
+    }
+
+    /**
+     * Shows only the loaded rows that match a filter
+     *
+     * @param viewFilter Filter to apply, or {@link StudentIndex.Filter#all()} to show every loaded row
+     * @return Number of rows shown, or -1 in paged mode, where filtering is not available
+     */
+    public int setViewFilter(StudentIndex.Filter viewFilter) {
+        if (isPaged()) {
+            return -1;
+        }
+        if (viewStatistics != null) {
+            updateViewStatistics(viewFilter);
+        }
+        this.viewFilter = viewFilter;
+        applyView();
+        fireTableDataChanged();
+        return students.size();
+    }
+
+    /**
+     * Gets statistics of the rows in the view, without a database query
+     *
+     * The first call counts the view; later calls return the counts as
+     * kept up to date since.
+     *
+     * @return Statistics of the shown students, or null in paged mode, where
+     *         only some rows are loaded
+     */
+    public GradeCalculator.Statistics getViewStatistics() {
+        if (isPaged()) {
+            return null;
+        }
+        if (viewStatistics == null) {
+            viewStatistics = new RunningStatistics();
+            for (Student student : students) {
+                viewStatistics.add(student);
+            }
+            statisticsRows = null;
+        }
+        return viewStatistics.toStatistics();
+    }
+
+    /**
+     * Moves the view statistics to a new view filter, counting only the
+     * students whose membership changes
+     */
+    private void updateViewStatistics(StudentIndex.Filter newFilter) {
+        if (index == null) {
+            index = new StudentIndex(roster, rosterOrder);
+        }
+        BitSet before = statisticsRows != null ? statisticsRows : index.rows(viewFilter);
+        BitSet after = index.rows(newFilter);
+        BitSet changed = (BitSet) before.clone();
+        changed.xor(after);
+        if (changed.cardinality() > after.cardinality()) {
+            // Fewer students to count afresh than to add and remove
+            viewStatistics.clear();
+            for (int row = after.nextSetBit(0); row >= 0; row = after.nextSetBit(row + 1)) {
+                viewStatistics.add(index.get(row));
+            }
+        } else {
+            for (int row = changed.nextSetBit(0); row >= 0; row = changed.nextSetBit(row + 1)) {
+                if (after.get(row)) {
+                    viewStatistics.add(index.get(row));
+                } else {
+                    viewStatistics.remove(index.get(row));
+                }
+            }
+        }
+        statisticsRows = after;
+    }
+
+    /**
+     * Rebuilds the shown rows from the roster, the view filter and the sort
+     */
+    private void applyView() {
+        if (viewFilter.isEmpty() && sort == null) {
+            // The roster already is the view
+            students = new ArrayList<>(roster);
+            order = rosterOrder;
+            filter = rosterFilter;
+            return;
+        }
+        if (index == null) {
+            index = new StudentIndex(roster, rosterOrder);
+        }
+        order = sort == null ? rosterOrder : sortOrder(sort);
+        if (sort != null && !sort.getKeys().get(0).isAscending() && sort.reversed().isReverseOf(sort)) {
+            // Read the ascending sort backwards, so both directions share one permutation
+            students = index.select(viewFilter, sortOrder(sort.reversed()), false);
+        } else {
+            students = index.select(viewFilter, order, true);
+        }
+        filter = viewFilter.isEmpty() ? rosterFilter : rosterFilter.and(viewFilter);
+    }
+
+    /**
+     * Applies a change to the roster, keeping it in its load order
+     *
+     * The index and the view statistics are patched by the same change.
+     * The index is dropped, to be built again on next use, only once most
+     * of its rows are removed ones.
+     *
+     * @param previous Student as currently in the roster, or as newly saved
+     * @param updated Student as saved, or null if deleted
+     */
+    private void patchRoster(Student previous, Student updated) {
+        int row = find(roster, previous, rosterOrder);
+        if (row >= 0) {
+            Student removed = roster.remove(row);
+            if (index != null) {
+                int indexRow = index.remove(removed);
+                if (statisticsRows != null && indexRow >= 0) {
+                    statisticsRows.clear(indexRow);
+                }
+            }
+            if (viewStatistics != null && viewFilter.test(removed)) {
+                viewStatistics.remove(removed);
+            }
+        }
+        if (updated != null && rosterFilter.test(updated)) {
+            roster.add(insertionPoint(roster, updated, rosterOrder), updated);
+            if (index != null) {
+                int indexRow = index.add(updated);
+                if (statisticsRows != null && viewFilter.test(updated)) {
+                    statisticsRows.set(indexRow);
+                }
+            }
+            if (viewStatistics != null && viewFilter.test(updated)) {
+                viewStatistics.add(updated);
+            }
+        }
+        if (index != null && index.getRemovedCount() > index.size()) {
+            index = null;
+            statisticsRows = null;
+        }
+    }
+
+    private Comparator<Student> sortOrder(SortSpec spec) {
+        return sortOrders.computeIfAbsent(spec, SortSpec::comparator);
+    }
+
+    // ==================== EXPORT SOURCES ====================
+
+    /**
+     * Gets the rows in the view, for exporting without a database query
+     *
+     * @return Source of the shown students in table order, or null in
+     *         paged mode; there, re-run the table's query in the order of
+     *         {@link #getSort()} instead
+     */
+    public StudentSource getViewSource() {
+        if (isPaged()) {
+            return null;
+        }
+        return StudentSource.of(new ArrayList<>(students));
+    }
+
+    /**
+     * Gets some of the rows in the view, such as the selected ones
+     *
+     * In paged mode the rows on cached pages are taken from memory and the
+     * others are fetched from the page source when the source is read, one
+     * run of consecutive rows at a time, continuing after the row before
+     * the run when it is known. The source may then be read on any thread.
+     *
+     * @param rows Row indexes in ascending order
+     * @return Source of the students in those rows, in row order
+     */
+    public StudentSource getRowsSource(int[] rows) {
+        if (!isPaged()) {
+            List<Student> selected = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                selected.add(students.get(row));
+            }
+            return StudentSource.of(selected);
+        }
+        Student[] cached = new Student[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            List<Student> page = pages.get(rows[i] / PAGE_SIZE);
+            int index = rows[i] % PAGE_SIZE;
+            cached[i] = page != null && index < page.size() ? page.get(index) : null;
+        }
+        PageSource source = pageSource;
+        return handler -> {
+            Student previous = null;
+            int previousRow = -1;
+            int i = 0;
+            while (i < rows.length) {
+                if (cached[i] != null) {
+                    handler.handle(cached[i]);
+                    previous = cached[i];
+                    previousRow = rows[i];
+                    i++;
+                    continue;
+                }
+                // Fetch the run of consecutive rows that are not cached
+                int end = i + 1;
+                while (end < rows.length && cached[end] == null && rows[end] == rows[end - 1] + 1) {
+                    end++;
+                }
+                Student after = previousRow == rows[i] - 1 ? previous : null;
+                int offset = rows[i];
+                int remaining = end - i;
+                while (remaining > 0) {
+                    List<Student> fetched = fetch(source, offset, Math.min(remaining, PAGE_SIZE), after);
+                    if (fetched.isEmpty()) {
+                        // Rows were deleted after the table was counted
+                        return;
+                    }
+                    for (Student student : fetched) {
+                        handler.handle(student);
+                    }
+                    after = fetched.get(fetched.size() - 1);
+                    offset += fetched.size();
+                    remaining -= fetched.size();
+                }
+                previous = after;
+                previousRow = rows[end - 1];
+                i = end;
+            }
+        };
+    }
+
+    private static List<Student> fetch(PageSource source, int offset, int limit, Student previous)
+            throws SQLException, IOException {
+        try {
+            return source.fetch(offset, limit, previous);
+        } catch (SQLException | IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Could not fetch rows " + offset + "-" + (offset + limit - 1), e);
+        }
+    }
+
+    // ==================== ROW UPDATES ====================
+
+    /**
+     * Adds a newly saved student at its position in the sort order
+     *
+     * In paged mode the position is only known if it falls within the
+     * cached pages; otherwise the model is left unchanged and the caller
+     * should reload it.
+     *
+     * @param student Saved student, with its database id
+     * @return Row of the student, or -1 if it is not shown or its position is unknown
+     */
+    public int insertStudent(Student student) {
+        if (!isPaged()) {
+            patchRoster(student, student);
+        }
+        return insertRow(student);
+    }
+
+    private int insertRow(Student student) {
+        if (!filter.test(student)) {
+            return -1;
+        }
+        if (isPaged()) {
+            return insertPaged(student);
+        }
+        int existing = find(students, student, order);
+        if (existing >= 0) {
+            // Already picked up by a reload
+            return updateRow(students.get(existing), student);
+        }
+        int row = insertionPoint(students, student, order);
+        students.add(row, student);
+        fireTableRowsInserted(row, row);
+        return row;
+    }
+
+    /**
+     * Replaces a student after an update, moving its row if its position
+     * in the sort order changed
+     *
+     * @param previous Student as currently shown
+     * @param updated Student as saved
+     * @return Row of the updated student, or -1 if it is not shown or its position is unknown
+     */
+    public int updateStudent(Student previous, Student updated) {
+        if (!isPaged()) {
+            patchRoster(previous, updated);
+        }
+        return updateRow(previous, updated);
+    }
+
+    private int updateRow(Student previous, Student updated) {
+        int row = indexOf(previous);
+        if (row < 0) {
+            // In paged mode the old row may still be on an uncached page
+            return isPaged() ? -1 : insertRow(updated);
+        }
+        if (!filter.test(updated)) {
+            removeRow(row);
+            return -1;
+        }
+        if (isPaged()) {
+            if (pagedOrder.compare(previous, updated) != 0) {
+                removeRow(row);
+                return insertPaged(updated);
+            }
+            pages.get(row / PAGE_SIZE).set(row % PAGE_SIZE, updated);
+        } else {
+            boolean inOrder = (row == 0 || order.compare(students.get(row - 1), updated) <= 0)
+                && (row == students.size() - 1 || order.compare(updated, students.get(row + 1)) <= 0);
+            if (!inOrder) {
+                removeRow(row);
+                return insertRow(updated);
+            }
+            students.set(row, updated);
+        }
+        fireTableRowsUpdated(row, row);
+        return row;
+    }
+
+    /**
+     * Removes a deleted student
+     *
+     * @param student Student as currently shown
+     * @return true if the student was found and removed; false if it is not
+     *         shown or, in paged mode, not in the cached pages
+     */
+    public boolean removeStudent(Student student) {
+        if (!isPaged()) {
+            patchRoster(student, null);
+        }
+        int row = indexOf(student);
+        if (row < 0) {
+            return false;
+        }
+        removeRow(row);
+        return true;
+    }
+
+    /**
+     * Finds the row showing a student
+     *
+     * @param student Student to find, matched by id
+     * @return Row index, or -1 if it is not shown or not cached
+     */
+    public int indexOf(Student student) {
+        if (isPaged()) {
+            for (Map.Entry<Integer, List<Student>> entry : pages.entrySet()) {
+                int index = find(entry.getValue(), student, pagedOrder);
+                if (index >= 0) {
+                    return entry.getKey() * PAGE_SIZE + index;
+                }
+            }
+            return -1;
+        }
+        int index = find(students, student, order);
+        if (index < 0) {
+            // The list may not follow the comparator exactly (e.g. database collation)
+            for (int i = 0; i < students.size(); i++) {
+                if (students.get(i).getId() == student.getId()) return i;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Stops the page loader thread
+     */
+    public void shutdown() {
+        pageLoader.shutdownNow();
+    }
+
+    // ==================== TABLE MODEL ====================
+
+    @Override
+    public int getRowCount() {
+        return isPaged() ? pagedRowCount : students.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // Make table read-only
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Student student = studentAt(row);
+        if (student == null) {
+            return column == 1 ? LOADING : "";
+        }
+        switch (column) {
+            case 0: return student.getId();
+            case 1: return student.getName();
+            case 2: return student.getRollNo();
+            case 3: return student.getDepartment();
+            case 4: return student.getEmail();
+            case 5: return student.getPhone();
+            case 6: return String.format("%.2f", student.getMarks());
+            case 7: return student.getGrade();
+            case 8: return student.isPassed() ? "Pass" : "Fail";
+            default: return null;
+        }
+    }
+
+    // ==================== PAGING ====================
+
+    private Student studentAt(int row) {
+        if (!isPaged()) {
+            return row < students.size() ? students.get(row) : null;
+        }
+        int page = row / PAGE_SIZE;
+        List<Student> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null;
+        }
+        // A short page means rows were deleted after the table was counted
+        int index = row % PAGE_SIZE;
+        return index < rows.size() ? rows.get(index) : null;
+    }
+
+    private void requestPage(int page) {
+        if (!pendingPages.add(page)) {
+            return;
+        }
+        int requestGeneration = generation;
+        PageSource source = pageSource;
+        int offset = page * PAGE_SIZE;
+        List<Student> before = page > 0 ? pages.get(page - 1) : null;
+        Student previous = before != null && before.size() == PAGE_SIZE ? before.get(PAGE_SIZE - 1) : null;
+
+        pageLoader.execute(new SwingWorker<List<Student>, Void>() {
+            @Override
+            protected List<Student> doInBackground() throws Exception {
+                if (requestGeneration != generation) {
+                    return null; // model was reset while this request waited
+                }
+                return source.fetch(offset, PAGE_SIZE, previous);
+            }
+
+            @Override
+            protected void done() {
+                if (requestGeneration != generation) {
+                    return;
+                }
+                pendingPages.remove(page);
+                try {
+                    storePage(page, get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    // Left unloaded; the page is requested again the next time it is painted
+                    System.err.println("Error loading table rows " + offset + "-" + (offset + PAGE_SIZE - 1)
+                                       + ": " + e.getCause().getMessage());
+                }
+            }
+        });
+    }
+
+    private void storePage(int page, List<Student> rows) {
+        pages.put(page, new ArrayList<>(rows));
+        if (pages.size() > MAX_CACHED_PAGES) {
+            Integer eldest = pages.keySet().iterator().next();
+            pages.remove(eldest);
+        }
+        int first = page * PAGE_SIZE;
+        int last = Math.min(first + PAGE_SIZE, pagedRowCount) - 1;
+        if (first <= last) {
+            fireTableRowsUpdated(first, last);
+        }
+    }
+
+    /**
+     * Inserts into the cached pages, shifting the rows after it down by one
+     */
+    private int insertPaged(Student student) {
+        int row = pagedInsertionPoint(student);
+        if (row < 0) {
+            return -1;
+        }
+        pagedRowCount++;
+        int page = row / PAGE_SIZE;
+        List<Student> rows = pages.get(page);
+        rows.add(row % PAGE_SIZE, student);
+        // Carry each page's overflow into the next one while the next one is cached
+        while (rows.size() > PAGE_SIZE) {
+            Student carry = rows.remove(PAGE_SIZE);
+            rows = pages.get(++page);
+            if (rows == null) {
+                invalidatePagesFrom(page);
+                break;
+            }
+            rows.add(0, carry);
+        }
+        cancelPendingPages();
+        fireTableRowsInserted(row, row);
+        return row;
+    }
+
+    /**
+     * Finds where a student belongs among the cached pages
+     *
+     * @return Row index, or -1 if the student falls outside the cached pages
+     */
+    private int pagedInsertionPoint(Student student) {
+        int lastPage = (pagedRowCount - 1) / PAGE_SIZE;
+        // Iterate over a copy: lookups reorder the access-ordered map
+        for (Map.Entry<Integer, List<Student>> entry : new ArrayList<>(pages.entrySet())) {
+            int page = entry.getKey();
+            List<Student> rows = entry.getValue();
+            if (rows.isEmpty()) {
+                continue;
+            }
+            int first = page * PAGE_SIZE;
+            if (pagedOrder.compare(student, rows.get(0)) < 0) {
+                if (page == 0) return 0;
+                continue;
+            }
+            if (pagedOrder.compare(student, rows.get(rows.size() - 1)) <= 0 || page == lastPage) {
+                return first + insertionPoint(rows, student, pagedOrder);
+            }
+            // Between this page and the next one
+            List<Student> next = pages.get(page + 1);
+            if (next != null && !next.isEmpty() && pagedOrder.compare(student, next.get(0)) < 0) {
+                return first + rows.size();
+            }
+        }
+        return -1;
+    }
+
+    private void removeRow(int row) {
+        if (!isPaged()) {
+            students.remove(row);
+            fireTableRowsDeleted(row, row);
+            return;
+        }
+        int page = row / PAGE_SIZE;
+        int lastPage = (pagedRowCount - 1) / PAGE_SIZE;
+        List<Student> rows = pages.get(page);
+        rows.remove(row % PAGE_SIZE);
+        pagedRowCount--;
+        // Pull each next page's first row up while the next one is cached
+        while (page < lastPage) {
+            List<Student> next = pages.get(page + 1);
+            if (next == null || next.isEmpty()) {
+                invalidatePagesFrom(page);
+                break;
+            }
+            rows.add(next.remove(0));
+            page++;
+            rows = next;
+        }
+        cancelPendingPages();
+        fireTableRowsDeleted(row, row);
+    }
+
+    /**
+     * Drops the cached pages from a page onwards
+     */
+    private void invalidatePagesFrom(int page) {
+        Iterator<Integer> it = pages.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next() >= page) it.remove();
+        }
+        cancelPendingPages();
+    }
+
+    /**
+     * Discards fetches in flight, whose offsets no longer match the rows
+     */
+    private void cancelPendingPages() {
+        if (!pendingPages.isEmpty()) {
+            generation++;
+            pendingPages.clear();
+        }
+    }
+
+    /**
+     * Binary search for a student, matched by id among equal keys
+     */
+    private static int find(List<Student> rows, Student student, Comparator<Student> order) {
+        int index = Collections.binarySearch(rows, student, order);
+        if (index < 0) {
+            return -1;
+        }
+        // Equal keys may sit on either side of the hit
+        for (int i = index; i >= 0 && order.compare(rows.get(i), student) == 0; i--) {
+            if (rows.get(i).getId() == student.getId()) return i;
+        }
+        for (int i = index + 1; i < rows.size() && order.compare(rows.get(i), student) == 0; i++) {
+            if (rows.get(i).getId() == student.getId()) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Position after all rows ordered before or equal to the student
+     */
+    private static int insertionPoint(List<Student> rows, Student student, Comparator<Student> rowOrder) {
+        int low = 0;
+        int high = rows.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (rowOrder.compare(rows.get(mid), student) <= 0) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private void reset() {
+        generation++;
+        pages.clear();
+        pendingPages.clear();
+        pageSource = null;
+        pagedOrder = TABLE_ORDER;
+        pagedRowCount = 0;
+        students = new ArrayList<>();
+        order = TABLE_ORDER;
+        filter = student -> true;
+        roster = new ArrayList<>();
+        rosterOrder = TABLE_ORDER;
+        rosterFilter = student -> true;
+        index = null;
+        viewFilter = StudentIndex.Filter.all();
+        viewStatistics = null;
+        statisticsRows = null;
+    }
+}
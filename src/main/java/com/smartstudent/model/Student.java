@@ -18,6 +18,8 @@
  */
 package com.smartstudent.model;
 
+import com.smartstudent.util.GradePolicy;
+
 import java.time.LocalDateTime;
 
 public class Student {
@@ -196,36 +198,27 @@ public class Student {
     // ==================== UTILITY METHODS ====================
     
     /**
-     * Calculates and returns the grade based on marks
+     * Returns the grade for the student's marks
      * 
-     * Grade Scale:
-     * - A+: 90-100 marks
-     * - A:  80-89 marks
-     * - B:  70-79 marks
-     * - C:  60-69 marks
-     * - D:  50-59 marks
-     * - F:  0-49 marks
+     * The grade bands come from the configured {@link GradePolicy}
+     * (standard scale: A+ 90, A 80, B 70, C 60, D 50, F below 50).
      * 
-     * @return Grade string (A+, A, B, C, D, or F)
+     * @return Grade string (e.g. A+, A, B, C, D, or F)
      */
     public String getGrade() {
-        if (marks >= 90) return "A+";
-        else if (marks >= 80) return "A";
-        else if (marks >= 70) return "B";
-        else if (marks >= 60) return "C";
-        else if (marks >= 50) return "D";
-        else return "F";
+        return GradePolicy.getDefault().gradeFor(marks);
     }
 
     /**
      * Determines if the student has passed based on marks
      * 
-     * Passing criteria: 50 marks or above
+     * Passing criteria come from the configured {@link GradePolicy}
+     * (standard scale: 50 marks or above).
      * 
      * @return true if student passed, false otherwise
      */
     public boolean isPassed() {
-        return marks >= 50;
+        return GradePolicy.getDefault().isPassed(marks);
     }
 
     // ==================== OVERRIDE METHODS ====================
@@ -0,0 +1,444 @@
+/**
+ * Off-Heap Student Store Class
+ *
+ * Holds student records outside the Java heap so very large rosters can be
+ * cached and indexed without long garbage collection pauses. Numeric
+ * fields live in fixed-width slots and string fields in a packed UTF-8
+ * arena, both in pages of direct memory. Records are read through
+ * reusable {@link StudentView} flyweights instead of Student objects.
+ *
+ * Slot layout (72 bytes):
+ * - id (int), flags (int), marks (double)
+ * - created_at and updated_at as epoch milliseconds (longs)
+ * - name, roll no, department, email and phone as packed arena references
+ *   (arena offset in the high bits, length + 1 in the low 20 bits, 0 for null)
+ *
+ * Removed slots are reused by later additions, so slot numbers are only
+ * stable while their record is stored. Updated and removed strings leave
+ * dead bytes in the arena; once those outweigh the live strings, and are
+ * at least an arena page, the live strings are copied into a fresh arena
+ * so a long-running cache with edits stays proportional to what it holds.
+ *
+ * Features:
+ * - Paged direct memory that grows without copying
+ * - Roll number index using primitive arrays only
+ * - In-place numeric updates, append-only string updates
+ * - Removed slots reused; arena compacted when mostly dead
+ * - Allocation-free reads through flyweight views
+ *
+ * This class is not thread-safe; callers must synchronize writes with reads.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.store;
+
+import com.smartstudent.model.Student;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class OffHeapStudentStore {
+    // Slot layout
+    static final int SLOT_BYTES = 72;
+    static final int ID = 0;
+    static final int FLAGS = 4;
+    static final int MARKS = 8;
+    static final int CREATED_AT = 16;
+    static final int UPDATED_AT = 24;
+    static final int NAME = 32;
+    static final int ROLL_NO = 40;
+    static final int DEPARTMENT = 48;
+    static final int EMAIL = 56;
+    static final int PHONE = 64;
+    private static final int[] STRING_FIELDS = { NAME, ROLL_NO, DEPARTMENT, EMAIL, PHONE };
+
+    // Flag set on removed slots
+    private static final int FLAG_REMOVED = 1;
+
+    // String references: arena offset << LENGTH_BITS | (length + 1)
+    private static final int LENGTH_BITS = 20;
+    private static final long LENGTH_MASK = (1L << LENGTH_BITS) - 1;
+
+    // Page sizes for slots and the string arena
+    private static final int SLOTS_PER_PAGE = 1 << 16;
+    private static final int ARENA_PAGE_BYTES = 1 << 23;
+
+    private final List<ByteBuffer> slotPages = new ArrayList<>();
+    private final List<ByteBuffer> arenaPages = new ArrayList<>();
+    private int slotCount;
+    private int liveCount;
+    private long arenaUsed;
+    // Bytes of the arena referenced by stored records
+    private long arenaLive;
+
+    // Removed slots waiting to be reused, as a stack
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    // Roll number index: open addressing over slot + 1 (0 = empty)
+    private int[] rollNoIndex = new int[1 << 10];
+    private int indexedCount;
+
+    // ==================== WRITES ====================
+
+    /**
+     * Adds a student
+     *
+     * @param student Student to copy into the store
+     * @return Slot index of the new record, possibly one that was removed before
+     * @throws IllegalArgumentException if the roll number is already stored
+     */
+    public int add(Student student) {
+        if (student.getRollNo() != null && findByRollNo(student.getRollNo()) >= 0) {
+            throw new IllegalArgumentException("Roll number already stored: " + student.getRollNo());
+        }
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == slotPages.size() * SLOTS_PER_PAGE) {
+                slotPages.add(ByteBuffer.allocateDirect(SLOTS_PER_PAGE * SLOT_BYTES));
+            }
+            slot = slotCount++;
+        }
+        liveCount++;
+        write(slot, student);
+        index(slot);
+        return slot;
+    }
+
+    /**
+     * Replaces the fields of a stored student
+     *
+     * Numeric fields are overwritten in place; string fields are appended
+     * to the arena, leaving the old bytes for {@link #compact()}. The roll
+     * number must not change.
+     *
+     * @param slot Slot index
+     * @param student New field values
+     * @throws IllegalArgumentException if the slot is removed or the roll number differs
+     */
+    public void update(int slot, Student student) {
+        if (isRemoved(slot)) {
+            throw new IllegalArgumentException("Slot " + slot + " has been removed");
+        }
+        if (!bytesEqual(ref(slot, ROLL_NO), student.getRollNo())) {
+            throw new IllegalArgumentException("Roll number cannot change on update");
+        }
+        releaseStrings(slot);
+        write(slot, student);
+        compactIfMostlyDead();
+    }
+
+    /**
+     * Removes a student
+     *
+     * The slot is marked removed, dropped from the roll number index and
+     * reused by a later {@link #add(Student)}.
+     *
+     * @param slot Slot index
+     */
+    public void remove(int slot) {
+        if (isRemoved(slot)) return;
+        unindex(slot);
+        releaseStrings(slot);
+        ByteBuffer page = slotPage(slot);
+        int base = slotBase(slot);
+        page.putInt(base + FLAGS, page.getInt(base + FLAGS) | FLAG_REMOVED);
+        liveCount--;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+        compactIfMostlyDead();
+    }
+
+    /**
+     * Copies the strings of every stored record into a fresh arena,
+     * dropping the bytes of updated and removed strings
+     *
+     * Called automatically once dead bytes outweigh live ones; slot
+     * numbers and views are unaffected.
+     */
+    public void compact() {
+        List<ByteBuffer> oldPages = new ArrayList<>(arenaPages);
+        arenaPages.clear();
+        arenaUsed = 0;
+        arenaLive = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            ByteBuffer page = slotPage(slot);
+            int base = slotBase(slot);
+            boolean removed = (page.getInt(base + FLAGS) & FLAG_REMOVED) != 0;
+            for (int field : STRING_FIELDS) {
+                long ref = page.getLong(base + field);
+                // Removed slots keep no strings; they are rewritten when reused
+                page.putLong(base + field, removed || ref == 0 ? 0 : appendBytes(readBytes(oldPages, ref)));
+            }
+        }
+    }
+
+    /**
+     * Gets the arena bytes no stored record refers to any more
+     * @return Dead string bytes, reclaimed by {@link #compact()}
+     */
+    public long deadArenaBytes() {
+        return arenaUsed - arenaLive;
+    }
+
+    private void compactIfMostlyDead() {
+        long dead = deadArenaBytes();
+        if (dead >= ARENA_PAGE_BYTES && dead > arenaLive) {
+            compact();
+        }
+    }
+
+    private void releaseStrings(int slot) {
+        for (int field : STRING_FIELDS) {
+            long ref = ref(slot, field);
+            if (ref != 0) {
+                arenaLive -= (ref & LENGTH_MASK) - 1;
+            }
+        }
+    }
+
+    private void write(int slot, Student student) {
+        ByteBuffer page = slotPage(slot);
+        int base = slotBase(slot);
+        page.putInt(base + ID, student.getId());
+        page.putInt(base + FLAGS, 0);
+        page.putDouble(base + MARKS, student.getMarks());
+        page.putLong(base + CREATED_AT, RosterStore.toMillis(student.getCreatedAt()));
+        page.putLong(base + UPDATED_AT, RosterStore.toMillis(student.getUpdatedAt()));
+        page.putLong(base + NAME, appendString(student.getName()));
+        page.putLong(base + ROLL_NO, appendString(student.getRollNo()));
+        page.putLong(base + DEPARTMENT, appendString(student.getDepartment()));
+        page.putLong(base + EMAIL, appendString(student.getEmail()));
+        page.putLong(base + PHONE, appendString(student.getPhone()));
+    }
+
+    private long appendString(String value) {
+        return value == null ? 0 : appendBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private long appendBytes(byte[] bytes) {
+        if (bytes.length >= LENGTH_MASK) {
+            throw new IllegalArgumentException("String field too long: " + bytes.length + " bytes");
+        }
+        int pageIndex = (int) (arenaUsed / ARENA_PAGE_BYTES);
+        int offsetInPage = (int) (arenaUsed % ARENA_PAGE_BYTES);
+        if (offsetInPage + bytes.length > ARENA_PAGE_BYTES) {
+            // Strings never span pages: continue at the start of the next page
+            pageIndex++;
+            offsetInPage = 0;
+            arenaUsed = (long) pageIndex * ARENA_PAGE_BYTES;
+        }
+        while (pageIndex >= arenaPages.size()) {
+            arenaPages.add(ByteBuffer.allocateDirect(ARENA_PAGE_BYTES));
+        }
+        ByteBuffer page = arenaPages.get(pageIndex).duplicate();
+        page.position(offsetInPage);
+        page.put(bytes);
+        long address = arenaUsed;
+        arenaUsed += bytes.length;
+        arenaLive += bytes.length;
+        return (address << LENGTH_BITS) | (bytes.length + 1);
+    }
+
+    // ==================== READS ====================
+
+    /**
+     * Gets the number of slots, including removed ones
+     * @return Slot count
+     */
+    public int slotCount() { return slotCount; }
+
+    /**
+     * Gets the number of stored (not removed) students
+     * @return Live record count
+     */
+    public int size() { return liveCount; }
+
+    /**
+     * Checks whether a slot has been removed
+     * @param slot Slot index
+     * @return true if removed
+     */
+    public boolean isRemoved(int slot) {
+        return (slotPage(slot).getInt(slotBase(slot) + FLAGS) & FLAG_REMOVED) != 0;
+    }
+
+    /**
+     * Creates a flyweight view for reading records
+     *
+     * One view can be moved across any number of slots; reading numeric
+     * fields through it allocates nothing.
+     *
+     * @return New view; call {@link StudentView#moveTo(int)} before reading
+     */
+    public StudentView view() {
+        return new StudentView(this);
+    }
+
+    /**
+     * Finds a student by roll number
+     *
+     * @param rollNo Roll number to look up
+     * @return Slot index, or -1 if not stored
+     */
+    public int findByRollNo(String rollNo) {
+        if (rollNo == null) return -1;
+        byte[] key = rollNo.getBytes(StandardCharsets.UTF_8);
+        int mask = rollNoIndex.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            int entry = rollNoIndex[i];
+            if (entry == 0) return -1;
+            if (bytesEqual(ref(entry - 1, ROLL_NO), key)) return entry - 1;
+        }
+    }
+
+    /**
+     * Gets the direct memory reserved by the store
+     * @return Off-heap bytes allocated for slots and strings
+     */
+    public long offHeapBytes() {
+        return (long) slotPages.size() * SLOTS_PER_PAGE * SLOT_BYTES
+             + (long) arenaPages.size() * ARENA_PAGE_BYTES;
+    }
+
+    // ==================== PACKAGE ACCESS FOR VIEWS ====================
+
+    ByteBuffer slotPage(int slot) {
+        if (slot < 0 || slot >= slotCount) {
+            throw new IndexOutOfBoundsException("Slot " + slot + " of " + slotCount);
+        }
+        return slotPages.get(slot / SLOTS_PER_PAGE);
+    }
+
+    static int slotBase(int slot) {
+        return (slot % SLOTS_PER_PAGE) * SLOT_BYTES;
+    }
+
+    long ref(int slot, int field) {
+        return slotPage(slot).getLong(slotBase(slot) + field);
+    }
+
+    String decode(long ref) {
+        if (ref == 0) return null;
+        return new String(readBytes(arenaPages, ref), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(List<ByteBuffer> pages, long ref) {
+        int length = (int) (ref & LENGTH_MASK) - 1;
+        long address = ref >>> LENGTH_BITS;
+        ByteBuffer page = pages.get((int) (address / ARENA_PAGE_BYTES)).duplicate();
+        page.position((int) (address % ARENA_PAGE_BYTES));
+        byte[] bytes = new byte[length];
+        page.get(bytes);
+        return bytes;
+    }
+
+    // ==================== ROLL NUMBER INDEX ====================
+
+    private void index(int slot) {
+        long ref = ref(slot, ROLL_NO);
+        if (ref == 0) return;
+        if ((indexedCount + 1) * 2 > rollNoIndex.length) {
+            rollNoIndex = new int[rollNoIndex.length * 2];
+            indexedCount = 0;
+            for (int s = 0; s < slotCount; s++) {
+                if (s != slot && !isRemoved(s) && ref(s, ROLL_NO) != 0) {
+                    insertIndex(s);
+                }
+            }
+        }
+        insertIndex(slot);
+    }
+
+    private void insertIndex(int slot) {
+        int mask = rollNoIndex.length - 1;
+        int i = hashRef(ref(slot, ROLL_NO)) & mask;
+        while (rollNoIndex[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        rollNoIndex[i] = slot + 1;
+        indexedCount++;
+    }
+
+    /**
+     * Removes a slot from the index using backward-shift deletion, so
+     * lookups never need tombstones
+     */
+    private void unindex(int slot) {
+        if (ref(slot, ROLL_NO) == 0) return;
+        int mask = rollNoIndex.length - 1;
+        int start = hashRef(ref(slot, ROLL_NO));
+        int hole = -1;
+        for (int i = 0; i < rollNoIndex.length; i++) {
+            int probe = (start + i) & mask;
+            if (rollNoIndex[probe] == 0) return;
+            if (rollNoIndex[probe] == slot + 1) {
+                hole = probe;
+                break;
+            }
+        }
+        if (hole < 0) return;
+
+        int j = hole;
+        while (true) {
+            j = (j + 1) & mask;
+            if (rollNoIndex[j] == 0) break;
+            int home = hashRef(ref(rollNoIndex[j] - 1, ROLL_NO)) & mask;
+            boolean homeBetween = hole <= j ? (hole < home && home <= j) : (hole < home || home <= j);
+            if (!homeBetween) {
+                rollNoIndex[hole] = rollNoIndex[j];
+                hole = j;
+            }
+        }
+        rollNoIndex[hole] = 0;
+        indexedCount--;
+    }
+
+    private int hashRef(long ref) {
+        int length = (int) (ref & LENGTH_MASK) - 1;
+        long address = ref >>> LENGTH_BITS;
+        ByteBuffer page = arenaPages.get((int) (address / ARENA_PAGE_BYTES));
+        int start = (int) (address % ARENA_PAGE_BYTES);
+        int h = 1;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + page.get(start + i);
+        }
+        return mix(h);
+    }
+
+    private static int hash(byte[] key) {
+        return mix(Arrays.hashCode(key));
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private boolean bytesEqual(long ref, String value) {
+        if (ref == 0 || value == null) return ref == 0 && value == null;
+        return bytesEqual(ref, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private boolean bytesEqual(long ref, byte[] key) {
+        if (ref == 0) return false;
+        int length = (int) (ref & LENGTH_MASK) - 1;
+        if (length != key.length) return false;
+        long address = ref >>> LENGTH_BITS;
+        ByteBuffer page = arenaPages.get((int) (address / ARENA_PAGE_BYTES));
+        int start = (int) (address % ARENA_PAGE_BYTES);
+        for (int i = 0; i < length; i++) {
+            if (page.get(start + i) != key[i]) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,446 @@
+/**
+ * Roster Binary Format Class
+ *
+ * Compact columnar file format for roster backups and for moving rosters
+ * between instances. Each column of a RosterStore is written as one block
+ * in the same layout it has in memory, so reading a file back is mostly
+ * bulk array copies, with no text parsing or number formatting.
+ *
+ * File layout (big-endian):
+ * - Header: magic, schema version, row count, block count, reserved,
+ *   CRC32 of the preceding header fields
+ * - Blocks: type, payload length, payload, CRC32 of the payload
+ *
+ * Block payloads:
+ * - IDS, CREATED_AT, UPDATED_AT: one int or long per row
+ * - MARKS: encoding byte, then either int hundredths (when every value
+ *   has at most two decimals, as DECIMAL(5,2) marks do) or doubles
+ * - DEPARTMENTS: dictionary size, id width in bytes (1, 2 or 4), the
+ *   dictionary as length-prefixed UTF-8 strings, then one id per row
+ * - NAMES, ROLL_NOS, EMAILS, PHONES: offsets (rows + 1 ints), null bitmap
+ *   (word count and longs), then the packed UTF-8 bytes
+ *
+ * Readers skip block types they do not know, so blocks can be added
+ * without a version change; the version changes only when an existing
+ * block's layout does.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.store;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32;
+
+public class RosterBinaryFormat {
+    // File identification
+    private static final int MAGIC = 0x53535242; // "SSRB"
+    private static final int VERSION = 1;
+
+    // Header: magic, version, rows, blocks, reserved, header CRC32
+    private static final int HEADER_BYTES = 24;
+
+    // Block types
+    private static final int BLOCK_IDS = 1;
+    private static final int BLOCK_MARKS = 2;
+    private static final int BLOCK_DEPARTMENTS = 3;
+    private static final int BLOCK_CREATED_AT = 4;
+    private static final int BLOCK_UPDATED_AT = 5;
+    private static final int BLOCK_NAMES = 6;
+    private static final int BLOCK_ROLL_NOS = 7;
+    private static final int BLOCK_EMAILS = 8;
+    private static final int BLOCK_PHONES = 9;
+    private static final int BLOCK_COUNT = 9;
+
+    // Marks encodings
+    private static final byte MARKS_HUNDREDTHS = 1;
+    private static final byte MARKS_DOUBLE = 2;
+
+    private RosterBinaryFormat() {
+    }
+
+    // ==================== WRITING ====================
+
+    /**
+     * Writes a roster to a file
+     *
+     * The file is written to a temporary file next to the target and then
+     * moved into place, so an interrupted backup never replaces a good one.
+     *
+     * @param roster Roster to write
+     * @param path Destination file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(RosterStore roster, Path path) throws IOException {
+        write(roster, path, rows -> { });
+    }
+
+    /**
+     * Writes a roster to a file, reporting progress as blocks are written
+     *
+     * Columns are written whole, so each block advances the progress by an
+     * equal share of the rows, adding up to the row count once the last
+     * block is written. An exception thrown by the listener stops the write
+     * and leaves the target untouched.
+     *
+     * @param roster Roster to write
+     * @param path Destination file
+     * @param rowsWritten Called after each block with the rows it accounts for
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(RosterStore roster, Path path, LongConsumer rowsWritten) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        Path temp = Files.createTempFile(dir, "roster", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                int rows = roster.size();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(BLOCK_COUNT).putInt(0);
+                header.putInt((int) crc(header.array(), HEADER_BYTES - 4));
+                writeFully(channel, header.flip());
+
+                BlockProgress progress = new BlockProgress(rows, rowsWritten);
+                writeBlock(channel, BLOCK_IDS, intBlock(roster.idColumn(), rows));
+                progress.blockWritten();
+                writeBlock(channel, BLOCK_MARKS, marksBlock(roster.getMarksColumn(), rows));
+                progress.blockWritten();
+                writeBlock(channel, BLOCK_DEPARTMENTS, departmentBlock(roster, rows));
+                progress.blockWritten();
+                writeBlock(channel, BLOCK_CREATED_AT, longBlock(roster.createdAtColumn(), rows));
+                progress.blockWritten();
+                writeBlock(channel, BLOCK_UPDATED_AT, longBlock(roster.updatedAtColumn(), rows));
+                progress.blockWritten();
+                writeBlock(channel, BLOCK_NAMES, stringBlock(roster.nameColumn()));
+                progress.blockWritten();
+                writeBlock(channel, BLOCK_ROLL_NOS, stringBlock(roster.rollNoColumn()));
+                progress.blockWritten();
+                writeBlock(channel, BLOCK_EMAILS, stringBlock(roster.emailColumn()));
+                progress.blockWritten();
+                writeBlock(channel, BLOCK_PHONES, stringBlock(roster.phoneColumn()));
+                channel.force(false);
+                progress.blockWritten();
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Spreads the row count over the blocks of a file being written
+     */
+    private static class BlockProgress {
+        private final int rows;
+        private final LongConsumer listener;
+        private int blocks;
+        private long reported;
+
+        BlockProgress(int rows, LongConsumer listener) {
+            this.rows = rows;
+            this.listener = listener;
+        }
+
+        void blockWritten() {
+            blocks++;
+            long written = (long) rows * blocks / BLOCK_COUNT;
+            listener.accept(written - reported);
+            reported = written;
+        }
+    }
+
+    private static ByteBuffer intBlock(int[] values, int rows) {
+        ByteBuffer block = ByteBuffer.allocate(4 * rows);
+        block.asIntBuffer().put(values, 0, rows);
+        return block;
+    }
+
+    private static ByteBuffer longBlock(long[] values, int rows) {
+        ByteBuffer block = ByteBuffer.allocate(8 * rows);
+        block.asLongBuffer().put(values, 0, rows);
+        return block;
+    }
+
+    private static ByteBuffer marksBlock(double[] marks, int rows) {
+        int[] hundredths = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            double scaled = Math.rint(marks[row] * 100);
+            if (Math.abs(scaled) > Integer.MAX_VALUE || scaled / 100 != marks[row]) {
+                // Not exactly representable in hundredths: keep full precision
+                ByteBuffer block = ByteBuffer.allocate(1 + 8 * rows);
+                block.put(MARKS_DOUBLE);
+                block.slice().asDoubleBuffer().put(marks, 0, rows);
+                return block.rewind();
+            }
+            hundredths[row] = (int) scaled;
+        }
+        ByteBuffer block = ByteBuffer.allocate(1 + 4 * rows);
+        block.put(MARKS_HUNDREDTHS);
+        block.slice().asIntBuffer().put(hundredths);
+        return block.rewind();
+    }
+
+    private static ByteBuffer departmentBlock(RosterStore roster, int rows) {
+        String[] dictionary = roster.departmentDictionary();
+        byte[][] encoded = new byte[dictionary.length][];
+        int dictionaryBytes = 0;
+        for (int d = 0; d < dictionary.length; d++) {
+            encoded[d] = dictionary[d].getBytes(StandardCharsets.UTF_8);
+            dictionaryBytes += 4 + encoded[d].length;
+        }
+        int width = idWidth(dictionary.length);
+
+        ByteBuffer block = ByteBuffer.allocate(5 + dictionaryBytes + width * rows);
+        block.putInt(dictionary.length).put((byte) width);
+        for (byte[] name : encoded) {
+            block.putInt(name.length).put(name);
+        }
+        int[] ids = roster.getDepartmentIdColumn();
+        for (int row = 0; row < rows; row++) {
+            if (width == 1) block.put((byte) ids[row]);
+            else if (width == 2) block.putShort((short) ids[row]);
+            else block.putInt(ids[row]);
+        }
+        return block.rewind();
+    }
+
+    private static ByteBuffer stringBlock(StringColumn column) throws IOException {
+        int rows = column.size();
+        int[] offsets = column.offsets();
+        long[] nulls = column.nulls().toLongArray();
+        long bytes = 4L * (rows + 1) + 4 + 8L * nulls.length + offsets[rows];
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException("String column too large for a binary roster block");
+        }
+        ByteBuffer block = ByteBuffer.allocate((int) bytes);
+        block.asIntBuffer().put(offsets, 0, rows + 1);
+        block.position(4 * (rows + 1));
+        block.putInt(nulls.length);
+        block.asLongBuffer().put(nulls);
+        block.position(block.position() + 8 * nulls.length);
+        block.put(column.data(), 0, offsets[rows]);
+        return block.rewind();
+    }
+
+    private static void writeBlock(FileChannel channel, int type, ByteBuffer payload) throws IOException {
+        ByteBuffer prefix = ByteBuffer.allocate(8).putInt(type).putInt(payload.capacity());
+        writeFully(channel, prefix.flip());
+        writeFully(channel, payload.rewind());
+        ByteBuffer crc = ByteBuffer.allocate(4).putInt((int) crc(payload.array(), payload.capacity()));
+        writeFully(channel, crc.flip());
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    // ==================== READING ====================
+
+    /**
+     * Reads a roster from a file
+     *
+     * Every block checksum is verified before its data is used.
+     *
+     * @param path File written by {@link #write(RosterStore, Path)}
+     * @return Roster held in memory
+     * @throws IOException if the file is missing, corrupt or of an unsupported version
+     */
+    public static RosterStore read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = readFully(channel, HEADER_BYTES);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Not a binary roster file");
+            }
+            if ((int) crc(header.array(), HEADER_BYTES - 4) != header.getInt(HEADER_BYTES - 4)) {
+                throw new IOException("Corrupt binary roster header");
+            }
+            if (header.getInt(4) != VERSION) {
+                throw new IOException("Unsupported binary roster version: " + header.getInt(4));
+            }
+            int rows = header.getInt(8);
+            int blocks = header.getInt(12);
+            // Every row takes at least four bytes of the ids block, so a row
+            // count the rest of the file cannot hold is corrupt
+            if (rows < 0 || blocks < 0 || 4L * rows > channel.size() - channel.position()) {
+                throw new IOException("Corrupt binary roster header");
+            }
+
+            int[] ids = null;
+            double[] marks = null;
+            long[] createdAt = null;
+            long[] updatedAt = null;
+            int[] departmentIds = null;
+            String[][] departments = new String[1][];
+            StringColumn[] strings = new StringColumn[4];
+
+            for (int b = 0; b < blocks; b++) {
+                ByteBuffer prefix = readFully(channel, 8);
+                int type = prefix.getInt();
+                int length = prefix.getInt();
+                // Checked before allocating, so a damaged length cannot exhaust the heap
+                if (length < 0 || length > channel.size() - channel.position() - 4) {
+                    throw new IOException("Corrupt binary roster block length");
+                }
+                ByteBuffer payload = readFully(channel, length);
+                int expected = readFully(channel, 4).getInt();
+                if ((int) crc(payload.array(), length) != expected) {
+                    throw new IOException("Checksum mismatch in binary roster block " + type);
+                }
+
+                switch (type) {
+                    case BLOCK_IDS: ids = readInts(payload, rows); break;
+                    case BLOCK_MARKS: marks = readMarks(payload, rows); break;
+                    case BLOCK_DEPARTMENTS: departmentIds = readDepartments(payload, rows, departments); break;
+                    case BLOCK_CREATED_AT: createdAt = readLongs(payload, rows); break;
+                    case BLOCK_UPDATED_AT: updatedAt = readLongs(payload, rows); break;
+                    case BLOCK_NAMES: strings[0] = readStrings(payload, rows); break;
+                    case BLOCK_ROLL_NOS: strings[1] = readStrings(payload, rows); break;
+                    case BLOCK_EMAILS: strings[2] = readStrings(payload, rows); break;
+                    case BLOCK_PHONES: strings[3] = readStrings(payload, rows); break;
+                    default: break; // newer block this reader does not need
+                }
+            }
+
+            if (ids == null || marks == null || departmentIds == null || createdAt == null || updatedAt == null
+                    || strings[0] == null || strings[1] == null || strings[2] == null || strings[3] == null) {
+                throw new IOException("Binary roster file is missing a column block");
+            }
+            return new RosterStore(rows, ids, marks, createdAt, updatedAt, departmentIds, departments[0],
+                                   strings[0], strings[1], strings[2], strings[3]);
+        }
+    }
+
+    private static int[] readInts(ByteBuffer payload, int rows) throws IOException {
+        checkLength(payload, 4L * rows);
+        int[] values = new int[rows];
+        payload.asIntBuffer().get(values);
+        return values;
+    }
+
+    private static long[] readLongs(ByteBuffer payload, int rows) throws IOException {
+        checkLength(payload, 8L * rows);
+        long[] values = new long[rows];
+        payload.asLongBuffer().get(values);
+        return values;
+    }
+
+    private static double[] readMarks(ByteBuffer payload, int rows) throws IOException {
+        if (!payload.hasRemaining()) {
+            throw new IOException("Binary roster block has unexpected length");
+        }
+        byte encoding = payload.get();
+        ByteBuffer values = payload.slice();
+        double[] marks = new double[rows];
+        if (encoding == MARKS_HUNDREDTHS) {
+            int[] hundredths = readInts(values, rows);
+            for (int row = 0; row < rows; row++) {
+                marks[row] = hundredths[row] / 100.0;
+            }
+        } else if (encoding == MARKS_DOUBLE) {
+            checkLength(values, 8L * rows);
+            values.asDoubleBuffer().get(marks);
+        } else {
+            throw new IOException("Unknown marks encoding: " + encoding);
+        }
+        return marks;
+    }
+
+    private static int[] readDepartments(ByteBuffer payload, int rows, String[][] dictionaryOut) throws IOException {
+        try {
+            int count = payload.getInt();
+            int width = payload.get();
+            // Each dictionary entry has at least its length prefix
+            if (count < 0 || width != idWidth(count) || 4L * count > payload.remaining()) {
+                throw new IOException("Corrupt department dictionary");
+            }
+            String[] dictionary = new String[count];
+            for (int d = 0; d < count; d++) {
+                int length = payload.getInt();
+                dictionary[d] = new String(payload.array(), payload.position(), length, StandardCharsets.UTF_8);
+                payload.position(payload.position() + length);
+            }
+            checkLength(payload.slice(), (long) width * rows);
+            int[] ids = new int[rows];
+            for (int row = 0; row < rows; row++) {
+                int id = width == 1 ? payload.get() & 0xFF : width == 2 ? payload.getShort() & 0xFFFF : payload.getInt();
+                if (id >= count) {
+                    throw new IOException("Department id out of range: " + id);
+                }
+                ids[row] = id;
+            }
+            dictionaryOut[0] = dictionary;
+            return ids;
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt department block", e);
+        }
+    }
+
+    private static StringColumn readStrings(ByteBuffer payload, int rows) throws IOException {
+        try {
+            int[] offsets = new int[rows + 1];
+            payload.asIntBuffer().get(offsets);
+            payload.position(4 * (rows + 1));
+            int wordCount = payload.getInt();
+            if (wordCount < 0 || 8L * wordCount > payload.remaining()) {
+                throw new IOException("Corrupt string column null bitmap");
+            }
+            long[] words = new long[wordCount];
+            payload.asLongBuffer().get(words);
+            payload.position(payload.position() + 8 * words.length);
+            int length = offsets[rows];
+            checkLength(payload.slice(), length);
+            for (int row = 0; row < rows; row++) {
+                if (offsets[row] < 0 || offsets[row] > offsets[row + 1]) {
+                    throw new IOException("Corrupt string column offsets");
+                }
+            }
+            byte[] data = new byte[length];
+            payload.get(data);
+            return new StringColumn(rows, offsets, data, BitSet.valueOf(words));
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt string column block", e);
+        }
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Truncated binary roster file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void checkLength(ByteBuffer payload, long expected) throws IOException {
+        if (payload.remaining() != expected) {
+            throw new IOException("Binary roster block has unexpected length");
+        }
+    }
+
+    private static int idWidth(int dictionarySize) {
+        return dictionarySize <= 1 << 8 ? 1 : dictionarySize <= 1 << 16 ? 2 : 4;
+    }
+
+    private static long crc(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return crc.getValue();
+    }
+}
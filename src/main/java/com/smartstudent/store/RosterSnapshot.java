@@ -0,0 +1,266 @@
+/**
+ * Roster Snapshot Class
+ *
+ * Compact binary snapshot of the student roster kept on local disk so the
+ * main window can render immediately at startup, before the database has
+ * been contacted. The snapshot is opened through a memory-mapped
+ * FileChannel and rows are decoded directly from the mapping.
+ *
+ * File layout (big-endian):
+ * - Header: magic, version, row count, reserved, newest updated_at,
+ *   string heap offset
+ * - Row table: fixed-width records (id, marks, created_at, updated_at and
+ *   an offset/length reference for each string field)
+ * - String heap: UTF-8 bytes of all string fields
+ *
+ * Features:
+ * - Fixed-width rows for random access by row index
+ * - Atomic replacement of the snapshot file on write
+ * - Newest updated_at recorded for reconciliation with the database
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.store;
+
+import com.smartstudent.model.Student;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class RosterSnapshot {
+    // Default snapshot location, relative to the working directory
+    public static final Path DEFAULT_PATH = Paths.get("data", "roster.snapshot");
+
+    // File identification
+    private static final int MAGIC = 0x53535253; // "SSRS"
+    private static final int VERSION = 1;
+
+    // Header: magic, version, rows, reserved (4 ints) + max updated_at, heap offset (2 longs)
+    private static final int HEADER_BYTES = 32;
+
+    // Number of string fields per row: name, roll no, department, email, phone
+    private static final int STRING_FIELDS = 5;
+
+    // Row: id (int), marks (double), created/updated (2 longs), string refs (offset + length ints)
+    private static final int ROW_BYTES = 4 + 8 + 8 + 8 + STRING_FIELDS * 8;
+
+    // Buffer size used while writing
+    private static final int WRITE_BUFFER = 1 << 16;
+
+    private final MappedByteBuffer buffer;
+    private final int rowCount;
+    private final long maxUpdatedAt;
+    private final int heapOffset;
+
+    private RosterSnapshot(MappedByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a roster snapshot file");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported roster snapshot version: " + buffer.getInt(4));
+        }
+        this.rowCount = buffer.getInt(8);
+        this.maxUpdatedAt = buffer.getLong(16);
+        long heap = buffer.getLong(24);
+        if (rowCount < 0 || heap != HEADER_BYTES + (long) rowCount * ROW_BYTES || heap > buffer.capacity()) {
+            throw new IOException("Corrupt roster snapshot header");
+        }
+        this.heapOffset = (int) heap;
+    }
+
+    // ==================== OPENING ====================
+
+    /**
+     * Opens a snapshot file through a read-only memory mapping
+     *
+     * The mapping stays valid after the channel is closed.
+     *
+     * @param path Snapshot file
+     * @return Opened snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static RosterSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Roster snapshot too large to map: " + size + " bytes");
+            }
+            return new RosterSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    // ==================== ROW ACCESS ====================
+
+    /**
+     * Gets the number of students in the snapshot
+     * @return Row count
+     */
+    public int size() { return rowCount; }
+
+    /**
+     * Gets the newest update timestamp of any row in the snapshot
+     * @return Newest updated_at, or null if no row has one
+     */
+    public LocalDateTime getMaxUpdatedAt() { return RosterStore.toDateTime(maxUpdatedAt); }
+
+    /**
+     * Decodes a row as a Student object
+     *
+     * @param row Row index
+     * @return New Student populated from the snapshot
+     * @throws IOException if a string reference points outside the file
+     */
+    public Student getStudent(int row) throws IOException {
+        int base = HEADER_BYTES + row * ROW_BYTES;
+        Student student = new Student(
+            buffer.getInt(base),
+            readString(base, 0),
+            readString(base, 1),
+            readString(base, 2),
+            readString(base, 3),
+            readString(base, 4),
+            buffer.getDouble(base + 4));
+        student.setCreatedAt(RosterStore.toDateTime(buffer.getLong(base + 12)));
+        student.setUpdatedAt(RosterStore.toDateTime(buffer.getLong(base + 20)));
+        return student;
+    }
+
+    /**
+     * Decodes all rows as Student objects
+     *
+     * @return New list of students in snapshot order
+     * @throws IOException if a string reference points outside the file
+     */
+    public List<Student> toStudents() throws IOException {
+        List<Student> students = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            students.add(getStudent(row));
+        }
+        return students;
+    }
+
+    private String readString(int rowBase, int field) throws IOException {
+        int ref = rowBase + 28 + field * 8;
+        int offset = buffer.getInt(ref);
+        int length = buffer.getInt(ref + 4);
+        if (length == -1) return null;
+        // A truncated or damaged file must not decode garbage or overrun the mapping
+        if (offset < 0 || length < 0 || (long) heapOffset + offset + length > buffer.capacity()) {
+            throw new IOException("Corrupt roster snapshot");
+        }
+        byte[] bytes = new byte[length];
+        ByteBuffer view = buffer.duplicate();
+        view.position(heapOffset + offset);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ==================== WRITING ====================
+
+    /**
+     * Writes a snapshot of the given students
+     *
+     * The snapshot is written to a temporary file next to the target and
+     * then moved into place, so readers never see a partial file.
+     *
+     * @param students Students to store, in display order
+     * @param path Snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(List<Student> students, Path path) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        Path temp = Files.createTempFile(dir, "roster", ".tmp");
+        try {
+            int rows = students.size();
+            byte[][] strings = new byte[rows * STRING_FIELDS][];
+            long heapSize = 0;
+            long maxUpdated = RosterStore.NO_TIMESTAMP;
+            for (int row = 0; row < rows; row++) {
+                Student student = students.get(row);
+                String[] fields = {student.getName(), student.getRollNo(), student.getDepartment(),
+                                   student.getEmail(), student.getPhone()};
+                for (int f = 0; f < STRING_FIELDS; f++) {
+                    if (fields[f] != null) {
+                        byte[] bytes = fields[f].getBytes(StandardCharsets.UTF_8);
+                        strings[row * STRING_FIELDS + f] = bytes;
+                        heapSize += bytes.length;
+                    }
+                }
+                maxUpdated = Math.max(maxUpdated, RosterStore.toMillis(student.getUpdatedAt()));
+            }
+            long heapOffset = HEADER_BYTES + (long) rows * ROW_BYTES;
+            if (heapOffset + heapSize > Integer.MAX_VALUE) {
+                throw new IOException("Roster too large for a snapshot");
+            }
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                                                        StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer out = ByteBuffer.allocate(WRITE_BUFFER);
+                out.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(0);
+                out.putLong(maxUpdated).putLong(heapOffset);
+
+                int stringOffset = 0;
+                for (int row = 0; row < rows; row++) {
+                    Student student = students.get(row);
+                    drainIfFull(channel, out, ROW_BYTES);
+                    out.putInt(student.getId());
+                    out.putDouble(student.getMarks());
+                    out.putLong(RosterStore.toMillis(student.getCreatedAt()));
+                    out.putLong(RosterStore.toMillis(student.getUpdatedAt()));
+                    for (int f = 0; f < STRING_FIELDS; f++) {
+                        byte[] bytes = strings[row * STRING_FIELDS + f];
+                        out.putInt(stringOffset);
+                        out.putInt(bytes == null ? -1 : bytes.length);
+                        if (bytes != null) stringOffset += bytes.length;
+                    }
+                }
+                for (byte[] bytes : strings) {
+                    if (bytes == null) continue;
+                    if (bytes.length > out.capacity()) {
+                        drain(channel, out);
+                        channel.write(ByteBuffer.wrap(bytes));
+                        continue;
+                    }
+                    drainIfFull(channel, out, bytes.length);
+                    out.put(bytes);
+                }
+                drain(channel, out);
+                channel.force(false);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void drainIfFull(FileChannel channel, ByteBuffer out, int needed) throws IOException {
+        if (out.remaining() < needed) {
+            drain(channel, out);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+}
@@ -0,0 +1,366 @@
+/**
+ * Roster Store Class
+ *
+ * Columnar (struct-of-arrays) in-memory store of the student roster used
+ * for analytics. Instead of one Student object per row, every field is
+ * held in its own primitive array or packed string column, so marks for
+ * the whole roster sit in a single contiguous double[] and the per-row
+ * cost is a few dozen bytes rather than hundreds.
+ *
+ * Features:
+ * - int ids and double marks columns
+ * - Dictionary-encoded department ids
+ * - UTF-8 packed string columns decoded lazily on access
+ * - Timestamps stored as epoch milliseconds
+ * - Conversion back to Student objects on demand
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.store;
+
+import com.smartstudent.model.Student;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RosterStore {
+    // Marker for a missing timestamp
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final int size;
+
+    // Numeric columns
+    private final int[] ids;
+    private final double[] marks;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+
+    // Dictionary-encoded departments
+    private final int[] departmentIds;
+    private final String[] departments;
+
+    // Packed string columns
+    private final StringColumn names;
+    private final StringColumn rollNos;
+    private final StringColumn emails;
+    private final StringColumn phones;
+
+    private RosterStore(Builder builder) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.marks = Arrays.copyOf(builder.marks, size);
+        this.createdAt = Arrays.copyOf(builder.createdAt, size);
+        this.updatedAt = Arrays.copyOf(builder.updatedAt, size);
+        this.departmentIds = Arrays.copyOf(builder.departmentIds, size);
+        this.departments = builder.departments.toArray(new String[0]);
+        builder.names.trim();
+        builder.rollNos.trim();
+        builder.emails.trim();
+        builder.phones.trim();
+        this.names = builder.names;
+        this.rollNos = builder.rollNos;
+        this.emails = builder.emails;
+        this.phones = builder.phones;
+    }
+
+    RosterStore(int size, int[] ids, double[] marks, long[] createdAt, long[] updatedAt,
+                int[] departmentIds, String[] departments, StringColumn names, StringColumn rollNos,
+                StringColumn emails, StringColumn phones) {
+        this.size = size;
+        this.ids = ids;
+        this.marks = marks;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.departmentIds = departmentIds;
+        this.departments = departments;
+        this.names = names;
+        this.rollNos = rollNos;
+        this.emails = emails;
+        this.phones = phones;
+    }
+
+    /**
+     * Creates a store from a student list
+     *
+     * @param students Students to store
+     * @return Columnar store holding the students in list order
+     */
+    public static RosterStore of(List<Student> students) {
+        Builder builder = new Builder(students.size());
+        for (Student student : students) {
+            builder.add(student);
+        }
+        return builder.build();
+    }
+
+    // ==================== ROW ACCESS ====================
+
+    /**
+     * Gets the number of students in the store
+     * @return Row count
+     */
+    public int size() { return size; }
+
+    public int getId(int row) { return ids[row]; }
+    public double getMarks(int row) { return marks[row]; }
+    public int getDepartmentId(int row) { return departmentIds[row]; }
+    public String getDepartment(int row) { return departments[departmentIds[row]]; }
+    public String getName(int row) { return names.get(row); }
+    public String getRollNo(int row) { return rollNos.get(row); }
+    public String getEmail(int row) { return emails.get(row); }
+    public String getPhone(int row) { return phones.get(row); }
+
+    /**
+     * Gets the creation timestamp of a row
+     * @param row Row index
+     * @return Creation timestamp, or null if not recorded
+     */
+    public LocalDateTime getCreatedAt(int row) { return toDateTime(createdAt[row]); }
+
+    /**
+     * Gets the last update timestamp of a row
+     * @param row Row index
+     * @return Last update timestamp, or null if not recorded
+     */
+    public LocalDateTime getUpdatedAt(int row) { return toDateTime(updatedAt[row]); }
+
+    /**
+     * Gets the last update timestamp of a row as epoch milliseconds
+     * @param row Row index
+     * @return Epoch milliseconds, or {@link #NO_TIMESTAMP}
+     */
+    public long getUpdatedAtMillis(int row) { return updatedAt[row]; }
+
+    /**
+     * Gets the creation timestamp of a row as epoch milliseconds
+     * @param row Row index
+     * @return Epoch milliseconds, or {@link #NO_TIMESTAMP}
+     */
+    public long getCreatedAtMillis(int row) { return createdAt[row]; }
+
+    /**
+     * Materializes a row as a Student object
+     *
+     * @param row Row index
+     * @return New Student populated from the row
+     */
+    public Student toStudent(int row) {
+        Student student = new Student(ids[row], getName(row), getRollNo(row), getDepartment(row),
+                                      getEmail(row), getPhone(row), marks[row]);
+        student.setCreatedAt(getCreatedAt(row));
+        student.setUpdatedAt(getUpdatedAt(row));
+        return student;
+    }
+
+    /**
+     * Materializes all rows as Student objects
+     *
+     * @return New list of students in store order
+     */
+    public List<Student> toStudents() {
+        List<Student> list = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            list.add(toStudent(row));
+        }
+        return list;
+    }
+
+    // ==================== COLUMN ACCESS ====================
+
+    /**
+     * Gets the marks column
+     *
+     * The returned array is the store's own column and must not be modified.
+     *
+     * @return Marks of every row
+     */
+    public double[] getMarksColumn() { return marks; }
+
+    /**
+     * Gets the department id column
+     *
+     * The returned array is the store's own column and must not be modified.
+     *
+     * @return Department id of every row
+     */
+    public int[] getDepartmentIdColumn() { return departmentIds; }
+
+    /**
+     * Gets the number of distinct departments
+     * @return Department dictionary size
+     */
+    public int getDepartmentCount() { return departments.length; }
+
+    /**
+     * Gets a department name from the dictionary
+     * @param departmentId Dictionary id
+     * @return Department name
+     */
+    public String getDepartmentName(int departmentId) { return departments[departmentId]; }
+
+    /**
+     * Gets the department dictionary
+     * @return Unmodifiable list of department names indexed by id
+     */
+    public List<String> getDepartments() {
+        return Collections.unmodifiableList(Arrays.asList(departments));
+    }
+
+    /**
+     * Estimates the heap held by the store's columns
+     *
+     * @return Approximate footprint in bytes
+     */
+    public long footprint() {
+        long bytes = 4L * ids.length + 8L * marks.length + 8L * createdAt.length
+                   + 8L * updatedAt.length + 4L * departmentIds.length;
+        for (String department : departments) {
+            bytes += 40 + 2L * department.length();
+        }
+        return bytes + names.footprint() + rollNos.footprint() + emails.footprint() + phones.footprint();
+    }
+
+    // Raw columns for binary serialization
+    int[] idColumn() { return ids; }
+    long[] createdAtColumn() { return createdAt; }
+    long[] updatedAtColumn() { return updatedAt; }
+    String[] departmentDictionary() { return departments; }
+    StringColumn nameColumn() { return names; }
+    StringColumn rollNoColumn() { return rollNos; }
+    StringColumn emailColumn() { return emails; }
+    StringColumn phoneColumn() { return phones; }
+
+    // ==================== TIMESTAMP CONVERSION ====================
+
+    /**
+     * Converts a timestamp to epoch milliseconds
+     *
+     * The local date-time is interpreted as UTC only for storage; converting
+     * back with {@link #toDateTime(long)} restores the same value.
+     *
+     * @param dateTime Timestamp (may be null)
+     * @return Epoch milliseconds, or {@link #NO_TIMESTAMP}
+     */
+    public static long toMillis(LocalDateTime dateTime) {
+        return dateTime == null ? NO_TIMESTAMP : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Converts epoch milliseconds back to a timestamp
+     *
+     * @param millis Epoch milliseconds, or {@link #NO_TIMESTAMP}
+     * @return Timestamp, or null
+     */
+    public static LocalDateTime toDateTime(long millis) {
+        if (millis == NO_TIMESTAMP) return null;
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                                           (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    // ==================== BUILDER ====================
+
+    /**
+     * Builder that appends rows to growable columns
+     */
+    public static class Builder {
+        private int size;
+        private int[] ids;
+        private double[] marks;
+        private long[] createdAt;
+        private long[] updatedAt;
+        private int[] departmentIds;
+        private final List<String> departments = new ArrayList<>();
+        private final Map<String, Integer> departmentDictionary = new HashMap<>();
+        private final StringColumn names;
+        private final StringColumn rollNos;
+        private final StringColumn emails;
+        private final StringColumn phones;
+
+        /**
+         * Creates a builder
+         * @param expectedRows Initial row capacity
+         */
+        public Builder(int expectedRows) {
+            int capacity = Math.max(16, expectedRows);
+            this.ids = new int[capacity];
+            this.marks = new double[capacity];
+            this.createdAt = new long[capacity];
+            this.updatedAt = new long[capacity];
+            this.departmentIds = new int[capacity];
+            this.names = new StringColumn(capacity);
+            this.rollNos = new StringColumn(capacity);
+            this.emails = new StringColumn(capacity);
+            this.phones = new StringColumn(capacity);
+        }
+
+        /**
+         * Appends a student
+         * @param student Student to append
+         * @return This builder
+         */
+        public Builder add(Student student) {
+            return add(student.getId(), student.getName(), student.getRollNo(), student.getDepartment(),
+                       student.getEmail(), student.getPhone(), student.getMarks(),
+                       toMillis(student.getCreatedAt()), toMillis(student.getUpdatedAt()));
+        }
+
+        /**
+         * Appends a row from raw field values
+         *
+         * @param id Database primary key
+         * @param name Student name
+         * @param rollNo Roll number
+         * @param department Department name
+         * @param email Email address
+         * @param phone Phone number
+         * @param marksValue Marks
+         * @param createdAtMillis Creation time in epoch milliseconds, or {@link #NO_TIMESTAMP}
+         * @param updatedAtMillis Update time in epoch milliseconds, or {@link #NO_TIMESTAMP}
+         * @return This builder
+         */
+        public Builder add(int id, String name, String rollNo, String department, String email,
+                           String phone, double marksValue, long createdAtMillis, long updatedAtMillis) {
+            if (size == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                marks = Arrays.copyOf(marks, capacity);
+                createdAt = Arrays.copyOf(createdAt, capacity);
+                updatedAt = Arrays.copyOf(updatedAt, capacity);
+                departmentIds = Arrays.copyOf(departmentIds, capacity);
+            }
+            ids[size] = id;
+            marks[size] = marksValue;
+            createdAt[size] = createdAtMillis;
+            updatedAt[size] = updatedAtMillis;
+            departmentIds[size] = departmentDictionary.computeIfAbsent(department == null ? "" : department, d -> {
+                departments.add(d);
+                return departments.size() - 1;
+            });
+            names.add(name);
+            rollNos.add(rollNo);
+            emails.add(email);
+            phones.add(phone);
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the store
+         *
+         * The builder must not be used afterwards.
+         *
+         * @return Columnar store of the appended rows
+         */
+        public RosterStore build() {
+            return new RosterStore(this);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * String Column Class
+ *
+ * Stores one string field for every row of a roster as UTF-8 bytes packed
+ * into a single growable array with an offsets index. Values are decoded
+ * to String objects only when read.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.store;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+class StringColumn {
+    // Packed UTF-8 bytes of all values
+    private byte[] data;
+    private int length;
+
+    // offsets[row] is the start of the row's bytes; offsets[size] is the end
+    private int[] offsets;
+    private int size;
+
+    // Rows holding null rather than an empty string
+    private final BitSet nulls = new BitSet();
+
+    StringColumn(int initialRows) {
+        this.data = new byte[Math.max(16, initialRows * 16)];
+        this.offsets = new int[Math.max(1, initialRows) + 1];
+    }
+
+    /**
+     * Creates a column over already packed data
+     *
+     * The arrays are used directly, not copied.
+     *
+     * @param size Number of rows
+     * @param offsets Row start offsets followed by the end offset (size + 1 entries)
+     * @param data Packed UTF-8 bytes (exactly offsets[size] long)
+     * @param nulls Rows holding null
+     */
+    StringColumn(int size, int[] offsets, byte[] data, BitSet nulls) {
+        this.size = size;
+        this.offsets = offsets;
+        this.data = data;
+        this.length = offsets[size];
+        this.nulls.or(nulls);
+    }
+
+    /**
+     * Appends a value as the next row
+     *
+     * @param value Value to append (may be null)
+     */
+    void add(String value) {
+        if (size + 1 >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        if (value == null) {
+            nulls.set(size);
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            ensureData(bytes.length);
+            System.arraycopy(bytes, 0, data, length, bytes.length);
+            length += bytes.length;
+        }
+        offsets[++size] = length;
+    }
+
+    /**
+     * Decodes the value of a row
+     *
+     * @param row Row index
+     * @return Decoded value, or null if the row holds null
+     */
+    String get(int row) {
+        if (nulls.get(row)) return null;
+        int start = offsets[row];
+        return new String(data, start, offsets[row + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    // Raw access for binary serialization; valid after trim()
+    int size() { return size; }
+    int[] offsets() { return offsets; }
+    byte[] data() { return data; }
+    BitSet nulls() { return nulls; }
+
+    /**
+     * Trims the backing arrays to the stored data
+     */
+    void trim() {
+        data = Arrays.copyOf(data, length);
+        offsets = Arrays.copyOf(offsets, size + 1);
+    }
+
+    /**
+     * Gets the number of bytes held by this column
+     * @return Approximate heap footprint in bytes
+     */
+    long footprint() {
+        return (long) data.length + 4L * offsets.length + nulls.size() / 8;
+    }
+
+    private void ensureData(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+}
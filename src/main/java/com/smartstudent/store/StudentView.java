@@ -0,0 +1,79 @@
+/**
+ * Student View Class
+ *
+ * Flyweight cursor over an {@link OffHeapStudentStore}. A single view is
+ * moved from slot to slot and reads fields directly from off-heap memory,
+ * so scanning the whole roster creates no per-row objects. String fields
+ * are decoded only when their getter is called.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.store;
+
+import com.smartstudent.model.Student;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+
+public class StudentView {
+    private final OffHeapStudentStore store;
+    private ByteBuffer page;
+    private int base;
+    private int slot;
+
+    StudentView(OffHeapStudentStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Positions the view at a slot
+     *
+     * @param slot Slot index
+     * @return This view
+     * @throws IndexOutOfBoundsException if the slot does not exist
+     */
+    public StudentView moveTo(int slot) {
+        this.page = store.slotPage(slot);
+        this.base = OffHeapStudentStore.slotBase(slot);
+        this.slot = slot;
+        return this;
+    }
+
+    /**
+     * Gets the slot the view is positioned at
+     * @return Slot index
+     */
+    public int getSlot() { return slot; }
+
+    public boolean isRemoved() { return store.isRemoved(slot); }
+    public int getId() { return page.getInt(base + OffHeapStudentStore.ID); }
+    public double getMarks() { return page.getDouble(base + OffHeapStudentStore.MARKS); }
+    public long getCreatedAtMillis() { return page.getLong(base + OffHeapStudentStore.CREATED_AT); }
+    public long getUpdatedAtMillis() { return page.getLong(base + OffHeapStudentStore.UPDATED_AT); }
+    public LocalDateTime getCreatedAt() { return RosterStore.toDateTime(getCreatedAtMillis()); }
+    public LocalDateTime getUpdatedAt() { return RosterStore.toDateTime(getUpdatedAtMillis()); }
+    public String getName() { return string(OffHeapStudentStore.NAME); }
+    public String getRollNo() { return string(OffHeapStudentStore.ROLL_NO); }
+    public String getDepartment() { return string(OffHeapStudentStore.DEPARTMENT); }
+    public String getEmail() { return string(OffHeapStudentStore.EMAIL); }
+    public String getPhone() { return string(OffHeapStudentStore.PHONE); }
+
+    /**
+     * Copies the current record into a new Student object
+     *
+     * @return New Student populated from the record
+     */
+    public Student toStudent() {
+        Student student = new Student(getId(), getName(), getRollNo(), getDepartment(),
+                                      getEmail(), getPhone(), getMarks());
+        student.setCreatedAt(getCreatedAt());
+        student.setUpdatedAt(getUpdatedAt());
+        return student;
+    }
+
+    private String string(int field) {
+        return store.decode(page.getLong(base + field));
+    }
+}
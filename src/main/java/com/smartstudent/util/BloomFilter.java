@@ -0,0 +1,127 @@
+/**
+ * Bloom Filter Class
+ *
+ * Compact probabilistic set of strings. A lookup answers either "definitely
+ * not added" or "possibly added": strings that were added are always
+ * found, and a string that was not added is wrongly found with a small
+ * probability chosen when the filter is sized. Strings cannot be removed.
+ *
+ * Each string is hashed once to 64 bits; the two halves of the hash
+ * generate the k bit positions by double hashing. About 10 bits per
+ * string give a 1% false positive rate.
+ *
+ * Not thread-safe.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.util;
+
+public class BloomFilter {
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final int expectedInsertions;
+    private int insertions;
+
+    /**
+     * Creates an empty filter
+     *
+     * @param expectedInsertions Number of strings the filter is sized for
+     * @param falsePositiveRate Wanted false positive rate at that size, e.g. 0.01
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        // Optimal size m = -n ln p / (ln 2)^2 and hash count k = m / n ln 2
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) ((Math.max(m, 64) + 63) / 64)];
+        this.bitCount = bits.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    /**
+     * Adds a string
+     * @param value String to add
+     */
+    public void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+        insertions++;
+    }
+
+    /**
+     * Checks whether a string may have been added
+     *
+     * @param value String to look up
+     * @return false if the string was definitely not added; true if it probably was
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of strings added, counting repeats
+     * @return Insertion count
+     */
+    public int getInsertions() {
+        return insertions;
+    }
+
+    /**
+     * Gets the number of strings the filter was sized for
+     *
+     * Beyond it the false positive rate rises above the one asked for.
+     *
+     * @return Expected insertion count
+     */
+    public int getExpectedInsertions() {
+        return expectedInsertions;
+    }
+
+    /**
+     * Gets the size of the filter
+     * @return Number of bits
+     */
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    /**
+     * 64-bit FNV-1a over the characters, followed by a finalizer that
+     * spreads every input bit over both halves of the result
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
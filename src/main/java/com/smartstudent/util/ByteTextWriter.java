@@ -0,0 +1,476 @@
+/**
+ * Byte Text Writer Class
+ *
+ * Allocation-free text writer used by the export formats. Text is encoded
+ * as UTF-8 directly into a reusable byte buffer, numbers are formatted
+ * without String.format or boxing, CSV fields are escaped in a single
+ * scan, and the buffer is flushed to the underlying channel in large
+ * blocks.
+ *
+ * Features:
+ * - Direct UTF-8 encoding into a reusable buffer
+ * - Integer and two-decimal fixed-point formatting without temporaries
+ * - Single-scan CSV field escaping
+ * - JSON string escaping
+ * - XML text escaping
+ * - Left-aligned padded columns for text reports
+ * - Large-block flushing to any WritableByteChannel
+ *
+ * This class is not thread-safe.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class ByteTextWriter implements Closeable, Flushable {
+    // Default buffer size: large enough that flushes are rare
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    // Largest absolute value formatted on the fixed-point path
+    private static final double FIXED_POINT_LIMIT = 1e15;
+
+    // Hex digits for JSON unicode escapes
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    // Line separator, matching PrintWriter.println and %n
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes();
+
+    private final WritableByteChannel channel;
+    private final byte[] buffer;
+    private final ByteBuffer wrapped;
+    private final byte[] digits = new byte[20];
+    private int count;
+    private long bytesWritten;
+
+    /**
+     * Creates a writer over a channel
+     *
+     * @param channel Destination channel
+     * @param bufferSize Buffer size in bytes (at least 64)
+     */
+    public ByteTextWriter(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = new byte[Math.max(64, bufferSize)];
+        this.wrapped = ByteBuffer.wrap(buffer);
+    }
+
+    /**
+     * Creates a writer over an output stream
+     *
+     * @param out Destination stream
+     * @param bufferSize Buffer size in bytes
+     */
+    public ByteTextWriter(OutputStream out, int bufferSize) {
+        this(Channels.newChannel(out), bufferSize);
+    }
+
+    /**
+     * Creates or truncates a file and opens a writer on its channel
+     *
+     * @param filename File to write
+     * @param bufferSize Buffer size in bytes
+     * @return Writer on the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static ByteTextWriter open(String filename, int bufferSize) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filename),
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new ByteTextWriter(channel, bufferSize);
+    }
+
+    // ==================== TEXT ====================
+
+    /**
+     * Writes an ASCII character
+     *
+     * @param c Character (must be below 0x80)
+     * @return This writer
+     * @throws IOException if flushing fails
+     */
+    public ByteTextWriter write(char c) throws IOException {
+        if (count == buffer.length) flushBuffer();
+        buffer[count++] = (byte) c;
+        return this;
+    }
+
+    /**
+     * Writes text encoded as UTF-8
+     *
+     * @param text Text to write; null writes nothing
+     * @return This writer
+     * @throws IOException if flushing fails
+     */
+    public ByteTextWriter write(CharSequence text) throws IOException {
+        if (text == null) return this;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                if (count == buffer.length) flushBuffer();
+                buffer[count++] = (byte) c;
+            } else {
+                i = writeNonAscii(text, i, c);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes a line separator
+     *
+     * @return This writer
+     * @throws IOException if flushing fails
+     */
+    public ByteTextWriter newLine() throws IOException {
+        for (byte b : LINE_SEPARATOR) {
+            if (count == buffer.length) flushBuffer();
+            buffer[count++] = b;
+        }
+        return this;
+    }
+
+    /**
+     * Writes text left-aligned in a column, padded with spaces
+     *
+     * Matches the %-Ns format: the width counts UTF-16 chars and longer
+     * text is written in full.
+     *
+     * @param text Text to write ("null" is written for null)
+     * @param width Minimum column width
+     * @return This writer
+     * @throws IOException if flushing fails
+     */
+    public ByteTextWriter writePadded(CharSequence text, int width) throws IOException {
+        CharSequence value = text == null ? "null" : text;
+        write(value);
+        return pad(width - value.length());
+    }
+
+    /**
+     * Writes a CSV field, quoting it only when needed
+     *
+     * The field is scanned once; if it contains a comma, quote or newline
+     * it is wrapped in quotes and internal quotes are doubled.
+     *
+     * @param field Field value; null writes an empty field
+     * @return This writer
+     * @throws IOException if flushing fails
+     */
+    public ByteTextWriter writeCsvField(String field) throws IOException {
+        if (field == null) return this;
+        int length = field.length();
+        int i = 0;
+        while (i < length) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\n') break;
+            i++;
+        }
+        if (i == length) {
+            return write(field);
+        }
+        write('"');
+        for (int j = 0; j < length; j++) {
+            char c = field.charAt(j);
+            if (c == '"') {
+                write('"').write('"');
+            } else if (c < 0x80) {
+                write(c);
+            } else {
+                j = writeNonAscii(field, j, c);
+            }
+        }
+        return write('"');
+    }
+
+    /**
+     * Writes a JSON string literal, quoted and escaped
+     *
+     * Quotes, backslashes and control characters are escaped; everything
+     * else is written as UTF-8.
+     *
+     * @param text String value; null writes the JSON literal null
+     * @return This writer
+     * @throws IOException if flushing fails
+     */
+    public ByteTextWriter writeJsonString(String text) throws IOException {
+        if (text == null) return write("null");
+        write('"');
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x20 && c != '"' && c != '\\') {
+                if (c < 0x80) {
+                    if (count == buffer.length) flushBuffer();
+                    buffer[count++] = (byte) c;
+                } else {
+                    i = writeNonAscii(text, i, c);
+                }
+                continue;
+            }
+            ensure(6);
+            buffer[count++] = '\\';
+            switch (c) {
+                case '"': buffer[count++] = '"'; break;
+                case '\\': buffer[count++] = '\\'; break;
+                case '\n': buffer[count++] = 'n'; break;
+                case '\r': buffer[count++] = 'r'; break;
+                case '\t': buffer[count++] = 't'; break;
+                case '\b': buffer[count++] = 'b'; break;
+                case '\f': buffer[count++] = 'f'; break;
+                default:
+                    buffer[count++] = 'u';
+                    buffer[count++] = '0';
+                    buffer[count++] = '0';
+                    buffer[count++] = (byte) HEX_DIGITS[c >> 4];
+                    buffer[count++] = (byte) HEX_DIGITS[c & 0xF];
+                    break;
+            }
+        }
+        return write('"');
+    }
+
+    /**
+     * Writes XML character data, escaped for use in elements and
+     * double-quoted attributes
+     *
+     * Markup characters are written as entities. Control characters that
+     * XML 1.0 does not allow at all are dropped; tab, line feed and
+     * carriage return are kept.
+     *
+     * @param text Text to write; null writes nothing
+     * @return This writer
+     * @throws IOException if flushing fails
+     */
+    public ByteTextWriter writeXmlText(CharSequence text) throws IOException {
+        if (text == null) return this;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&': write("&amp;"); break;
+                case '<': write("&lt;"); break;
+                case '>': write("&gt;"); break;
+                case '"': write("&quot;"); break;
+                case '\t':
+                case '\n':
+                case '\r':
+                    write(c);
+                    break;
+                default:
+                    if (c >= 0x80) {
+                        if (c != 0xFFFE && c != 0xFFFF) i = writeNonAscii(text, i, c);
+                    } else if (c >= 0x20) {
+                        if (count == buffer.length) flushBuffer();
+                        buffer[count++] = (byte) c;
+                    }
+                    break;
+            }
+        }
+        return this;
+    }
+
+    // ==================== NUMBERS ====================
+
+    /**
+     * Writes an integer in decimal
+     *
+     * @param value Value to write
+     * @return This writer
+     * @throws IOException if flushing fails
+     */
+    public ByteTextWriter writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            return write("-9223372036854775808");
+        }
+        if (value < 0) {
+            write('-');
+            value = -value;
+        }
+        int n = 0;
+        do {
+            digits[n++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        ensure(n);
+        while (n > 0) {
+            buffer[count++] = digits[--n];
+        }
+        return this;
+    }
+
+    /**
+     * Writes a non-negative integer with leading zeros to a fixed width
+     *
+     * @param value Value to write (at least 0)
+     * @param width Minimum number of digits
+     * @return This writer
+     * @throws IOException if flushing fails
+     */
+    public ByteTextWriter writeZeroPadded(long value, int width) throws IOException {
+        int length = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) length++;
+        for (int i = length; i < width; i++) write('0');
+        writeLong(value);
+        return this;
+    }
+
+    /**
+     * Writes an integer left-aligned in a column, padded with spaces
+     *
+     * @param value Value to write
+     * @param width Minimum column width
+     * @return This writer
+     * @throws IOException if flushing fails
+     */
+    public ByteTextWriter writeLongPadded(long value, int width) throws IOException {
+        int start = count;
+        long before = bytesWritten;
+        writeLong(value);
+        return pad(width - written(start, before));
+    }
+
+    /**
+     * Writes a number with exactly two decimals, rounding half up
+     *
+     * Equivalent to %.2f for marks, which are stored with two decimals; a
+     * tiny tolerance absorbs binary representation error so that values
+     * such as 91.555 round up as their decimal form suggests. NaN,
+     * infinities and very large values fall back to the standard format.
+     *
+     * @param value Value to write
+     * @return This writer
+     * @throws IOException if flushing fails
+     */
+    public ByteTextWriter writeFixed2(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value) || Math.abs(value) >= FIXED_POINT_LIMIT) {
+            return write(String.format("%.2f", value));
+        }
+        long hundredths = (long) Math.floor(Math.abs(value) * 100 + 0.5 + 1e-7);
+        if (value < 0 && hundredths != 0) {
+            write('-');
+        }
+        writeLong(hundredths / 100);
+        long fraction = hundredths % 100;
+        ensure(3);
+        buffer[count++] = '.';
+        buffer[count++] = (byte) ('0' + fraction / 10);
+        buffer[count++] = (byte) ('0' + fraction % 10);
+        return this;
+    }
+
+    /**
+     * Writes a two-decimal number left-aligned in a column, padded with spaces
+     *
+     * @param value Value to write
+     * @param width Minimum column width
+     * @return This writer
+     * @throws IOException if flushing fails
+     */
+    public ByteTextWriter writeFixed2Padded(double value, int width) throws IOException {
+        int start = count;
+        long before = bytesWritten;
+        writeFixed2(value);
+        return pad(width - written(start, before));
+    }
+
+    // ==================== FLUSHING ====================
+
+    /**
+     * Gets the number of bytes written so far, including buffered bytes
+     * @return Byte count
+     */
+    public long getBytesWritten() { return bytesWritten + count; }
+
+    /**
+     * Writes buffered bytes to the channel
+     *
+     * If the channel wraps a stream, the stream itself is not flushed.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+    }
+
+    /**
+     * Flushes buffered bytes and closes the channel
+     *
+     * @throws IOException if writing or closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        wrapped.clear().limit(count);
+        while (wrapped.hasRemaining()) {
+            channel.write(wrapped);
+        }
+        bytesWritten += count;
+        count = 0;
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (count + bytes > buffer.length) flushBuffer();
+    }
+
+    private int written(int start, long before) {
+        // A flush inside the write moves earlier bytes out of the buffer
+        return (int) ((bytesWritten + count) - (before + start));
+    }
+
+    private ByteTextWriter pad(int spaces) throws IOException {
+        for (int i = 0; i < spaces; i++) {
+            if (count == buffer.length) flushBuffer();
+            buffer[count++] = ' ';
+        }
+        return this;
+    }
+
+    /**
+     * Encodes one non-ASCII char (or surrogate pair) as UTF-8
+     *
+     * @return Index of the last char consumed
+     */
+    private int writeNonAscii(CharSequence text, int i, char c) throws IOException {
+        ensure(4);
+        if (c < 0x800) {
+            buffer[count++] = (byte) (0xC0 | (c >> 6));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                   && Character.isLowSurrogate(text.charAt(i + 1))) {
+            int cp = Character.toCodePoint(c, text.charAt(i + 1));
+            buffer[count++] = (byte) (0xF0 | (cp >> 18));
+            buffer[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            buffer[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (cp & 0x3F));
+            return i + 1;
+        } else if (Character.isSurrogate(c)) {
+            buffer[count++] = '?'; // unpaired surrogate, as String.getBytes does
+        } else {
+            buffer[count++] = (byte) (0xE0 | (c >> 12));
+            buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return i;
+    }
+}
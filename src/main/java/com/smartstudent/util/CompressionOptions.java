@@ -0,0 +1,164 @@
+/**
+ * Compression Options Class
+ *
+ * Describes how an export is compressed: not at all, as a single GZIP
+ * stream, or as concatenated GZIP members compressed in parallel blocks
+ * (the layout pigz produces). Every layout is a valid .gz file that gzip,
+ * zcat and GZIPInputStream read as one stream.
+ *
+ * Instances are immutable; the with* methods return modified copies.
+ *
+ * Features:
+ * - Configurable Deflater level (1 = fastest, 9 = smallest)
+ * - Configurable compression buffer size
+ * - Optional parallel block compression across worker threads
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+public class CompressionOptions {
+    // Default buffer between the encoder and the Deflater
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    // Default input block per GZIP member in parallel mode
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+    private static final CompressionOptions NONE = new CompressionOptions(false, 0, DEFAULT_BUFFER_SIZE, 1, DEFAULT_BLOCK_SIZE);
+
+    private final boolean compressed;
+    private final int level;
+    private final int bufferSize;
+    private final int threads;
+    private final int blockSize;
+
+    private CompressionOptions(boolean compressed, int level, int bufferSize, int threads, int blockSize) {
+        this.compressed = compressed;
+        this.level = level;
+        this.bufferSize = bufferSize;
+        this.threads = threads;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Gets options for uncompressed output
+     * @return Uncompressed options
+     */
+    public static CompressionOptions none() {
+        return NONE;
+    }
+
+    /**
+     * Gets options for single-stream GZIP output at the default level
+     * @return GZIP options
+     */
+    public static CompressionOptions gzip() {
+        return gzip(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Gets options for single-stream GZIP output
+     *
+     * @param level Deflater level, 1-9, or -1 for the default
+     * @return GZIP options
+     * @throws IllegalArgumentException if the level is out of range
+     */
+    public static CompressionOptions gzip(int level) {
+        return new CompressionOptions(true, checkLevel(level), DEFAULT_BUFFER_SIZE, 1, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Gets options for parallel block GZIP output
+     *
+     * @param level Deflater level, 1-9, or -1 for the default
+     * @param threads Compression threads (at least 1)
+     * @return Parallel GZIP options
+     * @throws IllegalArgumentException if the level is out of range
+     */
+    public static CompressionOptions parallelGzip(int level, int threads) {
+        return new CompressionOptions(true, checkLevel(level), DEFAULT_BUFFER_SIZE, Math.max(1, threads), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Returns a copy with a different buffer size
+     *
+     * @param bufferSize Buffer size in bytes (at least 512)
+     * @return Modified options
+     */
+    public CompressionOptions withBufferSize(int bufferSize) {
+        return new CompressionOptions(compressed, level, Math.max(512, bufferSize), threads, blockSize);
+    }
+
+    /**
+     * Returns a copy with a different parallel block size
+     *
+     * Larger blocks compress slightly better; smaller blocks use less
+     * memory per thread.
+     *
+     * @param blockSize Uncompressed bytes per GZIP member (at least 32 KB)
+     * @return Modified options
+     */
+    public CompressionOptions withBlockSize(int blockSize) {
+        return new CompressionOptions(compressed, level, bufferSize, threads, Math.max(1 << 15, blockSize));
+    }
+
+    // Getters
+    public boolean isCompressed() { return compressed; }
+    public int getLevel() { return level; }
+    public int getBufferSize() { return bufferSize; }
+    public int getThreads() { return threads; }
+    public int getBlockSize() { return blockSize; }
+    public boolean isParallel() { return compressed && threads > 1; }
+
+    /**
+     * Gets the file extension suffix for these options
+     * @return ".gz" when compressed, otherwise an empty string
+     */
+    public String getExtensionSuffix() {
+        return compressed ? ".gz" : "";
+    }
+
+    /**
+     * Wraps an output stream so that everything written is compressed
+     *
+     * Closing the returned stream finishes the compressed data and closes
+     * the underlying stream.
+     *
+     * @param out Destination stream
+     * @return Compressing stream, or the stream itself when uncompressed
+     * @throws IOException if the GZIP header cannot be written
+     */
+    public OutputStream wrap(OutputStream out) throws IOException {
+        if (!compressed) {
+            return out;
+        }
+        if (threads > 1) {
+            return new ParallelGzipOutputStream(out, level, threads, blockSize);
+        }
+        return new GZIPOutputStream(out, bufferSize) {
+            {
+                def.setLevel(level);
+            }
+        };
+    }
+
+    private static int checkLevel(int level) {
+        if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("Compression level must be 1-9 or -1: " + level);
+        }
+        return level;
+    }
+
+    @Override
+    public String toString() {
+        if (!compressed) return "none";
+        return (threads > 1 ? "parallel gzip x" + threads : "gzip") + " level " + level;
+    }
+}
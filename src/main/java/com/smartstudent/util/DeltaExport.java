@@ -0,0 +1,232 @@
+/**
+ * Delta Export Class
+ *
+ * Incremental CSV export of the students that changed since the previous
+ * export. Each run covers the half-open window [watermark, now) measured
+ * on the database clock, writes the roll numbers deleted in that window
+ * followed by the rows inserted or updated in it, and then advances the
+ * persisted watermark to the end of the window. Consecutive runs therefore
+ * cover time without gaps or overlaps, and the size of each feed follows
+ * the amount of churn rather than the size of the table.
+ *
+ * Output format: the CSV export columns preceded by an Op column.
+ * - D rows carry only the roll number of a deleted student
+ * - U rows carry the full current row of an inserted or updated student
+ * Consumers should apply the rows in file order; deletions come first so
+ * that a roll number deleted and then re-created within one window ends
+ * up present.
+ *
+ * The first run for a feed has no watermark and exports every student.
+ * The watermark is only advanced after the file has been written, so a
+ * failed run is simply repeated by the next one.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.util;
+
+import com.smartstudent.dao.StudentDAO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Properties;
+
+public class DeltaExport {
+    // Default watermark file, relative to the working directory
+    public static final Path DEFAULT_WATERMARK_PATH = Paths.get("data", "export-watermark.properties");
+
+    // Feed name used when none is given
+    public static final String DEFAULT_FEED = "students";
+
+    // Delta CSV layout
+    private static final String DELTA_CSV_HEADER = "Op,ID,Name,Roll No,Department,Email,Phone,Marks,Grade,Status";
+
+    private final StudentDAO studentDAO;
+    private final Path watermarkPath;
+    private final String feed;
+
+    /**
+     * Creates a delta export for the default feed and watermark file
+     *
+     * @param studentDAO Data access object to read changes from
+     */
+    public DeltaExport(StudentDAO studentDAO) {
+        this(studentDAO, DEFAULT_WATERMARK_PATH, DEFAULT_FEED);
+    }
+
+    /**
+     * Creates a delta export
+     *
+     * Several feeds can share one watermark file; each keeps its own
+     * watermark.
+     *
+     * @param studentDAO Data access object to read changes from
+     * @param watermarkPath File holding the watermarks
+     * @param feed Name of this feed's watermark
+     */
+    public DeltaExport(StudentDAO studentDAO, Path watermarkPath, String feed) {
+        this.studentDAO = studentDAO;
+        this.watermarkPath = watermarkPath;
+        this.feed = feed;
+    }
+
+    /**
+     * Exports the changes since the previous run and advances the watermark
+     *
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @param compression Compression to apply
+     * @return Summary of the exported window
+     * @throws IOException if the file or the watermark cannot be written
+     * @throws SQLException if reading changes from the database fails
+     */
+    public Result export(String filename, CompressionOptions compression) throws IOException, SQLException {
+        return export(filename, compression, new ExportProgress());
+    }
+
+    /**
+     * Exports the changes since the previous run, reporting progress
+     *
+     * If the export is cancelled through the progress, the watermark is
+     * left unchanged and the next run covers the same window again.
+     *
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @param compression Compression to apply
+     * @param progress Progress to update and cancellation to honour
+     * @return Summary of the exported window
+     * @throws IOException if the file or the watermark cannot be written
+     * @throws SQLException if reading changes from the database fails
+     */
+    public Result export(String filename, CompressionOptions compression, ExportProgress progress)
+            throws IOException, SQLException {
+        if (filename == null || filename.trim().isEmpty()) {
+            filename = ExportUtil.defaultFilename("students_delta", "csv" + compression.getExtensionSuffix());
+        }
+
+        LocalDateTime since = getWatermark();
+        LocalDateTime until = studentDAO.getDatabaseTime();
+        if (since != null && until.isBefore(since)) {
+            // Database clock moved backwards; never move the watermark back with it
+            until = since;
+        }
+
+        List<String> deleted = since == null ? List.of() : studentDAO.getDeletedRollNosBetween(since, until);
+        long[] upserted = new long[1];
+        try (ByteTextWriter writer = ExportUtil.openWriter(filename, compression)) {
+            writer.write(DELTA_CSV_HEADER).newLine();
+            for (String rollNo : deleted) {
+                writer.write("D,,,").writeCsvField(rollNo).write(",,,,,,").newLine();
+            }
+            studentDAO.streamStudentsUpdatedBetween(since, until, student -> {
+                progress.addRows(1);
+                writer.write("U,");
+                ExportUtil.writeCsvRow(writer, student);
+                upserted[0]++;
+            });
+        }
+        setWatermark(until);
+
+        System.out.println("Delta exported to CSV file: " + filename + " (" + upserted[0] + " upserted, "
+                           + deleted.size() + " deleted)");
+        return new Result(filename, since, until, upserted[0], deleted.size());
+    }
+
+    // ==================== WATERMARK ====================
+
+    /**
+     * Gets the end of the window covered by the previous run
+     *
+     * @return Watermark, or null if this feed has never been exported
+     * @throws IOException if the watermark file cannot be read
+     */
+    public LocalDateTime getWatermark() throws IOException {
+        String value = loadWatermarks().getProperty(feed);
+        return value == null ? null : LocalDateTime.parse(value);
+    }
+
+    /**
+     * Forgets this feed's watermark so the next run exports every student
+     *
+     * @throws IOException if the watermark file cannot be written
+     */
+    public void resetWatermark() throws IOException {
+        Properties watermarks = loadWatermarks();
+        if (watermarks.remove(feed) != null) {
+            storeWatermarks(watermarks);
+        }
+    }
+
+    private void setWatermark(LocalDateTime watermark) throws IOException {
+        Properties watermarks = loadWatermarks();
+        watermarks.setProperty(feed, watermark.toString());
+        storeWatermarks(watermarks);
+    }
+
+    private Properties loadWatermarks() throws IOException {
+        Properties watermarks = new Properties();
+        if (Files.exists(watermarkPath)) {
+            try (InputStream in = Files.newInputStream(watermarkPath)) {
+                watermarks.load(in);
+            }
+        }
+        return watermarks;
+    }
+
+    private void storeWatermarks(Properties watermarks) throws IOException {
+        // Replace the file atomically so a crash never leaves a partial watermark
+        Path dir = watermarkPath.toAbsolutePath().getParent();
+        if (dir != null) {
+            Files.createDirectories(dir);
+        }
+        Path temp = Files.createTempFile(dir, "watermark", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                watermarks.store(out, "Delta export watermarks (exclusive end of the last exported window)");
+            }
+            Files.move(temp, watermarkPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Summary of one delta export run
+     */
+    public static class Result {
+        private final String filename;
+        private final LocalDateTime since;
+        private final LocalDateTime until;
+        private final long upserted;
+        private final int deleted;
+
+        Result(String filename, LocalDateTime since, LocalDateTime until, long upserted, int deleted) {
+            this.filename = filename;
+            this.since = since;
+            this.until = until;
+            this.upserted = upserted;
+            this.deleted = deleted;
+        }
+
+        // Getters
+        public String getFilename() { return filename; }
+        public LocalDateTime getSince() { return since; }
+        public LocalDateTime getUntil() { return until; }
+        public long getUpserted() { return upserted; }
+        public int getDeleted() { return deleted; }
+        public boolean isFullExport() { return since == null; }
+
+        @Override
+        public String toString() {
+            return upserted + " upserted, " + deleted + " deleted"
+                   + (since == null ? " (full export)" : " since " + since);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Export Progress Class
+ *
+ * Progress and cancellation state shared between a running export and
+ * whoever is watching it. The export thread counts rows as it writes them
+ * and checks the cancellation flag between rows; any other thread may
+ * read the counters or request cancellation at any time.
+ *
+ * Exports that read from a StudentSource get both for free by wrapping
+ * the source with {@link #track(StudentSource)}.
+ *
+ * Features:
+ * - Row counting with optional known total
+ * - Throughput and estimated time remaining
+ * - Cooperative cancellation checked between rows
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.util;
+
+import com.smartstudent.dao.StudentSource;
+
+import java.util.concurrent.CancellationException;
+
+public class ExportProgress {
+    // Marker for an unknown total
+    public static final long UNKNOWN = -1;
+
+    private volatile long startNanos = System.nanoTime();
+    private volatile long total = UNKNOWN;
+    private volatile long rows; // written only by the export thread
+    private volatile boolean cancelled;
+
+    /**
+     * Restarts the clock, for example when a queued job begins running
+     */
+    public void start() {
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Sets the number of rows the export is expected to write
+     *
+     * @param total Expected rows, or {@link #UNKNOWN}
+     */
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    /**
+     * Records rows written
+     *
+     * Must only be called from the export thread.
+     *
+     * @param count Rows written since the last call
+     * @throws CancellationException if cancellation has been requested
+     */
+    public void addRows(long count) {
+        checkCancelled();
+        rows += count;
+    }
+
+    /**
+     * Requests cancellation; the export stops at its next row
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Throws if cancellation has been requested
+     *
+     * @throws CancellationException if cancellation has been requested
+     */
+    public void checkCancelled() {
+        if (cancelled) {
+            throw new CancellationException("Export cancelled");
+        }
+    }
+
+    /**
+     * Wraps a source so that every student passed through is counted and
+     * cancellation is checked before each one
+     *
+     * @param source Source to track
+     * @return Tracking source
+     */
+    public StudentSource track(StudentSource source) {
+        return handler -> source.forEach(student -> {
+            addRows(1);
+            handler.handle(student);
+        });
+    }
+
+    // Getters
+    public long getRows() { return rows; }
+    public long getTotal() { return total; }
+    public boolean isCancelled() { return cancelled; }
+
+    /**
+     * Gets the time since the export started
+     * @return Elapsed milliseconds
+     */
+    public long getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Gets the average throughput since the export started
+     * @return Rows per second
+     */
+    public double getRowsPerSecond() {
+        long millis = getElapsedMillis();
+        return millis == 0 ? 0 : rows * 1000.0 / millis;
+    }
+
+    /**
+     * Estimates the time until the export finishes at the current rate
+     * @return Remaining seconds, or {@link #UNKNOWN} if the total or rate is not known yet
+     */
+    public long getEtaSeconds() {
+        long expected = total;
+        double rate = getRowsPerSecond();
+        if (expected == UNKNOWN || rate <= 0) {
+            return UNKNOWN;
+        }
+        return (long) Math.ceil(Math.max(0, expected - rows) / rate);
+    }
+
+    /**
+     * Formats the progress for a status line
+     *
+     * @return Text such as "45,000 of 120,000 rows (15,000 rows/s, ETA 0:05)"
+     */
+    public String describe() {
+        long expected = total;
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%,d", rows));
+        if (expected != UNKNOWN) {
+            text.append(String.format(" of %,d", expected));
+        }
+        text.append(String.format(" rows (%,.0f rows/s", getRowsPerSecond()));
+        long eta = getEtaSeconds();
+        if (eta != UNKNOWN) {
+            text.append(String.format(", ETA %d:%02d", eta / 60, eta % 60));
+        }
+        return text.append(')').toString();
+    }
+}
@@ -7,7 +7,13 @@
  * 
  * Features:
  * - CSV export with proper field escaping
- * - Formatted text export with detailed reports
+ * - Streaming CSV export straight from a database cursor
+ * - Allocation-free row encoding through ByteTextWriter
+ * - Optional GZIP compression, single-stream or in parallel blocks
+ * - Binary columnar export for backups and fast reloads
+ * - JSON Lines export for data platforms
+ * - Streaming Excel (XLSX) export in constant memory
+ * - Formatted text export with detailed reports, from lists or cursors
  * - Automatic filename generation with timestamps
  * - Comprehensive data formatting
  * - Statistical summary generation
@@ -18,13 +24,44 @@
  */
 package com.smartstudent.util;
 
+import com.smartstudent.dao.StudentSource;
 import com.smartstudent.model.Student;
-import java.io.*;
+import com.smartstudent.store.RosterBinaryFormat;
+import com.smartstudent.store.RosterStore;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.DoubleSummaryStatistics;
 import java.util.List;
 
 public class ExportUtil {
+    // Output buffer size for file exports
+    private static final int WRITE_BUFFER_SIZE = ByteTextWriter.DEFAULT_BUFFER_SIZE;
+    
+    // CSV layout
+    private static final String CSV_HEADER = "ID,Name,Roll No,Department,Email,Phone,Marks,Grade,Status";
+    
+    // Excel layout: header names and column widths in characters
+    private static final String[] XLSX_HEADER = {
+        "ID", "Name", "Roll No", "Department", "Email", "Phone", "Marks", "Grade", "Status"
+    };
+    private static final double[] XLSX_COLUMN_WIDTHS = { 8, 24, 12, 22, 30, 16, 9, 7, 8 };
+    
+    // Default filenames: timestamp format, and the last timestamp handed out
+    // with the number of names issued for it, which may not exist yet
+    private static final DateTimeFormatter FILENAME_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS");
+    private static final Object FILENAME_LOCK = new Object();
+    private static String lastFilenameBase;
+    private static int lastFilenameCount;
+    
+    // Text report layout
+    private static final String RULE_DOUBLE = "=".repeat(80);
+    private static final String RULE_SINGLE = "-".repeat(80);
+    private static final String TEXT_TABLE_HEADER = String.format("%-5s %-20s %-10s %-20s %-25s %-15s %-8s %-6s %-6s",
+        "ID", "Name", "Roll No", "Department", "Email", "Phone", "Marks", "Grade", "Status");
     
     /**
      * Exports student data to CSV format
@@ -42,29 +79,59 @@ public class ExportUtil {
      * @throws IOException if file writing fails
      */
     public static void exportToCSV(List<Student> students, String filename) throws IOException {
+        try {
+            exportToCSV(StudentSource.of(students), filename);
+        } catch (SQLException e) {
+            // Not reachable: an in-memory source never touches the database
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Exports student data to CSV format from a streaming source
+     * 
+     * Rows are written as the source produces them, so when the source is a
+     * database cursor (for example {@code studentDAO::streamAllStudents})
+     * nothing is materialized and heap use stays constant regardless of the
+     * number of students. Output goes through a large buffer straight to a
+     * file channel.
+     * 
+     * @param source Source of students to export
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @throws IOException if file writing fails
+     * @throws SQLException if reading from the database fails
+     */
+    public static void exportToCSV(StudentSource source, String filename) throws IOException, SQLException {
+        exportToCSV(source, filename, CompressionOptions.none());
+    }
+    
+    /**
+     * Exports student data to CSV format from a streaming source, optionally
+     * compressed
+     * 
+     * Encoded rows stream through the compressor as they are produced, so
+     * no uncompressed copy of the file is ever written or held in memory.
+     * Generated filenames get a ".gz" suffix when compression is enabled.
+     * 
+     * @param source Source of students to export
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @param compression Compression to apply
+     * @throws IOException if file writing fails
+     * @throws SQLException if reading from the database fails
+     */
+    public static void exportToCSV(StudentSource source, String filename, CompressionOptions compression)
+            throws IOException, SQLException {
         // Generate filename with timestamp if not provided
         if (filename == null || filename.trim().isEmpty()) {
-            filename = "students_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".csv";
+            filename = defaultFilename("students", "csv" + compression.getExtensionSuffix());
         }
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
+        try (ByteTextWriter writer = openWriter(filename, compression)) {
             // Write CSV header
-            writer.println("ID,Name,Roll No,Department,Email,Phone,Marks,Grade,Status");
+            writeCsvHeader(writer);
             
-            // Write student data rows
-            for (Student student : students) {
-                writer.printf("%d,%s,%s,%s,%s,%s,%.2f,%s,%s%n",
-                    student.getId(),
-                    escapeCsvField(student.getName()),
-                    escapeCsvField(student.getRollNo()),
-                    escapeCsvField(student.getDepartment()),
-                    escapeCsvField(student.getEmail()),
-                    escapeCsvField(student.getPhone()),
-                    student.getMarks(),
-                    student.getGrade(),
-                    student.isPassed() ? "Pass" : "Fail"
-                );
-            }
+            // Write student data rows as they arrive
+            source.forEach(student -> writeCsvRow(writer, student));
         }
         System.out.println("Data exported to CSV file: " + filename);
     }
@@ -86,79 +153,499 @@ public class ExportUtil {
      * @throws IOException if file writing fails
      */
     public static void exportToText(List<Student> students, String filename) throws IOException {
+        exportToText(students, filename, CompressionOptions.none());
+    }
+    
+    /**
+     * Exports student data to formatted text format, optionally compressed
+     * 
+     * @param students List of students to export
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @param compression Compression to apply
+     * @throws IOException if file writing fails
+     */
+    public static void exportToText(List<Student> students, String filename, CompressionOptions compression)
+            throws IOException {
+        try {
+            exportToText(StudentSource.of(students), students.size(), filename, compression);
+        } catch (SQLException e) {
+            // Not reachable: an in-memory source never touches the database
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Exports student data to formatted text format from a streaming source
+     * 
+     * The rows and the summary are produced in a single pass, so the
+     * source is read exactly once and nothing is materialized. Because the
+     * number of students is not known until the end, the report header
+     * omits the total; the summary section still includes it.
+     * 
+     * @param source Source of students to export
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @throws IOException if file writing fails
+     * @throws SQLException if reading from the database fails
+     */
+    public static void exportToText(StudentSource source, String filename) throws IOException, SQLException {
+        exportToText(source, filename, CompressionOptions.none());
+    }
+    
+    /**
+     * Exports student data to formatted text format from a streaming
+     * source, optionally compressed
+     * 
+     * @param source Source of students to export
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @param compression Compression to apply
+     * @throws IOException if file writing fails
+     * @throws SQLException if reading from the database fails
+     */
+    public static void exportToText(StudentSource source, String filename, CompressionOptions compression)
+            throws IOException, SQLException {
+        // The total is not known until the source is exhausted
+        exportToText(source, -1, filename, compression);
+    }
+    
+    /**
+     * Exports student data to formatted text format from a streaming
+     * source whose row count is known up front, optionally compressed
+     * 
+     * @param source Source of students to export
+     * @param knownTotal Rows the source will yield, written to the header (-1 if unknown)
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @param compression Compression to apply
+     * @throws IOException if file writing fails
+     * @throws SQLException if reading from the database fails
+     */
+    public static void exportToText(StudentSource source, long knownTotal, String filename,
+                                    CompressionOptions compression) throws IOException, SQLException {
         // Generate filename with timestamp if not provided
         if (filename == null || filename.trim().isEmpty()) {
-            filename = "students_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".txt";
+            filename = defaultFilename("students", "txt" + compression.getExtensionSuffix());
         }
         
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
+        try (ByteTextWriter writer = openWriter(filename, compression)) {
             // Write report header
-            writer.println("STUDENT MANAGEMENT SYSTEM - EXPORT REPORT");
-            writer.println("Generated on: " + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-            writer.println("Total Students: " + students.size());
-            writer.println("=".repeat(80));
-            writer.println();
+            writer.write("STUDENT MANAGEMENT SYSTEM - EXPORT REPORT").newLine();
+            writer.write("Generated on: ").write(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))).newLine();
+            if (knownTotal >= 0) {
+                writer.write("Total Students: ").writeLong(knownTotal).newLine();
+            }
+            writer.write(RULE_DOUBLE).newLine();
+            writer.newLine();
             
             // Write formatted table header
-            writer.printf("%-5s %-20s %-10s %-20s %-25s %-15s %-8s %-6s %-6s%n",
-                "ID", "Name", "Roll No", "Department", "Email", "Phone", "Marks", "Grade", "Status");
-            writer.println("-".repeat(80));
+            writer.write(TEXT_TABLE_HEADER).newLine();
+            writer.write(RULE_SINGLE).newLine();
             
-            // Write student data rows
-            for (Student student : students) {
-                writer.printf("%-5d %-20s %-10s %-20s %-25s %-15s %-8.2f %-6s %-6s%n",
-                    student.getId(),
-                    truncate(student.getName(), 18),
-                    student.getRollNo(),
-                    truncate(student.getDepartment(), 18),
-                    truncate(student.getEmail(), 23),
-                    student.getPhone(),
-                    student.getMarks(),
-                    student.getGrade(),
-                    student.isPassed() ? "Pass" : "Fail"
-                );
-            }
+            // Write student data rows, accumulating the summary as they pass
+            ReportSummary summary = new ReportSummary();
+            source.forEach(student -> {
+                writeTextRow(writer, student);
+                summary.add(student);
+            });
             
             // Write summary statistics
-            writer.println();
-            writer.println("=".repeat(80));
-            writer.println("SUMMARY:");
-            writer.println("Total Students: " + students.size());
-            writer.println("Passed: " + students.stream().filter(Student::isPassed).count());
-            writer.println("Failed: " + students.stream().filter(s -> !s.isPassed()).count());
-            
-            // Calculate and display statistical information
-            if (!students.isEmpty()) {
-                double avgMarks = students.stream().mapToDouble(Student::getMarks).average().orElse(0.0);
-                double maxMarks = students.stream().mapToDouble(Student::getMarks).max().orElse(0.0);
-                double minMarks = students.stream().mapToDouble(Student::getMarks).min().orElse(0.0);
-                
-                writer.println("Average Marks: " + String.format("%.2f", avgMarks));
-                writer.println("Highest Marks: " + String.format("%.2f", maxMarks));
-                writer.println("Lowest Marks: " + String.format("%.2f", minMarks));
-            }
+            writer.newLine();
+            writer.write(RULE_DOUBLE).newLine();
+            summary.writeTo(writer);
         }
         System.out.println("Data exported to text file: " + filename);
     }
     
     /**
-     * Escapes CSV field values for proper formatting
+     * Exports student data as JSON Lines
+     * 
+     * Writes one JSON object per line, with the fields id, name, rollNo,
+     * department, email, phone, marks, grade, passed, createdAt and
+     * updatedAt. Marks have two decimals, the precision the database
+     * stores; timestamps are ISO-8601 local date-times; missing values
+     * are written as null. The file can be read back with
+     * {@link JsonLinesReader}.
+     * 
+     * @param students List of students to export
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @throws IOException if file writing fails
+     */
+    public static void exportToJsonLines(List<Student> students, String filename) throws IOException {
+        try {
+            exportToJsonLines(StudentSource.of(students), filename, CompressionOptions.none());
+        } catch (SQLException e) {
+            // Not reachable: an in-memory source never touches the database
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Exports student data as JSON Lines from a streaming source,
+     * optionally compressed
+     * 
+     * @param source Source of students to export
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @param compression Compression to apply
+     * @throws IOException if file writing fails
+     * @throws SQLException if reading from the database fails
+     */
+    public static void exportToJsonLines(StudentSource source, String filename, CompressionOptions compression)
+            throws IOException, SQLException {
+        // Generate filename with timestamp if not provided
+        if (filename == null || filename.trim().isEmpty()) {
+            filename = defaultFilename("students", "jsonl" + compression.getExtensionSuffix());
+        }
+        
+        try (ByteTextWriter writer = openWriter(filename, compression)) {
+            source.forEach(student -> writeJsonRow(writer, student));
+        }
+        System.out.println("Data exported to JSON Lines file: " + filename);
+    }
+    
+    /**
+     * Exports student data as an Excel workbook
+     * 
+     * @param students List of students to export
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @throws IOException if file writing fails
+     */
+    public static void exportToExcel(List<Student> students, String filename) throws IOException {
+        try {
+            exportToExcel(StudentSource.of(students), filename);
+        } catch (SQLException e) {
+            // Not reachable: an in-memory source never touches the database
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Exports student data as an Excel workbook from a streaming source
+     * 
+     * The workbook has one sheet with the CSV export columns, a bold frozen
+     * header row and marks as numbers with two decimals. Rows are written
+     * as they arrive through {@link XlsxWriter}, so memory use does not
+     * grow with the number of students; departments, grades and statuses
+     * go through the shared string table, everything else is inline.
+     * 
+     * @param source Source of students to export
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @throws IOException if file writing fails or there are more students than a sheet holds
+     * @throws SQLException if reading from the database fails
+     */
+    public static void exportToExcel(StudentSource source, String filename) throws IOException, SQLException {
+        // Generate filename with timestamp if not provided
+        if (filename == null || filename.trim().isEmpty()) {
+            filename = defaultFilename("students", "xlsx");
+        }
+        
+        try (XlsxWriter writer = XlsxWriter.open(filename, "Students")) {
+            writer.setColumnWidths(XLSX_COLUMN_WIDTHS).freezeHeaderRow();
+            writer.startRow();
+            for (String name : XLSX_HEADER) {
+                writer.headerCell(name);
+            }
+            writer.endRow();
+            source.forEach(student -> writeXlsxRow(writer, student));
+        }
+        System.out.println("Data exported to Excel file: " + filename);
+    }
+    
+    /**
+     * Exports a roster in the binary columnar format
+     * 
+     * The file holds every column of the roster with a schema version and
+     * per-block checksums, and loads back with
+     * {@link RosterBinaryFormat#read(java.nio.file.Path)} far faster than a
+     * CSV can be parsed. It is intended for backups and for moving rosters
+     * between instances rather than for people to read.
+     * 
+     * @param roster Roster to export
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @return Name of the written file
+     * @throws IOException if file writing fails
+     */
+    public static String exportToBinary(RosterStore roster, String filename) throws IOException {
+        return exportToBinary(roster, filename, new ExportProgress());
+    }
+    
+    /**
+     * Exports a roster in the binary columnar format, reporting progress
      * 
-     * Handles special characters in CSV fields by adding quotes and escaping
-     * internal quotes. This ensures CSV compatibility across different applications.
+     * Rows are counted a column block at a time, and cancellation is checked
+     * after each block; a cancelled export leaves no file behind.
      * 
-     * @param field Field value to escape
-     * @return Properly escaped CSV field value
+     * @param roster Roster to export
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @param progress Progress to update and cancellation to honour
+     * @return Name of the written file
+     * @throws IOException if file writing fails
      */
-    private static String escapeCsvField(String field) {
-        if (field == null) return "";
+    public static String exportToBinary(RosterStore roster, String filename, ExportProgress progress)
+            throws IOException {
+        // Generate filename with timestamp if not provided
+        if (filename == null || filename.trim().isEmpty()) {
+            filename = defaultFilename("students", "ssrb");
+        }
         
-        // Check if field contains special characters that require quoting
-        if (field.contains(",") || field.contains("\"") || field.contains("\n")) {
-            // Escape internal quotes and wrap in quotes
-            return "\"" + field.replace("\"", "\"\"") + "\"";
+        RosterBinaryFormat.write(roster, Paths.get(filename), progress::addRows);
+        System.out.println("Data exported to binary file: " + filename);
+        return filename;
+    }
+    
+    /**
+     * Exports student data in the binary columnar format
+     * 
+     * @param students List of students to export
+     * @param filename Custom filename (optional, auto-generated if null)
+     * @return Name of the written file
+     * @throws IOException if file writing fails
+     */
+    public static String exportToBinary(List<Student> students, String filename) throws IOException {
+        return exportToBinary(RosterStore.of(students), filename);
+    }
+    
+    /**
+     * Generates a timestamped export filename
+     * 
+     * The timestamp has millisecond resolution. A name already handed out
+     * by this method, or naming an existing file, gets a counter appended,
+     * so exports queued in quick succession never write to the same file.
+     * 
+     * @param prefix Filename prefix (e.g. "students")
+     * @param extension File extension without the dot
+     * @return Filename such as students_20250101_093000_125.csv, or
+     *         students_20250101_093000_125_2.csv if that one is taken
+     */
+    public static String defaultFilename(String prefix, String extension) {
+        synchronized (FILENAME_LOCK) {
+            String base = prefix + "_" + LocalDateTime.now().format(FILENAME_TIMESTAMP);
+            int n = base.equals(lastFilenameBase) ? lastFilenameCount + 1 : 1;
+            while (Files.exists(Paths.get(numberedFilename(base, n, extension)))) {
+                n++;
+            }
+            lastFilenameBase = base;
+            lastFilenameCount = n;
+            return numberedFilename(base, n, extension);
+        }
+    }
+    
+    private static String numberedFilename(String base, int n, String extension) {
+        return (n == 1 ? base : base + "_" + n) + "." + extension;
+    }
+    
+    /**
+     * Opens a writer on an export file
+     * 
+     * Uncompressed output goes straight to the file channel; compressed
+     * output goes through the stream returned by the options.
+     * 
+     * @param filename File to write
+     * @param compression Compression to apply
+     * @return Writer on the file
+     * @throws IOException if the file cannot be opened
+     */
+    static ByteTextWriter openWriter(String filename, CompressionOptions compression) throws IOException {
+        if (!compression.isCompressed()) {
+            return ByteTextWriter.open(filename, WRITE_BUFFER_SIZE);
+        }
+        return new ByteTextWriter(compression.wrap(Files.newOutputStream(Paths.get(filename))), WRITE_BUFFER_SIZE);
+    }
+    
+    /**
+     * Writes the CSV header row
+     * 
+     * @param writer Destination writer
+     * @throws IOException if writing fails
+     */
+    static void writeCsvHeader(ByteTextWriter writer) throws IOException {
+        writer.write(CSV_HEADER).newLine();
+    }
+    
+    /**
+     * Writes one student as a CSV row
+     * 
+     * Fields are escaped in a single scan and marks are formatted as
+     * fixed-point with two decimals, without format strings or boxing.
+     * 
+     * @param writer Destination writer
+     * @param student Student to write
+     * @throws IOException if writing fails
+     */
+    static void writeCsvRow(ByteTextWriter writer, Student student) throws IOException {
+        writer.writeLong(student.getId()).write(',');
+        writer.writeCsvField(student.getName()).write(',');
+        writer.writeCsvField(student.getRollNo()).write(',');
+        writer.writeCsvField(student.getDepartment()).write(',');
+        writer.writeCsvField(student.getEmail()).write(',');
+        writer.writeCsvField(student.getPhone()).write(',');
+        writer.writeFixed2(student.getMarks()).write(',');
+        writer.write(student.getGrade()).write(',');
+        writer.write(student.isPassed() ? "Pass" : "Fail").newLine();
+    }
+    
+    /**
+     * Writes one row of a columnar roster as a CSV row
+     * 
+     * Reads the row's columns directly, producing the same output as
+     * {@link #writeCsvRow(ByteTextWriter, Student)} without creating a
+     * Student object.
+     * 
+     * @param writer Destination writer
+     * @param roster Columnar roster
+     * @param row Row index
+     * @throws IOException if writing fails
+     */
+    static void writeCsvRow(ByteTextWriter writer, RosterStore roster, int row) throws IOException {
+        GradePolicy policy = GradePolicy.getDefault();
+        double marks = roster.getMarks(row);
+        writer.writeLong(roster.getId(row)).write(',');
+        writer.writeCsvField(roster.getName(row)).write(',');
+        writer.writeCsvField(roster.getRollNo(row)).write(',');
+        writer.writeCsvField(roster.getDepartment(row)).write(',');
+        writer.writeCsvField(roster.getEmail(row)).write(',');
+        writer.writeCsvField(roster.getPhone(row)).write(',');
+        writer.writeFixed2(marks).write(',');
+        writer.write(policy.gradeFor(marks)).write(',');
+        writer.write(policy.isPassed(marks) ? "Pass" : "Fail").newLine();
+    }
+    
+    /**
+     * Writes one student as a JSON Lines record
+     * 
+     * Field names are fixed, so the object is written directly without a
+     * JSON library or reflection.
+     * 
+     * @param writer Destination writer
+     * @param student Student to write
+     * @throws IOException if writing fails
+     */
+    static void writeJsonRow(ByteTextWriter writer, Student student) throws IOException {
+        writer.write("{\"id\":").writeLong(student.getId());
+        writer.write(",\"name\":").writeJsonString(student.getName());
+        writer.write(",\"rollNo\":").writeJsonString(student.getRollNo());
+        writer.write(",\"department\":").writeJsonString(student.getDepartment());
+        writer.write(",\"email\":").writeJsonString(student.getEmail());
+        writer.write(",\"phone\":").writeJsonString(student.getPhone());
+        writer.write(",\"marks\":").writeFixed2(student.getMarks());
+        writer.write(",\"grade\":").writeJsonString(student.getGrade());
+        writer.write(",\"passed\":").write(student.isPassed() ? "true" : "false");
+        writer.write(",\"createdAt\":");
+        writeJsonDateTime(writer, student.getCreatedAt());
+        writer.write(",\"updatedAt\":");
+        writeJsonDateTime(writer, student.getUpdatedAt());
+        writer.write('}').write('\n');
+    }
+    
+    /**
+     * Writes a timestamp as an ISO-8601 JSON string without formatting objects
+     */
+    private static void writeJsonDateTime(ByteTextWriter writer, LocalDateTime dateTime) throws IOException {
+        if (dateTime == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"').writeZeroPadded(dateTime.getYear(), 4).write('-');
+        writer.writeZeroPadded(dateTime.getMonthValue(), 2).write('-');
+        writer.writeZeroPadded(dateTime.getDayOfMonth(), 2).write('T');
+        writer.writeZeroPadded(dateTime.getHour(), 2).write(':');
+        writer.writeZeroPadded(dateTime.getMinute(), 2).write(':');
+        writer.writeZeroPadded(dateTime.getSecond(), 2);
+        int nano = dateTime.getNano();
+        if (nano != 0) {
+            writer.write('.');
+            if (nano % 1_000_000 == 0) writer.writeZeroPadded(nano / 1_000_000, 3);
+            else writer.writeZeroPadded(nano, 9);
+        }
+        writer.write('"');
+    }
+    
+    /**
+     * Writes one student as an Excel sheet row
+     * 
+     * @param writer Destination writer
+     * @param student Student to write
+     * @throws IOException if writing fails
+     */
+    static void writeXlsxRow(XlsxWriter writer, Student student) throws IOException {
+        writer.startRow();
+        writer.numberCell(student.getId());
+        writer.stringCell(student.getName());
+        writer.stringCell(student.getRollNo());
+        writer.sharedStringCell(student.getDepartment());
+        writer.stringCell(student.getEmail());
+        writer.stringCell(student.getPhone());
+        writer.decimalCell(student.getMarks());
+        writer.sharedStringCell(student.getGrade());
+        writer.sharedStringCell(student.isPassed() ? "Pass" : "Fail");
+        writer.endRow();
+    }
+    
+    /**
+     * Writes one student as a fixed-width text report row
+     * 
+     * Produces the same columns as the report header: id, name, roll no,
+     * department, email, phone, marks, grade and status.
+     * 
+     * @param writer Destination writer
+     * @param student Student to write
+     * @throws IOException if writing fails
+     */
+    static void writeTextRow(ByteTextWriter writer, Student student) throws IOException {
+        writer.writeLongPadded(student.getId(), 5).write(' ');
+        writer.writePadded(truncate(student.getName(), 18), 20).write(' ');
+        writer.writePadded(student.getRollNo(), 10).write(' ');
+        writer.writePadded(truncate(student.getDepartment(), 18), 20).write(' ');
+        writer.writePadded(truncate(student.getEmail(), 23), 25).write(' ');
+        writer.writePadded(student.getPhone(), 15).write(' ');
+        writer.writeFixed2Padded(student.getMarks(), 8).write(' ');
+        writer.writePadded(student.getGrade(), 6).write(' ');
+        writer.writePadded(student.isPassed() ? "Pass" : "Fail", 6).newLine();
+    }
+    
+    /**
+     * Summary statistics of a text report, accumulated one row at a time
+     * 
+     * Lets the report summary be produced in the same pass that writes the
+     * rows, which is the only option when rows come from a cursor.
+     */
+    public static class ReportSummary {
+        private final DoubleSummaryStatistics marks = new DoubleSummaryStatistics();
+        private long passed;
+        
+        /**
+         * Adds a student to the summary
+         * @param student Student written to the report
+         */
+        public void add(Student student) {
+            marks.accept(student.getMarks());
+            if (student.isPassed()) passed++;
+        }
+        
+        // Getters
+        public long getTotal() { return marks.getCount(); }
+        public long getPassed() { return passed; }
+        public long getFailed() { return marks.getCount() - passed; }
+        public double getAverageMarks() { return marks.getAverage(); }
+        public double getHighestMarks() { return marks.getCount() == 0 ? 0.0 : marks.getMax(); }
+        public double getLowestMarks() { return marks.getCount() == 0 ? 0.0 : marks.getMin(); }
+        
+        /**
+         * Writes the SUMMARY section of the text report
+         * 
+         * @param writer Destination writer
+         * @throws IOException if writing fails
+         */
+        void writeTo(ByteTextWriter writer) throws IOException {
+            writer.write("SUMMARY:").newLine();
+            writer.write("Total Students: ").writeLong(getTotal()).newLine();
+            writer.write("Passed: ").writeLong(getPassed()).newLine();
+            writer.write("Failed: ").writeLong(getFailed()).newLine();
+            
+            // Marks statistics are only meaningful for a non-empty report
+            if (getTotal() > 0) {
+                writer.write("Average Marks: ").writeFixed2(getAverageMarks()).newLine();
+                writer.write("Highest Marks: ").writeFixed2(getHighestMarks()).newLine();
+                writer.write("Lowest Marks: ").writeFixed2(getLowestMarks()).newLine();
+            }
         }
-        return field;
     }
     
     /**
@@ -19,16 +19,22 @@
 package com.smartstudent.util;
 
 import com.smartstudent.model.Student;
+import com.smartstudent.store.RosterStore;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 public class GradeCalculator {
+    // Marks histogram: bins of 5 marks from 0 to 100, the last one including 100
+    public static final int MARKS_HISTOGRAM_BIN_WIDTH = 5;
+    public static final int MARKS_HISTOGRAM_BINS = GradePolicy.MAX_MARKS / MARKS_HISTOGRAM_BIN_WIDTH;
     
     /**
-     * Calculates grade based on marks using standard grading scale
+     * Calculates grade based on marks using the configured grading scale
      * 
-     * Converts numerical marks to letter grades using the following scale:
+     * Converts numerical marks to letter grades through {@link GradePolicy}.
+     * The standard scale is:
      * - A+: 90-100 marks (Excellent)
      * - A:  80-89 marks (Very Good)
      * - B:  70-79 marks (Good)
@@ -40,31 +46,27 @@ public class GradeCalculator {
      * @return Letter grade (A+, A, B, C, D, or F)
      */
     public static String calculateGrade(double marks) {
-        if (marks >= 90) return "A+";
-        else if (marks >= 80) return "A";
-        else if (marks >= 70) return "B";
-        else if (marks >= 60) return "C";
-        else if (marks >= 50) return "D";
-        else return "F";
+        return GradePolicy.getDefault().gradeFor(marks);
     }
     
     /**
      * Determines if a student has passed based on marks
      * 
-     * Uses a standard passing threshold of 50 marks.
-     * Students with 50 or more marks are considered to have passed.
+     * Uses the configured passing threshold (50 marks on the standard scale).
+     * Students at or above the threshold are considered to have passed.
      * 
      * @param marks Student's numerical marks
-     * @return true if student passed (≥50 marks), false otherwise
+     * @return true if student passed, false otherwise
      */
     public static boolean isPassed(double marks) {
-        return marks >= 50;
+        return GradePolicy.getDefault().isPassed(marks);
     }
     
     /**
      * Calculates GPA (Grade Point Average) based on marks
      * 
-     * Converts marks to GPA using a 4.0 scale:
+     * Converts marks to GPA through {@link GradePolicy}. The standard
+     * 4.0 scale is:
      * - A+ (90-100): 4.0 GPA
      * - A  (80-89):  3.5 GPA
      * - B  (70-79):  3.0 GPA
@@ -76,12 +78,7 @@ public class GradeCalculator {
      * @return GPA value (0.0 to 4.0)
      */
     public static double calculateGPA(double marks) {
-        if (marks >= 90) return 4.0;
-        else if (marks >= 80) return 3.5;
-        else if (marks >= 70) return 3.0;
-        else if (marks >= 60) return 2.5;
-        else if (marks >= 50) return 2.0;
-        else return 0.0;
+        return GradePolicy.getDefault().gpaFor(marks);
     }
     
     /**
@@ -104,6 +101,7 @@ public class GradeCalculator {
         // Distribution analysis
         private Map<String, Long> departmentStats;
         private Map<String, Long> gradeStats;
+        private long[] marksHistogram = new long[MARKS_HISTOGRAM_BINS];
         
         /**
          * Constructor - Calculates comprehensive statistics from student list
@@ -132,9 +130,65 @@ public class GradeCalculator {
                 // Calculate grade-wise distribution
                 this.gradeStats = students.stream()
                     .collect(Collectors.groupingBy(Student::getGrade, Collectors.counting()));
+                
+                // Calculate marks distribution
+                for (Student student : students) {
+                    marksHistogram[histogramBin(student.getMarks())]++;
+                }
             }
         }
         
+        /**
+         * Constructor - Creates statistics from precomputed aggregates
+         * 
+         * Used when the measures are computed in bulk (for example over
+         * primitive marks arrays) rather than from a student list.
+         * 
+         * @param totalStudents Total student count
+         * @param passedStudents Count of passed students
+         * @param averageMarks Average marks
+         * @param highestMarks Highest marks
+         * @param lowestMarks Lowest marks
+         * @param departmentStats Map of department names to student counts
+         * @param gradeStats Map of grades to student counts
+         */
+        public Statistics(int totalStudents, int passedStudents, double averageMarks,
+                          double highestMarks, double lowestMarks,
+                          Map<String, Long> departmentStats, Map<String, Long> gradeStats) {
+            this.totalStudents = totalStudents;
+            this.passedStudents = passedStudents;
+            this.failedStudents = totalStudents - passedStudents;
+            this.averageMarks = averageMarks;
+            this.highestMarks = highestMarks;
+            this.lowestMarks = lowestMarks;
+            this.departmentStats = departmentStats;
+            this.gradeStats = gradeStats;
+        }
+        
+        /**
+         * Constructor - Creates statistics from precomputed aggregates,
+         * including the marks distribution
+         * 
+         * @param totalStudents Total student count
+         * @param passedStudents Count of passed students
+         * @param averageMarks Average marks
+         * @param highestMarks Highest marks
+         * @param lowestMarks Lowest marks
+         * @param departmentStats Map of department names to student counts
+         * @param gradeStats Map of grades to student counts
+         * @param marksHistogram Student counts per marks bin, see {@link GradeCalculator#histogramBin(double)}
+         */
+        public Statistics(int totalStudents, int passedStudents, double averageMarks,
+                          double highestMarks, double lowestMarks,
+                          Map<String, Long> departmentStats, Map<String, Long> gradeStats,
+                          long[] marksHistogram) {
+            this(totalStudents, passedStudents, averageMarks, highestMarks, lowestMarks, departmentStats, gradeStats);
+            if (marksHistogram.length != MARKS_HISTOGRAM_BINS) {
+                throw new IllegalArgumentException("Expected " + MARKS_HISTOGRAM_BINS + " histogram bins");
+            }
+            this.marksHistogram = marksHistogram.clone();
+        }
+        
         // ==================== GETTER METHODS ====================
         
         /**
@@ -185,6 +239,17 @@ public class GradeCalculator {
          */
         public Map<String, Long> getGradeStats() { return gradeStats; }
         
+        /**
+         * Gets the marks distribution
+         * 
+         * Bin i counts the students with marks from i * MARKS_HISTOGRAM_BIN_WIDTH
+         * up to the next bin; the last bin includes full marks. All zero when
+         * the statistics were built without a distribution.
+         * 
+         * @return Copy of the student counts per bin
+         */
+        public long[] getMarksHistogram() { return marksHistogram.clone(); }
+        
         /**
          * Calculates the percentage of students who passed
          * 
@@ -204,6 +269,17 @@ public class GradeCalculator {
         }
     }
     
+    /**
+     * Gets the marks histogram bin for the given marks
+     * 
+     * @param marks Student's numerical marks
+     * @return Bin index (0 to MARKS_HISTOGRAM_BINS - 1); marks outside 0-100 go to the end bins
+     */
+    public static int histogramBin(double marks) {
+        int bin = GradePolicy.toFixed(marks) / (MARKS_HISTOGRAM_BIN_WIDTH * GradePolicy.SCALE);
+        return Math.min(bin, MARKS_HISTOGRAM_BINS - 1);
+    }
+    
     /**
      * Creates comprehensive statistics from a list of students
      * 
@@ -216,4 +292,58 @@ public class GradeCalculator {
     public static Statistics calculateStatistics(List<Student> students) {
         return new Statistics(students);
     }
+    
+    /**
+     * Creates comprehensive statistics from a columnar roster store
+     * 
+     * Aggregates in a single pass over the store's marks and department id
+     * columns, without materializing Student objects or decoding strings.
+     * 
+     * @param roster Columnar roster to analyze
+     * @return Statistics object with comprehensive analysis
+     */
+    public static Statistics calculateStatistics(RosterStore roster) {
+        int size = roster.size();
+        if (size == 0) {
+            return new Statistics(0, 0, 0.0, 0.0, 0.0, null, null);
+        }
+        
+        GradePolicy policy = GradePolicy.getDefault();
+        double[] marks = roster.getMarksColumn();
+        int[] departmentIds = roster.getDepartmentIdColumn();
+        long[] departmentCounts = new long[roster.getDepartmentCount()];
+        long[] gradeCounts = new long[policy.getBandCount()];
+        long[] histogram = new long[MARKS_HISTOGRAM_BINS];
+        int binSize = MARKS_HISTOGRAM_BIN_WIDTH * GradePolicy.SCALE;
+        int passed = 0;
+        double sum = 0;
+        double highest = Double.NEGATIVE_INFINITY;
+        double lowest = Double.POSITIVE_INFINITY;
+        
+        for (int row = 0; row < size; row++) {
+            double m = marks[row];
+            int fixed = GradePolicy.toFixed(m);
+            sum += m;
+            if (m > highest) highest = m;
+            if (m < lowest) lowest = m;
+            if (policy.isPassedFixed(fixed)) passed++;
+            gradeCounts[policy.bandIndexFixed(fixed)]++;
+            histogram[Math.min(fixed / binSize, MARKS_HISTOGRAM_BINS - 1)]++;
+            departmentCounts[departmentIds[row]]++;
+        }
+        
+        Map<String, Long> departmentStats = new HashMap<>();
+        for (int d = 0; d < departmentCounts.length; d++) {
+            if (departmentCounts[d] > 0) {
+                departmentStats.put(roster.getDepartmentName(d), departmentCounts[d]);
+            }
+        }
+        Map<String, Long> gradeStats = new HashMap<>();
+        for (int b = 0; b < gradeCounts.length; b++) {
+            if (gradeCounts[b] > 0) {
+                gradeStats.put(policy.getGrade(b), gradeCounts[b]);
+            }
+        }
+        return new Statistics(size, passed, sum / size, highest, lowest, departmentStats, gradeStats, histogram);
+    }
 } 
\ No newline at end of file
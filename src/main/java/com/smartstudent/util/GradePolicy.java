@@ -0,0 +1,394 @@
+/**
+ * Grade Policy Class
+ *
+ * Defines the grade bands (letter grade, minimum marks and GPA points) and
+ * the pass threshold used throughout the Smart Student Management System.
+ * The bands are loaded from configuration and compiled into a lookup table
+ * indexed by fixed-point marks, so every grade, GPA or pass/fail lookup is
+ * a single array access instead of an if-chain.
+ *
+ * Features:
+ * - Configuration file loading with fallback to the standard scale
+ * - Fixed-point (hundredths of a mark) lookup table
+ * - Grade, GPA and pass/fail lookups shared by model, utilities and GUI
+ * - Candidate policies for what-if analysis
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+public class GradePolicy {
+    // Configuration file path
+    private static final String CONFIG_FILE = "config/grade-policy.properties";
+
+    // Fixed-point scale: marks are stored with two decimals (DECIMAL(5,2))
+    public static final int SCALE = 100;
+
+    // Highest mark on the scale
+    public static final int MAX_MARKS = 100;
+
+    // One table entry per hundredth of a mark, 0.00 to 100.00 inclusive
+    private static final int TABLE_SIZE = MAX_MARKS * SCALE + 1;
+
+    // Policy loaded from configuration on first use
+    private static volatile GradePolicy defaultPolicy;
+
+    // Band definitions, best grade first
+    private final String[] grades;
+    private final double[] minMarks;
+    private final double[] gpas;
+
+    // Pass threshold
+    private final double passMarks;
+    private final int passFixed;
+
+    // Compiled lookup tables indexed by fixed-point marks
+    private final byte[] bandTable;
+    private final String[] gradeTable;
+    private final double[] gpaTable;
+
+    /**
+     * Grade band definition
+     *
+     * A band covers all marks from its minimum up to the minimum of the
+     * next better band.
+     */
+    public static class Band {
+        private final String grade;
+        private final double minMarks;
+        private final double gpa;
+
+        /**
+         * Creates a grade band
+         *
+         * @param grade Letter grade (e.g. "A+")
+         * @param minMarks Lowest marks that earn this grade
+         * @param gpa GPA points awarded for this grade
+         */
+        public Band(String grade, double minMarks, double gpa) {
+            this.grade = grade;
+            this.minMarks = minMarks;
+            this.gpa = gpa;
+        }
+
+        public String getGrade() { return grade; }
+        public double getMinMarks() { return minMarks; }
+        public double getGpa() { return gpa; }
+    }
+
+    /**
+     * Creates a grade policy and compiles its lookup table
+     *
+     * Bands may be given in any order; they are sorted best first.
+     * Marks below the lowest band minimum fall into the lowest band.
+     *
+     * @param bands Grade band definitions (at least one, at most 127)
+     * @param passMarks Minimum marks required to pass
+     * @throws IllegalArgumentException if the bands are empty or invalid
+     */
+    public GradePolicy(List<Band> bands, double passMarks) {
+        if (bands == null || bands.isEmpty()) {
+            throw new IllegalArgumentException("At least one grade band is required");
+        }
+        if (bands.size() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many grade bands: " + bands.size());
+        }
+
+        List<Band> sorted = new ArrayList<>(bands);
+        sorted.sort((a, b) -> Double.compare(b.getMinMarks(), a.getMinMarks()));
+
+        int count = sorted.size();
+        this.grades = new String[count];
+        this.minMarks = new double[count];
+        this.gpas = new double[count];
+        for (int i = 0; i < count; i++) {
+            Band band = sorted.get(i);
+            if (band.getGrade() == null || band.getGrade().trim().isEmpty()) {
+                throw new IllegalArgumentException("Grade band without a grade label");
+            }
+            if (i > 0 && band.getMinMarks() == minMarks[i - 1]) {
+                throw new IllegalArgumentException("Duplicate minimum marks for grade " + band.getGrade());
+            }
+            grades[i] = band.getGrade().trim();
+            minMarks[i] = band.getMinMarks();
+            gpas[i] = band.getGpa();
+        }
+        this.passMarks = passMarks;
+        this.passFixed = thresholdToFixed(passMarks);
+
+        // Compile the bands into per-hundredth lookup tables
+        this.bandTable = new byte[TABLE_SIZE];
+        this.gradeTable = new String[TABLE_SIZE];
+        this.gpaTable = new double[TABLE_SIZE];
+        int band = count - 1;
+        for (int fixed = 0; fixed < TABLE_SIZE; fixed++) {
+            while (band > 0 && fixed >= thresholdToFixed(minMarks[band - 1])) {
+                band--;
+            }
+            bandTable[fixed] = (byte) band;
+            gradeTable[fixed] = grades[band];
+            gpaTable[fixed] = gpas[band];
+        }
+    }
+
+    // ==================== CONFIGURATION ====================
+
+    /**
+     * Gets the policy loaded from the configuration file
+     *
+     * The configuration is read once on first use. If the file is missing
+     * or invalid, the standard scale (A+ 90, A 80, B 70, C 60, D 50, F 0;
+     * pass at 50) is used instead.
+     *
+     * @return Shared grade policy
+     */
+    public static GradePolicy getDefault() {
+        GradePolicy policy = defaultPolicy;
+        if (policy == null) {
+            synchronized (GradePolicy.class) {
+                policy = defaultPolicy;
+                if (policy == null) {
+                    policy = loadDefault();
+                    defaultPolicy = policy;
+                }
+            }
+        }
+        return policy;
+    }
+
+    /**
+     * Loads the policy from the configuration file, falling back to the standard scale
+     *
+     * The file is looked up on the classpath first and then relative to the
+     * working directory.
+     *
+     * @return Loaded or standard grade policy
+     */
+    private static GradePolicy loadDefault() {
+        Properties properties = new Properties();
+        try (InputStream input = openConfig()) {
+            if (input == null) {
+                return standard();
+            }
+            properties.load(input);
+            GradePolicy policy = fromProperties(properties);
+            System.out.println("Grade policy loaded successfully");
+            return policy;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error loading grade policy, using standard scale: " + e.getMessage());
+            return standard();
+        }
+    }
+
+    private static InputStream openConfig() throws IOException {
+        InputStream input = GradePolicy.class.getClassLoader().getResourceAsStream(CONFIG_FILE);
+        if (input != null) {
+            return input;
+        }
+        Path path = Paths.get(CONFIG_FILE);
+        return Files.isReadable(path) ? Files.newInputStream(path) : null;
+    }
+
+    /**
+     * Creates a policy from properties
+     *
+     * Expected keys:
+     * - grade.bands: comma-separated grade labels (e.g. A+,A,B,C,D,F)
+     * - grade.band.&lt;grade&gt;.min: minimum marks for the grade
+     * - grade.band.&lt;grade&gt;.gpa: GPA points for the grade
+     * - grade.pass.min: minimum marks required to pass
+     *
+     * @param properties Policy properties
+     * @return Compiled grade policy
+     * @throws IllegalArgumentException if a key is missing or malformed
+     */
+    public static GradePolicy fromProperties(Properties properties) {
+        String bandList = properties.getProperty("grade.bands");
+        if (bandList == null || bandList.trim().isEmpty()) {
+            throw new IllegalArgumentException("Missing property grade.bands");
+        }
+
+        List<Band> bands = new ArrayList<>();
+        for (String grade : bandList.split(",")) {
+            grade = grade.trim();
+            if (grade.isEmpty()) continue;
+            double min = parseNumber(properties, "grade.band." + grade + ".min");
+            double gpa = parseNumber(properties, "grade.band." + grade + ".gpa");
+            bands.add(new Band(grade, min, gpa));
+        }
+        return new GradePolicy(bands, parseNumber(properties, "grade.pass.min"));
+    }
+
+    private static double parseNumber(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing property " + key);
+        }
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": " + value);
+        }
+    }
+
+    /**
+     * Creates the standard grading scale
+     *
+     * @return Standard grade policy
+     */
+    public static GradePolicy standard() {
+        List<Band> bands = new ArrayList<>();
+        bands.add(new Band("A+", 90, 4.0));
+        bands.add(new Band("A", 80, 3.5));
+        bands.add(new Band("B", 70, 3.0));
+        bands.add(new Band("C", 60, 2.5));
+        bands.add(new Band("D", 50, 2.0));
+        bands.add(new Band("F", 0, 0.0));
+        return new GradePolicy(bands, 50);
+    }
+
+    // ==================== FIXED-POINT CONVERSION ====================
+
+    /**
+     * Converts marks to a fixed-point table index
+     *
+     * Marks are truncated to hundredths (with a small tolerance for binary
+     * rounding, so 0.29 maps to 29) and clamped to the 0-100 scale. NaN
+     * maps to zero.
+     *
+     * @param marks Student's numerical marks
+     * @return Fixed-point marks (0 to 10000)
+     */
+    public static int toFixed(double marks) {
+        if (!(marks > 0)) return 0;
+        if (marks >= MAX_MARKS) return TABLE_SIZE - 1;
+        return (int) (marks * SCALE + 1e-6);
+    }
+
+    /**
+     * Converts a band threshold to fixed point, rounding up so that
+     * "marks &gt;= threshold" holds exactly for every table entry
+     */
+    private static int thresholdToFixed(double threshold) {
+        return (int) Math.ceil(threshold * SCALE - 1e-6);
+    }
+
+    // ==================== LOOKUPS ====================
+
+    /**
+     * Gets the letter grade for the given marks
+     *
+     * @param marks Student's numerical marks
+     * @return Letter grade
+     */
+    public String gradeFor(double marks) {
+        return gradeTable[toFixed(marks)];
+    }
+
+    /**
+     * Gets the GPA points for the given marks
+     *
+     * @param marks Student's numerical marks
+     * @return GPA value
+     */
+    public double gpaFor(double marks) {
+        return gpaTable[toFixed(marks)];
+    }
+
+    /**
+     * Determines if the given marks pass
+     *
+     * @param marks Student's numerical marks
+     * @return true if the marks meet the pass threshold
+     */
+    public boolean isPassed(double marks) {
+        return toFixed(marks) >= passFixed;
+    }
+
+    /**
+     * Gets the band index for the given marks (0 is the best grade)
+     *
+     * @param marks Student's numerical marks
+     * @return Band index
+     */
+    public int bandIndex(double marks) {
+        return bandTable[toFixed(marks)];
+    }
+
+    /**
+     * Gets the band index for fixed-point marks (0 is the best grade)
+     *
+     * @param fixedMarks Fixed-point marks from {@link #toFixed(double)}
+     * @return Band index
+     */
+    public int bandIndexFixed(int fixedMarks) {
+        return bandTable[fixedMarks];
+    }
+
+    /**
+     * Determines if fixed-point marks pass
+     *
+     * @param fixedMarks Fixed-point marks from {@link #toFixed(double)}
+     * @return true if the marks meet the pass threshold
+     */
+    public boolean isPassedFixed(int fixedMarks) {
+        return fixedMarks >= passFixed;
+    }
+
+    // ==================== GETTER METHODS ====================
+
+    /**
+     * Gets the number of grade bands
+     * @return Band count
+     */
+    public int getBandCount() { return grades.length; }
+
+    /**
+     * Gets the letter grade of a band
+     * @param band Band index (0 is the best grade)
+     * @return Letter grade
+     */
+    public String getGrade(int band) { return grades[band]; }
+
+    /**
+     * Gets the minimum marks of a band
+     * @param band Band index (0 is the best grade)
+     * @return Minimum marks
+     */
+    public double getMinMarks(int band) { return minMarks[band]; }
+
+    /**
+     * Gets the GPA points of a band
+     * @param band Band index (0 is the best grade)
+     * @return GPA value
+     */
+    public double getGpa(int band) { return gpas[band]; }
+
+    /**
+     * Gets all letter grades, best first
+     * @return Unmodifiable list of grades
+     */
+    public List<String> getGrades() {
+        List<String> list = new ArrayList<>(grades.length);
+        Collections.addAll(list, grades);
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Gets the pass threshold
+     * @return Minimum marks required to pass
+     */
+    public double getPassMarks() { return passMarks; }
+}
@@ -0,0 +1,294 @@
+/**
+ * Grade Simulator Utility Class
+ *
+ * Projects the effect of candidate grade bands or a marks transform
+ * (moderation curve) on pass rates and grade distributions, overall and
+ * per department. The roster is held as primitive arrays and evaluated in
+ * parallel chunks, so millions of students can be simulated in
+ * milliseconds without touching the database.
+ *
+ * Features:
+ * - What-if evaluation of candidate grade policies
+ * - Optional marks transform applied before grading
+ * - Parallel chunked evaluation over primitive arrays
+ * - Overall and department-wise projected statistics
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.util;
+
+import com.smartstudent.model.Student;
+import com.smartstudent.store.RosterStore;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.IntStream;
+
+public class GradeSimulator {
+    // Rows evaluated per parallel task
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    // Roster columns
+    private final double[] marks;
+    private final int[] departmentIds;
+    private final String[] departmentNames;
+    private final int size;
+
+    /**
+     * Creates a simulator over primitive roster columns
+     *
+     * The arrays are used as-is and must not be modified while a
+     * simulation is running.
+     *
+     * @param marks Marks per student
+     * @param departmentIds Dictionary-encoded department per student
+     * @param departmentNames Department names indexed by department id
+     * @param size Number of students in the arrays
+     * @throws IllegalArgumentException if the arrays are shorter than size
+     */
+    public GradeSimulator(double[] marks, int[] departmentIds, String[] departmentNames, int size) {
+        if (size < 0 || marks.length < size || departmentIds.length < size) {
+            throw new IllegalArgumentException("Roster arrays are shorter than size " + size);
+        }
+        this.marks = marks;
+        this.departmentIds = departmentIds;
+        this.departmentNames = departmentNames;
+        this.size = size;
+    }
+
+    /**
+     * Creates a simulator from a student list
+     *
+     * Copies marks into a primitive array and dictionary-encodes departments.
+     *
+     * @param students Students to simulate
+     * @return Simulator over the students
+     */
+    public static GradeSimulator fromStudents(List<Student> students) {
+        int size = students.size();
+        double[] marks = new double[size];
+        int[] departmentIds = new int[size];
+        Map<String, Integer> dictionary = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Student student = students.get(i);
+            marks[i] = student.getMarks();
+            departmentIds[i] = dictionary.computeIfAbsent(student.getDepartment(), k -> dictionary.size());
+        }
+        String[] names = new String[dictionary.size()];
+        for (Map.Entry<String, Integer> entry : dictionary.entrySet()) {
+            names[entry.getValue()] = entry.getKey();
+        }
+        return new GradeSimulator(marks, departmentIds, names, size);
+    }
+
+    /**
+     * Creates a simulator over a columnar roster store
+     *
+     * Shares the store's marks and department columns without copying.
+     *
+     * @param roster Columnar roster to simulate
+     * @return Simulator over the roster
+     */
+    public static GradeSimulator fromRoster(RosterStore roster) {
+        String[] names = roster.getDepartments().toArray(new String[0]);
+        return new GradeSimulator(roster.getMarksColumn(), roster.getDepartmentIdColumn(), names, roster.size());
+    }
+
+    /**
+     * Creates a moderation curve that scales and shifts marks
+     *
+     * The result is clamped to the 0-100 scale.
+     *
+     * @param factor Multiplier applied to the original marks
+     * @param offset Marks added after scaling
+     * @return Marks transform
+     */
+    public static DoubleUnaryOperator curve(double factor, double offset) {
+        return m -> Math.max(0, Math.min(GradePolicy.MAX_MARKS, m * factor + offset));
+    }
+
+    /**
+     * Simulates a grade policy over the roster
+     *
+     * @param policy Candidate grade policy
+     * @return Projected statistics
+     */
+    public SimulationResult simulate(GradePolicy policy) {
+        return simulate(policy, null);
+    }
+
+    /**
+     * Simulates a grade policy over the roster after transforming marks
+     *
+     * @param policy Candidate grade policy
+     * @param transform Marks transform, or null to grade the original marks
+     * @return Projected statistics
+     */
+    public SimulationResult simulate(GradePolicy policy, DoubleUnaryOperator transform) {
+        long start = System.nanoTime();
+        int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        Accumulator total = IntStream.range(0, chunks)
+            .parallel()
+            .mapToObj(chunk -> evaluate(policy, transform, chunk * CHUNK_SIZE,
+                                        Math.min(size, (chunk + 1) * CHUNK_SIZE)))
+            .reduce(Accumulator::merge)
+            .orElseGet(() -> new Accumulator(departmentNames.length, policy.getBandCount()));
+        return total.toResult(policy, departmentNames, System.nanoTime() - start);
+    }
+
+    /**
+     * Evaluates one chunk of the roster
+     */
+    private Accumulator evaluate(GradePolicy policy, DoubleUnaryOperator transform, int from, int to) {
+        int bands = policy.getBandCount();
+        Accumulator acc = new Accumulator(departmentNames.length, bands);
+        for (int i = from; i < to; i++) {
+            double m = transform == null ? marks[i] : transform.applyAsDouble(marks[i]);
+            int fixed = GradePolicy.toFixed(m);
+            int dept = departmentIds[i];
+
+            acc.count[dept]++;
+            acc.sum[dept] += m;
+            if (m > acc.max[dept]) acc.max[dept] = m;
+            if (m < acc.min[dept]) acc.min[dept] = m;
+            if (policy.isPassedFixed(fixed)) acc.passed[dept]++;
+            acc.grades[dept * bands + policy.bandIndexFixed(fixed)]++;
+            acc.histogram[dept * GradeCalculator.MARKS_HISTOGRAM_BINS + GradeCalculator.histogramBin(m)]++;
+        }
+        return acc;
+    }
+
+    /**
+     * Per-department partial aggregates for one chunk
+     */
+    private static class Accumulator {
+        private final int bands;
+        private final long[] count;
+        private final long[] passed;
+        private final double[] sum;
+        private final double[] max;
+        private final double[] min;
+        private final long[] grades;
+        private final long[] histogram;
+
+        Accumulator(int departments, int bands) {
+            this.bands = bands;
+            this.count = new long[departments];
+            this.passed = new long[departments];
+            this.sum = new double[departments];
+            this.max = new double[departments];
+            this.min = new double[departments];
+            this.grades = new long[departments * bands];
+            this.histogram = new long[departments * GradeCalculator.MARKS_HISTOGRAM_BINS];
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+            Arrays.fill(min, Double.POSITIVE_INFINITY);
+        }
+
+        Accumulator merge(Accumulator other) {
+            for (int d = 0; d < count.length; d++) {
+                count[d] += other.count[d];
+                passed[d] += other.passed[d];
+                sum[d] += other.sum[d];
+                max[d] = Math.max(max[d], other.max[d]);
+                min[d] = Math.min(min[d], other.min[d]);
+            }
+            for (int i = 0; i < grades.length; i++) {
+                grades[i] += other.grades[i];
+            }
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+            return this;
+        }
+
+        SimulationResult toResult(GradePolicy policy, String[] departmentNames, long elapsedNanos) {
+            Map<String, GradeCalculator.Statistics> byDepartment = new LinkedHashMap<>();
+            Map<String, Long> departmentStats = new LinkedHashMap<>();
+            long[] totalGrades = new long[bands];
+            long[] totalHistogram = new long[GradeCalculator.MARKS_HISTOGRAM_BINS];
+            long total = 0, totalPassed = 0;
+            double totalSum = 0;
+            double totalMax = Double.NEGATIVE_INFINITY, totalMin = Double.POSITIVE_INFINITY;
+
+            for (int d = 0; d < count.length; d++) {
+                if (count[d] == 0) continue;
+                Map<String, Long> gradeStats = new LinkedHashMap<>();
+                for (int b = 0; b < bands; b++) {
+                    long n = grades[d * bands + b];
+                    totalGrades[b] += n;
+                    if (n > 0) gradeStats.put(policy.getGrade(b), n);
+                }
+                long[] deptHistogram = Arrays.copyOfRange(histogram, d * totalHistogram.length,
+                                                          (d + 1) * totalHistogram.length);
+                for (int bin = 0; bin < totalHistogram.length; bin++) {
+                    totalHistogram[bin] += deptHistogram[bin];
+                }
+                Map<String, Long> deptOnly = new LinkedHashMap<>();
+                deptOnly.put(departmentNames[d], count[d]);
+                byDepartment.put(departmentNames[d], new GradeCalculator.Statistics(
+                    (int) count[d], (int) passed[d], sum[d] / count[d], max[d], min[d], deptOnly, gradeStats,
+                    deptHistogram));
+
+                departmentStats.put(departmentNames[d], count[d]);
+                total += count[d];
+                totalPassed += passed[d];
+                totalSum += sum[d];
+                totalMax = Math.max(totalMax, max[d]);
+                totalMin = Math.min(totalMin, min[d]);
+            }
+
+            Map<String, Long> gradeStats = new LinkedHashMap<>();
+            for (int b = 0; b < bands; b++) {
+                if (totalGrades[b] > 0) gradeStats.put(policy.getGrade(b), totalGrades[b]);
+            }
+            GradeCalculator.Statistics overall = total == 0
+                ? new GradeCalculator.Statistics(0, 0, 0.0, 0.0, 0.0, departmentStats, gradeStats, totalHistogram)
+                : new GradeCalculator.Statistics((int) total, (int) totalPassed, totalSum / total,
+                                                 totalMax, totalMin, departmentStats, gradeStats, totalHistogram);
+            return new SimulationResult(overall, byDepartment, elapsedNanos);
+        }
+    }
+
+    /**
+     * Result of a simulation run
+     *
+     * Holds the projected overall statistics, the projected statistics for
+     * each department and the time taken to compute them.
+     */
+    public static class SimulationResult {
+        private final GradeCalculator.Statistics overall;
+        private final Map<String, GradeCalculator.Statistics> byDepartment;
+        private final long elapsedNanos;
+
+        SimulationResult(GradeCalculator.Statistics overall,
+                         Map<String, GradeCalculator.Statistics> byDepartment, long elapsedNanos) {
+            this.overall = overall;
+            this.byDepartment = byDepartment;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Gets the projected statistics across all departments
+         * @return Overall statistics
+         */
+        public GradeCalculator.Statistics getOverall() { return overall; }
+
+        /**
+         * Gets the projected statistics for each department
+         * @return Map of department names to statistics
+         */
+        public Map<String, GradeCalculator.Statistics> getByDepartment() { return byDepartment; }
+
+        /**
+         * Gets the time taken by the simulation
+         * @return Elapsed time in milliseconds
+         */
+        public double getElapsedMillis() { return elapsedNanos / 1_000_000.0; }
+    }
+}
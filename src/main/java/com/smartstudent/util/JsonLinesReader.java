@@ -0,0 +1,475 @@
+/**
+ * JSON Lines Reader Class
+ *
+ * Streaming reader for student JSON Lines files such as those written by
+ * ExportUtil.exportToJsonLines. Input is parsed byte by byte from a
+ * reusable buffer straight into Student objects, with no JSON library,
+ * reflection or intermediate tree, so memory use does not depend on the
+ * size of the file.
+ *
+ * Each non-blank line must hold one JSON object. The fields id, name,
+ * rollNo, department, email, phone, marks, createdAt and updatedAt are
+ * read; any other field (including the derived grade and passed) is
+ * skipped, whatever its type. GZIP-compressed files, including the
+ * multi-member files written in parallel mode, are detected and
+ * decompressed automatically.
+ *
+ * Features:
+ * - Single reusable input buffer and string builder
+ * - Full JSON string unescaping, including surrogate pairs
+ * - Line numbers in parse errors
+ * - Usable as a StudentSource for other exports or loaders
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.util;
+
+import com.smartstudent.dao.StudentRowHandler;
+import com.smartstudent.dao.StudentSource;
+import com.smartstudent.model.Student;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.zip.GZIPInputStream;
+
+public class JsonLinesReader implements Closeable {
+    // Default input buffer size
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    // End of input marker returned by peek and next
+    private static final int EOF = -1;
+
+    // Fields read from each record, matched against keys without allocating
+    private static final String[] FIELDS = {
+        "id", "name", "rollNo", "department", "email", "phone", "marks", "createdAt", "updatedAt"
+    };
+
+    private final InputStream in;
+    private final byte[] buffer;
+    private final StringBuilder text = new StringBuilder(64);
+    private int position;
+    private int limit;
+    private long line = 1;
+
+    /**
+     * Creates a reader over an uncompressed stream
+     *
+     * @param in Source stream
+     * @param bufferSize Input buffer size in bytes
+     */
+    public JsonLinesReader(InputStream in, int bufferSize) {
+        this.in = in;
+        this.buffer = new byte[Math.max(64, bufferSize)];
+    }
+
+    /**
+     * Opens a file, decompressing it if it is GZIP-compressed
+     *
+     * @param path File to read
+     * @return Reader positioned at the first record
+     * @throws IOException if the file cannot be opened
+     */
+    public static JsonLinesReader open(Path path) throws IOException {
+        InputStream file = new BufferedInputStream(Files.newInputStream(path), DEFAULT_BUFFER_SIZE);
+        try {
+            file.mark(2);
+            boolean gzip = file.read() == 0x1f && file.read() == 0x8b;
+            file.reset();
+            InputStream in = gzip ? new GZIPInputStream(file, DEFAULT_BUFFER_SIZE) : file;
+            return new JsonLinesReader(in, DEFAULT_BUFFER_SIZE);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets a source that reads a file each time it is iterated
+     *
+     * @param path File to read
+     * @return Source of the students in the file, in file order
+     */
+    public static StudentSource source(Path path) {
+        return handler -> {
+            try (JsonLinesReader reader = open(path)) {
+                reader.forEach(handler);
+            }
+        };
+    }
+
+    /**
+     * Reads every remaining record and passes it to the handler
+     *
+     * @param handler Handler receiving each student
+     * @return Number of students read
+     * @throws IOException if reading fails, a record is malformed or the handler fails
+     */
+    public long forEach(StudentRowHandler handler) throws IOException {
+        long count = 0;
+        Student student;
+        while ((student = next()) != null) {
+            handler.handle(student);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Reads the next record
+     *
+     * @return Next student, or null at the end of the input
+     * @throws IOException if reading fails or the record is malformed
+     */
+    public Student next() throws IOException {
+        // Skip blank lines
+        int c;
+        while ((c = skipSpaces()) == '\n') {
+            read();
+            line++;
+        }
+        if (c == EOF) {
+            return null;
+        }
+        Student student = readObject();
+        c = skipSpaces();
+        if (c == '\n') {
+            read();
+            line++;
+        } else if (c != EOF) {
+            throw error("Expected end of line after record");
+        }
+        return student;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // ==================== RECORD PARSING ====================
+
+    private Student readObject() throws IOException {
+        expect('{');
+        Student student = new Student();
+        if (skipSpaces() == '}') {
+            read();
+            return student;
+        }
+        while (true) {
+            skipSpaces();
+            int field = readKey();
+            skipSpaces();
+            expect(':');
+            skipSpaces();
+            readField(student, field);
+            int c = skipSpaces();
+            read();
+            if (c == '}') return student;
+            if (c != ',') throw error("Expected ',' or '}' in record");
+        }
+    }
+
+    /**
+     * Reads a key and returns its index in FIELDS, or -1 for other keys
+     */
+    private int readKey() throws IOException {
+        readStringContent();
+        for (int i = 0; i < FIELDS.length; i++) {
+            if (FIELDS[i].contentEquals(text)) return i;
+        }
+        return -1;
+    }
+
+    private void readField(Student student, int field) throws IOException {
+        switch (field) {
+            case 0: student.setId(readInt()); break;
+            case 1: student.setName(readNullableString()); break;
+            case 2: student.setRollNo(readNullableString()); break;
+            case 3: student.setDepartment(readNullableString()); break;
+            case 4: student.setEmail(readNullableString()); break;
+            case 5: student.setPhone(readNullableString()); break;
+            case 6: student.setMarks(readDouble()); break;
+            case 7: student.setCreatedAt(readDateTime()); break;
+            case 8: student.setUpdatedAt(readDateTime()); break;
+            default: skipValue(); break;
+        }
+    }
+
+    private LocalDateTime readDateTime() throws IOException {
+        if (peek() == 'n') {
+            expectLiteral("null");
+            return null;
+        }
+        readStringContent();
+        LocalDateTime value = parseIsoDateTime(text);
+        if (value != null) {
+            return value;
+        }
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            throw error("Invalid timestamp '" + text + "'");
+        }
+    }
+
+    /**
+     * Parses the yyyy-MM-ddTHH:mm:ss[.fraction] layout written by the
+     * exporter without a formatter
+     *
+     * @return Parsed value, or null if the text has another layout
+     */
+    private static LocalDateTime parseIsoDateTime(CharSequence value) {
+        int length = value.length();
+        if (length < 19 || length == 20 || length > 29 || value.charAt(4) != '-' || value.charAt(7) != '-'
+                || value.charAt(10) != 'T' || value.charAt(13) != ':' || value.charAt(16) != ':'
+                || (length > 19 && value.charAt(19) != '.')) {
+            return null;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        int hour = digits(value, 11, 2);
+        int minute = digits(value, 14, 2);
+        int second = digits(value, 17, 2);
+        int nano = 0;
+        if (length > 19) {
+            nano = digits(value, 20, length - 20);
+            for (int i = length - 20; i < 9 && nano >= 0; i++) nano *= 10;
+        }
+        if ((year | month | day | hour | minute | second | nano) < 0) {
+            return null;
+        }
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+        } catch (java.time.DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a run of decimal digits
+     *
+     * @return Value, or -1 if a character is not a digit
+     */
+    private static int digits(CharSequence value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    // ==================== VALUES ====================
+
+    private String readNullableString() throws IOException {
+        if (peek() == 'n') {
+            expectLiteral("null");
+            return null;
+        }
+        return readString();
+    }
+
+    private String readString() throws IOException {
+        readStringContent();
+        return text.toString();
+    }
+
+    /**
+     * Reads a string literal, leaving its unescaped content in the text builder
+     */
+    private void readStringContent() throws IOException {
+        expect('"');
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                readEscape();
+            } else if (c < 0x20) {
+                throw error(c == EOF ? "Unterminated string" : "Unescaped control character in string");
+            } else if (c < 0x80) {
+                text.append((char) c);
+            } else {
+                readUtf8(c);
+            }
+        }
+    }
+
+    private void readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"': text.append('"'); break;
+            case '\\': text.append('\\'); break;
+            case '/': text.append('/'); break;
+            case 'b': text.append('\b'); break;
+            case 'f': text.append('\f'); break;
+            case 'n': text.append('\n'); break;
+            case 'r': text.append('\r'); break;
+            case 't': text.append('\t'); break;
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) throw error("Invalid unicode escape");
+                    value = (value << 4) | digit;
+                }
+                text.append((char) value);
+                break;
+            default:
+                throw error("Invalid escape sequence");
+        }
+    }
+
+    private void readUtf8(int first) throws IOException {
+        int extra;
+        int codePoint;
+        if ((first & 0xE0) == 0xC0) {
+            extra = 1;
+            codePoint = first & 0x1F;
+        } else if ((first & 0xF0) == 0xE0) {
+            extra = 2;
+            codePoint = first & 0x0F;
+        } else if ((first & 0xF8) == 0xF0) {
+            extra = 3;
+            codePoint = first & 0x07;
+        } else {
+            throw error("Invalid UTF-8 byte");
+        }
+        for (int i = 0; i < extra; i++) {
+            int next = read();
+            if ((next & 0xC0) != 0x80) throw error("Invalid UTF-8 sequence");
+            codePoint = (codePoint << 6) | (next & 0x3F);
+        }
+        if (!Character.isValidCodePoint(codePoint)) throw error("Invalid UTF-8 sequence");
+        text.appendCodePoint(codePoint);
+    }
+
+    private int readInt() throws IOException {
+        long value = readLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) throw error("Number out of range");
+        return (int) value;
+    }
+
+    private long readLong() throws IOException {
+        int c = peek();
+        boolean negative = c == '-';
+        if (negative) {
+            read();
+            c = peek();
+        }
+        if (c < '0' || c > '9') throw error("Expected a number");
+        // Accumulated as a negative number, which also reaches Long.MIN_VALUE
+        long value = 0;
+        try {
+            while (c >= '0' && c <= '9') {
+                read();
+                value = Math.subtractExact(Math.multiplyExact(value, 10), c - '0');
+                c = peek();
+            }
+            if (c == '.' || c == 'e' || c == 'E') throw error("Expected an integer");
+            return negative ? value : Math.negateExact(value);
+        } catch (ArithmeticException e) {
+            throw error("Number out of range");
+        }
+    }
+
+    private double readDouble() throws IOException {
+        text.setLength(0);
+        int c = peek();
+        while ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+            text.append((char) read());
+            c = peek();
+        }
+        try {
+            return Double.parseDouble(text.toString());
+        } catch (NumberFormatException e) {
+            throw error("Expected a number");
+        }
+    }
+
+    private void skipValue() throws IOException {
+        int c = peek();
+        switch (c) {
+            case '"':
+                readStringContent();
+                break;
+            case '{':
+            case '[':
+                skipContainer();
+                break;
+            case 't': expectLiteral("true"); break;
+            case 'f': expectLiteral("false"); break;
+            case 'n': expectLiteral("null"); break;
+            default: readDouble(); break;
+        }
+    }
+
+    private void skipContainer() throws IOException {
+        int depth = 0;
+        do {
+            int c = peek();
+            if (c == '"') {
+                readStringContent();
+                continue;
+            }
+            read();
+            if (c == '{' || c == '[') depth++;
+            else if (c == '}' || c == ']') depth--;
+            else if (c == EOF || c == '\n') throw error("Unterminated object or array");
+        } while (depth > 0);
+    }
+
+    private void expectLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) throw error("Expected " + literal);
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (read() != expected) throw error("Expected '" + expected + "'");
+    }
+
+    // ==================== INPUT BUFFER ====================
+
+    private int skipSpaces() throws IOException {
+        int c = peek();
+        while (c == ' ' || c == '\t' || c == '\r') {
+            read();
+            c = peek();
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) return EOF;
+        return buffer[position] & 0xFF;
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) return EOF;
+        return buffer[position++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        position = 0;
+        limit = Math.max(0, n);
+        return n > 0;
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " at line " + line);
+    }
+}
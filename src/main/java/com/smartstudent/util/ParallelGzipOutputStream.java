@@ -0,0 +1,202 @@
+/**
+ * Parallel GZIP Output Stream Class
+ *
+ * Compresses its input in fixed-size blocks on a pool of worker threads
+ * and writes each block as a complete GZIP member, in input order. A
+ * sequence of members is a valid GZIP file (RFC 1952), so the output can
+ * be read by gzip, zcat or GZIPInputStream like any other .gz file.
+ *
+ * The number of blocks in flight is bounded to twice the thread count, so
+ * memory use is fixed regardless of how much is written. Each block is
+ * compressed independently, which costs a little ratio compared with a
+ * single stream in exchange for scaling with cores.
+ *
+ * This class is not thread-safe.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+public class ParallelGzipOutputStream extends OutputStream {
+    // Member header: magic, deflate method, no flags, no mtime, no extra flags, unknown OS
+    private static final byte[] GZIP_HEADER = {
+        0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+
+    // Header plus CRC32 and ISIZE trailer
+    private static final int MEMBER_OVERHEAD = GZIP_HEADER.length + 8;
+
+    private final OutputStream out;
+    private final int level;
+    private final int blockSize;
+    private final int maxPending;
+    private final ExecutorService pool;
+    private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+    private byte[] block;
+    private int count;
+    private boolean wroteMember;
+    private boolean closed;
+
+    /**
+     * Creates a parallel GZIP stream
+     *
+     * @param out Destination stream
+     * @param level Deflater level
+     * @param threads Compression threads (at least 1)
+     * @param blockSize Uncompressed bytes per member
+     */
+    public ParallelGzipOutputStream(OutputStream out, int level, int threads, int blockSize) {
+        this.out = out;
+        this.level = level;
+        this.blockSize = blockSize;
+        this.maxPending = Math.max(1, threads) * 2;
+        this.pool = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread thread = new Thread(r, "parallel-gzip");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.block = new byte[blockSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (count == blockSize) submitBlock();
+        block[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (count == blockSize) submitBlock();
+            int n = Math.min(len, blockSize - count);
+            System.arraycopy(b, off, block, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Writes completed members and flushes the underlying stream
+     *
+     * The partially filled block is kept so that flushing does not produce
+     * small members.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        while (!pending.isEmpty() && pending.peekFirst().isDone()) {
+            writeMember(pending.removeFirst());
+        }
+        out.flush();
+    }
+
+    /**
+     * Compresses the remaining input, writes all members and closes the
+     * underlying stream
+     *
+     * @throws IOException if compression or writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try {
+            // An empty input still needs one member to be a valid .gz file
+            if (count > 0 || (!wroteMember && pending.isEmpty())) {
+                submitBlock();
+            }
+            while (!pending.isEmpty()) {
+                writeMember(pending.removeFirst());
+            }
+            out.flush();
+        } finally {
+            pool.shutdownNow();
+            out.close();
+        }
+    }
+
+    private void submitBlock() throws IOException {
+        while (pending.size() >= maxPending) {
+            writeMember(pending.removeFirst());
+        }
+        final byte[] input = block;
+        final int length = count;
+        pending.addLast(pool.submit(() -> compress(input, length, level)));
+        block = new byte[blockSize];
+        count = 0;
+    }
+
+    private void writeMember(Future<byte[]> member) throws IOException {
+        try {
+            out.write(member.get());
+            wroteMember = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Compression interrupted");
+        } catch (ExecutionException e) {
+            throw new IOException("Error compressing block: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) throw new IOException("Stream closed");
+    }
+
+    /**
+     * Compresses one block into a complete GZIP member
+     */
+    private static byte[] compress(byte[] input, int length, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(input, 0, length);
+            deflater.finish();
+
+            // Raw deflate never expands input by more than a few bytes per 16 KB
+            byte[] member = new byte[MEMBER_OVERHEAD + length + (length >> 10) + 64];
+            System.arraycopy(GZIP_HEADER, 0, member, 0, GZIP_HEADER.length);
+            int size = GZIP_HEADER.length;
+            while (!deflater.finished()) {
+                if (size == member.length - 8) {
+                    member = Arrays.copyOf(member, member.length * 2);
+                }
+                size += deflater.deflate(member, size, member.length - 8 - size);
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(input, 0, length);
+            size = writeIntLE(member, size, (int) crc.getValue());
+            size = writeIntLE(member, size, length);
+            return size == member.length ? member : Arrays.copyOf(member, size);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static int writeIntLE(byte[] b, int offset, int value) {
+        b[offset] = (byte) value;
+        b[offset + 1] = (byte) (value >>> 8);
+        b[offset + 2] = (byte) (value >>> 16);
+        b[offset + 3] = (byte) (value >>> 24);
+        return offset + 4;
+    }
+}
@@ -0,0 +1,395 @@
+/**
+ * Partitioned Export Class
+ *
+ * Exports a roster partitioned by department, encoding the partitions
+ * concurrently on a worker pool while a single writer emits them in a
+ * fixed order. The output is either a ZIP archive with one CSV entry per
+ * department plus a combined entry, or one merged CSV file.
+ *
+ * Every partition is encoded once. In ZIP mode the writer copies each
+ * encoded block into its department entry and onto a temporary spill
+ * file next to the output; the spill then holds every department in
+ * order and is copied into the combined entry, so the combined entry
+ * costs a file copy rather than a second encoding pass.
+ *
+ * Ordering is deterministic: departments are written in name order and
+ * students within a department keep their roster order. Each worker hands
+ * encoded blocks to the writer through a small bounded queue, so memory
+ * per worker is capped at a few blocks no matter how large a department
+ * is.
+ *
+ * Features:
+ * - Department partitioning by counting sort over dictionary ids
+ * - Concurrent CSV encoding with bounded per-worker buffering
+ * - ZIP archive or merged CSV output, each encoded in a single pass
+ * - Deterministic output independent of thread scheduling
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.util;
+
+import com.smartstudent.store.RosterStore;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class PartitionedExport {
+    /**
+     * Output layout
+     */
+    public enum Mode {
+        /** ZIP archive with one entry per department plus a combined entry */
+        ZIP,
+        /** Single CSV file with all departments in name order */
+        MERGED_CSV
+    }
+
+    // Name of the combined entry in ZIP mode
+    public static final String COMBINED_ENTRY = "all_students.csv";
+
+    // Size of each encoded block handed from a worker to the writer
+    private static final int BLOCK_SIZE = 1 << 18;
+
+    // Blocks a worker may have queued before it waits for the writer
+    private static final int BLOCKS_PER_WORKER = 4;
+
+    // End-of-partition marker
+    private static final byte[] END = new byte[0];
+
+    private final int workers;
+
+    /**
+     * Creates an export job
+     *
+     * @param workers Number of encoding threads (at least 1)
+     */
+    public PartitionedExport(int workers) {
+        this.workers = Math.max(1, workers);
+    }
+
+    /**
+     * Creates an export job with one worker per available core
+     *
+     * @return Export job
+     */
+    public static PartitionedExport withAvailableCores() {
+        return new PartitionedExport(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Exports a roster partitioned by department
+     *
+     * @param roster Columnar roster to export
+     * @param filename Output file (optional, auto-generated if null)
+     * @param mode Output layout
+     * @return Name of the written file
+     * @throws IOException if encoding or writing fails
+     */
+    public String export(RosterStore roster, String filename, Mode mode) throws IOException {
+        return export(roster, filename, mode, new ExportProgress());
+    }
+
+    /**
+     * Exports a roster partitioned by department, reporting progress
+     *
+     * Rows are counted as each department is written, and cancellation is
+     * checked before every block, so the total is the roster size in both
+     * modes.
+     *
+     * @param roster Columnar roster to export
+     * @param filename Output file (optional, auto-generated if null)
+     * @param mode Output layout
+     * @param progress Progress to update and cancellation to honour
+     * @return Name of the written file
+     * @throws IOException if encoding or writing fails
+     */
+    public String export(RosterStore roster, String filename, Mode mode, ExportProgress progress)
+            throws IOException {
+        if (filename == null || filename.trim().isEmpty()) {
+            filename = ExportUtil.defaultFilename("students_by_department", mode == Mode.ZIP ? "zip" : "csv");
+        }
+        List<Partition> partitions = partition(roster);
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread thread = new Thread(r, "partitioned-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Path path = Paths.get(filename);
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(path), BLOCK_SIZE)) {
+            if (mode == Mode.ZIP) {
+                writeZip(pool, roster, partitions, path, file, progress);
+            } else {
+                writeCsvHeader(file);
+                writePartitions(pool, roster, partitions, new PartitionSink() {
+                    @Override
+                    void write(byte[] block) throws IOException {
+                        file.write(block);
+                    }
+                }, progress);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        System.out.println("Data exported by department to: " + filename);
+        return filename;
+    }
+
+    /**
+     * Writes the department entries and then the combined entry, encoding
+     * each partition once
+     */
+    private void writeZip(ExecutorService pool, RosterStore roster, List<Partition> partitions,
+                          Path path, OutputStream file, ExportProgress progress) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        Path spill = Files.createTempFile(dir, "partitioned-export", ".tmp");
+        try {
+            ZipOutputStream zip = new ZipOutputStream(file);
+            try (OutputStream combined = new BufferedOutputStream(Files.newOutputStream(spill), BLOCK_SIZE)) {
+                writePartitions(pool, roster, partitions, new PartitionSink() {
+                    @Override
+                    void begin(Partition partition) throws IOException {
+                        zip.putNextEntry(new ZipEntry(partition.entryName));
+                        writeCsvHeader(zip);
+                    }
+
+                    @Override
+                    void write(byte[] block) throws IOException {
+                        zip.write(block);
+                        combined.write(block);
+                    }
+
+                    @Override
+                    void end(Partition partition) throws IOException {
+                        zip.closeEntry();
+                    }
+                }, progress);
+            }
+            zip.putNextEntry(new ZipEntry(COMBINED_ENTRY));
+            writeCsvHeader(zip);
+            Files.copy(spill, zip);
+            zip.closeEntry();
+            zip.finish();
+        } finally {
+            Files.deleteIfExists(spill);
+        }
+    }
+
+    /**
+     * Encodes partitions on the pool and writes them to the sink in order,
+     * counting the rows of each partition once it is written
+     */
+    private void writePartitions(ExecutorService pool, RosterStore roster, List<Partition> partitions,
+                                 PartitionSink sink, ExportProgress progress) throws IOException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<BlockingQueue<byte[]>> queues = new ArrayList<>(partitions.size());
+
+        // Tasks start in submission order, so the partition the writer is
+        // waiting on is always running or next in line
+        for (Partition partition : partitions) {
+            BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(BLOCKS_PER_WORKER);
+            queues.add(queue);
+            pool.execute(() -> encode(roster, partition, queue, failure));
+        }
+
+        try {
+            for (int p = 0; p < queues.size(); p++) {
+                Partition partition = partitions.get(p);
+                BlockingQueue<byte[]> queue = queues.get(p);
+                sink.begin(partition);
+                for (byte[] block = queue.take(); block != END; block = queue.take()) {
+                    progress.checkCancelled();
+                    sink.write(block);
+                }
+                if (failure.get() != null) {
+                    throw new IOException("Error encoding department partition: " + failure.get().getMessage(),
+                                          failure.get());
+                }
+                sink.end(partition);
+                progress.addRows(partition.rows.length);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Partitioned export interrupted");
+        }
+    }
+
+    /**
+     * Encodes one partition as CSV rows into bounded blocks
+     */
+    private static void encode(RosterStore roster, Partition partition, BlockingQueue<byte[]> queue,
+                               AtomicReference<Throwable> failure) {
+        try {
+            try (ByteTextWriter writer = new ByteTextWriter(new BlockChannel(queue), BLOCK_SIZE)) {
+                for (int row : partition.rows) {
+                    ExportUtil.writeCsvRow(writer, roster, row);
+                }
+            }
+        } catch (Throwable e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                // Export was abandoned; the writer is no longer waiting
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void writeCsvHeader(OutputStream out) throws IOException {
+        ByteTextWriter writer = new ByteTextWriter(new UnclosedStreamChannel(out), 256);
+        ExportUtil.writeCsvHeader(writer);
+        writer.flush();
+    }
+
+    // ==================== PARTITIONING ====================
+
+    /**
+     * Groups roster rows by department with a counting sort
+     *
+     * @return Partitions in department name order, rows in roster order
+     */
+    private static List<Partition> partition(RosterStore roster) {
+        int departments = roster.getDepartmentCount();
+        int[] departmentIds = roster.getDepartmentIdColumn();
+        int size = roster.size();
+
+        int[] counts = new int[departments];
+        for (int row = 0; row < size; row++) {
+            counts[departmentIds[row]]++;
+        }
+        int[][] rows = new int[departments][];
+        for (int d = 0; d < departments; d++) {
+            rows[d] = new int[counts[d]];
+        }
+        int[] fill = new int[departments];
+        for (int row = 0; row < size; row++) {
+            int d = departmentIds[row];
+            rows[d][fill[d]++] = row;
+        }
+
+        Integer[] order = new Integer[departments];
+        for (int d = 0; d < departments; d++) order[d] = d;
+        Arrays.sort(order, (a, b) -> roster.getDepartmentName(a).compareTo(roster.getDepartmentName(b)));
+
+        List<Partition> partitions = new ArrayList<>();
+        Set<String> entryNames = new HashSet<>();
+        for (int d : order) {
+            if (counts[d] == 0) continue;
+            String base = roster.getDepartmentName(d).replaceAll("[^A-Za-z0-9._-]+", "_");
+            if (base.isEmpty()) base = "department";
+            String entry = base + ".csv";
+            for (int n = 2; !entryNames.add(entry) || entry.equals(COMBINED_ENTRY); n++) {
+                entry = base + "_" + n + ".csv";
+            }
+            partitions.add(new Partition(entry, rows[d]));
+        }
+        return partitions;
+    }
+
+    /**
+     * Rows of one department and the archive entry they are written to
+     */
+    private static class Partition {
+        final String entryName;
+        final int[] rows;
+
+        Partition(String entryName, int[] rows) {
+            this.entryName = entryName;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * Receives the encoded partitions from the writer, in order
+     */
+    private abstract static class PartitionSink {
+        void begin(Partition partition) throws IOException { }
+
+        abstract void write(byte[] block) throws IOException;
+
+        void end(Partition partition) throws IOException { }
+    }
+
+    // ==================== CHANNELS ====================
+
+    /**
+     * Channel that copies each flushed block onto a bounded queue
+     */
+    private static class BlockChannel implements WritableByteChannel {
+        private final BlockingQueue<byte[]> queue;
+        private boolean open = true;
+
+        BlockChannel(BlockingQueue<byte[]> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int length = src.remaining();
+            if (length == 0) return 0;
+            byte[] block = new byte[length];
+            src.get(block);
+            try {
+                queue.put(block);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Partition encoding interrupted");
+            }
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() { return open; }
+
+        @Override
+        public void close() { open = false; }
+    }
+
+    /**
+     * Channel over a stream that leaves the stream open on close
+     */
+    private static class UnclosedStreamChannel implements WritableByteChannel {
+        private final OutputStream out;
+
+        UnclosedStreamChannel(OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            int length = src.remaining();
+            out.write(src.array(), src.arrayOffset() + src.position(), length);
+            src.position(src.limit());
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() { return true; }
+
+        @Override
+        public void close() { }
+    }
+}
@@ -0,0 +1,140 @@
+/**
+ * Running Statistics Class
+ *
+ * Keeps the measures of {@link GradeCalculator.Statistics} up to date for
+ * a set of students that changes one student at a time. Students can be
+ * added and removed in any order, and each change costs the same however
+ * many students are counted, so a view of the roster can follow a filter
+ * as it is narrowed or widened by applying only the students that entered
+ * or left it.
+ *
+ * Counts, the marks sum and the distributions are updated in place; the
+ * highest and lowest marks come from a count of each distinct mark, so
+ * they stay exact when the student holding them is removed. The sum is
+ * kept in whole hundredths, the precision marks are stored with, so that
+ * adding and removing students does not accumulate rounding error.
+ *
+ * Grades, pass/fail and histogram bins are taken from the grade policy
+ * that was the default when the statistics were created.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.util;
+
+import com.smartstudent.model.Student;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class RunningStatistics {
+    private final GradePolicy policy;
+
+    private int count;
+    private int passed;
+    // Sum of the marks: whole hundredths, plus whatever finer part marks have
+    private long sumHundredths;
+    private double sumRemainder;
+    private final Map<String, Long> departmentCounts = new HashMap<>();
+    private final long[] gradeCounts;
+    private final long[] histogram = new long[GradeCalculator.MARKS_HISTOGRAM_BINS];
+    // Number of students with each mark, for the highest and lowest marks
+    private final TreeMap<Double, Integer> marks = new TreeMap<>();
+
+    /**
+     * Creates statistics counting no students
+     */
+    public RunningStatistics() {
+        policy = GradePolicy.getDefault();
+        gradeCounts = new long[policy.getBandCount()];
+    }
+
+    /**
+     * Counts a student
+     *
+     * @param student Student to add
+     */
+    public void add(Student student) {
+        update(student, 1);
+        marks.merge(student.getMarks(), 1, Integer::sum);
+    }
+
+    /**
+     * Stops counting a student that was added before
+     *
+     * @param student Student to remove, with the same department and marks as when added
+     */
+    public void remove(Student student) {
+        Integer students = marks.get(student.getMarks());
+        if (students == null) {
+            throw new IllegalArgumentException("Student was not added: " + student);
+        }
+        update(student, -1);
+        if (students == 1) {
+            marks.remove(student.getMarks());
+        } else {
+            marks.put(student.getMarks(), students - 1);
+        }
+        if (count == 0) {
+            sumRemainder = 0;
+        }
+    }
+
+    private void update(Student student, int change) {
+        double m = student.getMarks();
+        int fixed = GradePolicy.toFixed(m);
+        long hundredths = Math.round(m * GradePolicy.SCALE);
+        count += change;
+        sumHundredths += change * hundredths;
+        sumRemainder += change * (m - (double) hundredths / GradePolicy.SCALE);
+        if (policy.isPassedFixed(fixed)) passed += change;
+        gradeCounts[policy.bandIndexFixed(fixed)] += change;
+        histogram[GradeCalculator.histogramBin(m)] += change;
+        departmentCounts.merge(student.getDepartment(), (long) change, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    /**
+     * Stops counting every student
+     */
+    public void clear() {
+        count = 0;
+        passed = 0;
+        sumHundredths = 0;
+        sumRemainder = 0;
+        departmentCounts.clear();
+        Arrays.fill(gradeCounts, 0);
+        Arrays.fill(histogram, 0);
+        marks.clear();
+    }
+
+    /**
+     * Gets the number of students counted
+     * @return Student count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Creates statistics of the students currently counted
+     *
+     * @return Statistics; as for an empty list, the distributions are null when no students are counted
+     */
+    public GradeCalculator.Statistics toStatistics() {
+        if (count == 0) {
+            return new GradeCalculator.Statistics(0, 0, 0.0, 0.0, 0.0, null, null);
+        }
+        Map<String, Long> gradeStats = new HashMap<>();
+        for (int b = 0; b < gradeCounts.length; b++) {
+            if (gradeCounts[b] > 0) {
+                gradeStats.put(policy.getGrade(b), gradeCounts[b]);
+            }
+        }
+        double sum = (double) sumHundredths / GradePolicy.SCALE + sumRemainder;
+        return new GradeCalculator.Statistics(count, passed, sum / count, marks.lastKey(), marks.firstKey(),
+                                              new HashMap<>(departmentCounts), gradeStats, histogram);
+    }
+}
@@ -0,0 +1,443 @@
+/**
+ * XLSX Writer Class
+ *
+ * Streaming writer for single-sheet Excel workbooks. The workbook package
+ * is written with java.util.zip and the sheet XML is encoded row by row
+ * through a ByteTextWriter straight into the zip entry, so no workbook or
+ * row model is ever held in memory and large rosters export in constant
+ * space.
+ *
+ * Strings are written inline by default. Columns with few distinct values,
+ * such as departments, can use shared strings instead: each distinct value
+ * is stored once in the shared string table, which is written after the
+ * sheet when the set of values is known. Only the distinct shared values
+ * are kept in memory.
+ *
+ * Usage: optionally set column widths and freeze the header row, then
+ * call startRow, one cell method per column and endRow for each row, and
+ * finally close.
+ *
+ * Features:
+ * - Constant memory regardless of row count
+ * - Shared string deduplication for low-cardinality columns
+ * - Bold header cells and two-decimal number cells
+ * - Frozen header row and fixed column widths
+ *
+ * This class is not thread-safe.
+ *
+ * @author Smart Student Management System
+ * @version 1.0
+ * @since 2025
+ */
+package com.smartstudent.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+public class XlsxWriter implements Closeable {
+    // Largest number of rows in an Excel worksheet
+    public static final int MAX_ROWS = 1_048_576;
+
+    // Largest number of columns in an Excel worksheet
+    public static final int MAX_COLUMNS = 16_384;
+
+    // Sheet XML is highly repetitive; fast deflate loses little size and saves a lot of time
+    public static final int DEFAULT_COMPRESSION_LEVEL = Deflater.BEST_SPEED;
+
+    // Longest sheet name Excel accepts
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+
+    // Cell style indexes into cellXfs in styles.xml
+    private static final int STYLE_HEADER = 1;
+    private static final int STYLE_DECIMAL = 2;
+
+    // Package parts
+    private static final String NS_MAIN = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String NS_RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final String CONTENT_TYPES = XML_DECLARATION
+        + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+        + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+        + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+        + "<Override PartName=\"/xl/workbook.xml\""
+        + " ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml\"/>"
+        + "<Override PartName=\"/xl/worksheets/sheet1.xml\""
+        + " ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml\"/>"
+        + "<Override PartName=\"/xl/styles.xml\""
+        + " ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml\"/>"
+        + "<Override PartName=\"/xl/sharedStrings.xml\""
+        + " ContentType=\"application/vnd.openxmlformats-officedocument.spreadsheetml.sharedStrings+xml\"/>"
+        + "</Types>";
+
+    private static final String PACKAGE_RELATIONSHIPS = XML_DECLARATION
+        + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+        + "<Relationship Id=\"rId1\" Type=\"" + NS_RELATIONSHIPS + "/officeDocument\" Target=\"xl/workbook.xml\"/>"
+        + "</Relationships>";
+
+    private static final String WORKBOOK_RELATIONSHIPS = XML_DECLARATION
+        + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+        + "<Relationship Id=\"rId1\" Type=\"" + NS_RELATIONSHIPS + "/worksheet\" Target=\"worksheets/sheet1.xml\"/>"
+        + "<Relationship Id=\"rId2\" Type=\"" + NS_RELATIONSHIPS + "/styles\" Target=\"styles.xml\"/>"
+        + "<Relationship Id=\"rId3\" Type=\"" + NS_RELATIONSHIPS + "/sharedStrings\" Target=\"sharedStrings.xml\"/>"
+        + "</Relationships>";
+
+    // Styles: 0 default, 1 bold header, 2 two decimals
+    private static final String STYLES = XML_DECLARATION
+        + "<styleSheet xmlns=\"" + NS_MAIN + "\">"
+        + "<fonts count=\"2\">"
+        + "<font><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+        + "<font><b/><sz val=\"11\"/><name val=\"Calibri\"/></font>"
+        + "</fonts>"
+        + "<fills count=\"2\"><fill><patternFill patternType=\"none\"/></fill>"
+        + "<fill><patternFill patternType=\"gray125\"/></fill></fills>"
+        + "<borders count=\"1\"><border><left/><right/><top/><bottom/><diagonal/></border></borders>"
+        + "<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>"
+        + "<cellXfs count=\"3\">"
+        + "<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>"
+        + "<xf numFmtId=\"0\" fontId=\"1\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyFont=\"1\"/>"
+        + "<xf numFmtId=\"2\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>"
+        + "</cellXfs>"
+        + "<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>"
+        + "</styleSheet>";
+
+    private final ZipOutputStream zip;
+    private final ByteTextWriter writer;
+    private final Map<String, Integer> sharedIndex = new HashMap<>();
+    private final List<String> sharedStrings = new ArrayList<>();
+    private double[] columnWidths;
+    private boolean freezeHeaderRow;
+    private boolean sheetStarted;
+    private boolean inRow;
+    private int rows;
+    private int column;
+    private long sharedReferences;
+
+    /**
+     * Creates a writer and writes the fixed parts of the workbook
+     *
+     * @param out Destination stream, closed when the writer is closed
+     * @param sheetName Name of the worksheet
+     * @param compressionLevel Deflate level (0-9)
+     * @throws IOException if writing fails
+     */
+    public XlsxWriter(OutputStream out, String sheetName, int compressionLevel) throws IOException {
+        this.zip = new ZipOutputStream(out);
+        this.zip.setLevel(compressionLevel);
+        this.writer = new ByteTextWriter(zip, ByteTextWriter.DEFAULT_BUFFER_SIZE);
+
+        writeEntry("[Content_Types].xml", CONTENT_TYPES);
+        writeEntry("_rels/.rels", PACKAGE_RELATIONSHIPS);
+        writeEntry("xl/_rels/workbook.xml.rels", WORKBOOK_RELATIONSHIPS);
+        writeEntry("xl/styles.xml", STYLES);
+
+        zip.putNextEntry(new ZipEntry("xl/workbook.xml"));
+        writer.write(XML_DECLARATION);
+        writer.write("<workbook xmlns=\"").write(NS_MAIN).write("\" xmlns:r=\"").write(NS_RELATIONSHIPS).write("\">");
+        writer.write("<sheets><sheet name=\"").writeXmlText(sanitizeSheetName(sheetName));
+        writer.write("\" sheetId=\"1\" r:id=\"rId1\"/></sheets></workbook>");
+        closeEntry();
+    }
+
+    /**
+     * Creates or truncates a file and opens a writer on it
+     *
+     * @param filename File to write
+     * @param sheetName Name of the worksheet
+     * @return Writer on the file
+     * @throws IOException if the file cannot be opened
+     */
+    public static XlsxWriter open(String filename, String sheetName) throws IOException {
+        // The deflater writes in small chunks; buffer them into large file writes
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(Paths.get(filename)),
+                                                    ByteTextWriter.DEFAULT_BUFFER_SIZE);
+        try {
+            return new XlsxWriter(out, sheetName, DEFAULT_COMPRESSION_LEVEL);
+        } catch (IOException e) {
+            out.close();
+            throw e;
+        }
+    }
+
+    // ==================== LAYOUT ====================
+
+    /**
+     * Sets the column widths, in characters
+     *
+     * Must be called before the first row.
+     *
+     * @param widths Width of each column from the first
+     * @return This writer
+     */
+    public XlsxWriter setColumnWidths(double... widths) {
+        checkSheetNotStarted();
+        this.columnWidths = widths.clone();
+        return this;
+    }
+
+    /**
+     * Keeps the first row visible while scrolling
+     *
+     * Must be called before the first row.
+     *
+     * @return This writer
+     */
+    public XlsxWriter freezeHeaderRow() {
+        checkSheetNotStarted();
+        this.freezeHeaderRow = true;
+        return this;
+    }
+
+    // ==================== ROWS AND CELLS ====================
+
+    /**
+     * Starts a new row
+     *
+     * @return This writer
+     * @throws IOException if writing fails or the sheet is full
+     */
+    public XlsxWriter startRow() throws IOException {
+        if (inRow) throw new IllegalStateException("Previous row not ended");
+        if (rows == MAX_ROWS) throw new IOException("Worksheet row limit of " + MAX_ROWS + " exceeded");
+        if (!sheetStarted) startSheet();
+        rows++;
+        column = 0;
+        inRow = true;
+        writer.write("<row r=\"").writeLong(rows).write("\">");
+        return this;
+    }
+
+    /**
+     * Ends the current row
+     *
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public XlsxWriter endRow() throws IOException {
+        checkInRow();
+        writer.write("</row>");
+        inRow = false;
+        return this;
+    }
+
+    /**
+     * Writes a bold inline string cell, for header rows
+     *
+     * @param text Cell text
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public XlsxWriter headerCell(String text) throws IOException {
+        return inlineString(text, STYLE_HEADER);
+    }
+
+    /**
+     * Writes an inline string cell
+     *
+     * @param text Cell text; null leaves the cell empty
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public XlsxWriter stringCell(String text) throws IOException {
+        return inlineString(text, 0);
+    }
+
+    /**
+     * Writes a string cell through the shared string table
+     *
+     * Intended for columns with few distinct values: every distinct value
+     * stays in memory until the writer is closed.
+     *
+     * @param text Cell text; null leaves the cell empty
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public XlsxWriter sharedStringCell(String text) throws IOException {
+        if (text == null) return emptyCell();
+        Integer index = sharedIndex.get(text);
+        if (index == null) {
+            index = sharedStrings.size();
+            sharedIndex.put(text, index);
+            sharedStrings.add(text);
+        }
+        sharedReferences++;
+        startCell(0);
+        writer.write(" t=\"s\"><v>").writeLong(index).write("</v></c>");
+        return this;
+    }
+
+    /**
+     * Writes an integer cell
+     *
+     * @param value Cell value
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public XlsxWriter numberCell(long value) throws IOException {
+        startCell(0);
+        writer.write("><v>").writeLong(value).write("</v></c>");
+        return this;
+    }
+
+    /**
+     * Writes a number cell rounded and displayed with two decimals
+     *
+     * @param value Cell value; NaN and infinities leave the cell empty
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public XlsxWriter decimalCell(double value) throws IOException {
+        if (Double.isNaN(value) || Double.isInfinite(value)) return emptyCell();
+        startCell(STYLE_DECIMAL);
+        writer.write("><v>").writeFixed2(value).write("</v></c>");
+        return this;
+    }
+
+    /**
+     * Writes an empty cell
+     *
+     * @return This writer
+     * @throws IOException if writing fails
+     */
+    public XlsxWriter emptyCell() throws IOException {
+        startCell(0);
+        writer.write("/>");
+        return this;
+    }
+
+    /**
+     * Gets the number of rows started so far
+     * @return Row count, including any header row
+     */
+    public int getRowCount() { return rows; }
+
+    /**
+     * Finishes the sheet, writes the shared string table and closes the
+     * underlying stream
+     *
+     * @throws IOException if writing or closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (inRow) endRow();
+            if (!sheetStarted) startSheet();
+            writer.write("</sheetData></worksheet>");
+            closeEntry();
+
+            zip.putNextEntry(new ZipEntry("xl/sharedStrings.xml"));
+            writer.write(XML_DECLARATION);
+            writer.write("<sst xmlns=\"").write(NS_MAIN).write("\" count=\"").writeLong(sharedReferences);
+            writer.write("\" uniqueCount=\"").writeLong(sharedStrings.size()).write("\">");
+            for (String text : sharedStrings) {
+                writer.write("<si>");
+                writeText(text);
+                writer.write("</si>");
+            }
+            writer.write("</sst>");
+            closeEntry();
+        } finally {
+            writer.close();
+        }
+    }
+
+    // ==================== SHEET XML ====================
+
+    private void startSheet() throws IOException {
+        sheetStarted = true;
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        writer.write(XML_DECLARATION);
+        writer.write("<worksheet xmlns=\"").write(NS_MAIN).write("\">");
+        if (freezeHeaderRow) {
+            writer.write("<sheetViews><sheetView workbookViewId=\"0\">");
+            writer.write("<pane ySplit=\"1\" topLeftCell=\"A2\" activePane=\"bottomLeft\" state=\"frozen\"/>");
+            writer.write("</sheetView></sheetViews>");
+        }
+        if (columnWidths != null && columnWidths.length > 0) {
+            writer.write("<cols>");
+            for (int i = 0; i < columnWidths.length; i++) {
+                writer.write("<col min=\"").writeLong(i + 1).write("\" max=\"").writeLong(i + 1);
+                writer.write("\" width=\"").writeFixed2(columnWidths[i]).write("\" customWidth=\"1\"/>");
+            }
+            writer.write("</cols>");
+        }
+        writer.write("<sheetData>");
+    }
+
+    private XlsxWriter inlineString(String text, int style) throws IOException {
+        if (text == null) return emptyCell();
+        startCell(style);
+        writer.write(" t=\"inlineStr\"><is>");
+        writeText(text);
+        writer.write("</is></c>");
+        return this;
+    }
+
+    /**
+     * Writes a t element, preserving leading and trailing spaces
+     */
+    private void writeText(String text) throws IOException {
+        int length = text.length();
+        boolean preserve = length > 0
+            && (Character.isWhitespace(text.charAt(0)) || Character.isWhitespace(text.charAt(length - 1)));
+        writer.write(preserve ? "<t xml:space=\"preserve\">" : "<t>").writeXmlText(text).write("</t>");
+    }
+
+    /**
+     * Opens a c element with its style; the caller writes the type
+     * attribute, closes the start tag and writes the value
+     *
+     * Cell references are optional and omitted: cells are written for every
+     * column in order, so each one's position is implied, and leaving the
+     * references out makes the sheet XML about a quarter smaller.
+     */
+    private void startCell(int style) throws IOException {
+        checkInRow();
+        if (column == MAX_COLUMNS) throw new IllegalStateException("Worksheet column limit of " + MAX_COLUMNS + " exceeded");
+        column++;
+        writer.write("<c");
+        if (style != 0) {
+            writer.write(" s=\"").writeLong(style).write('"');
+        }
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        writer.write(content);
+        closeEntry();
+    }
+
+    private void closeEntry() throws IOException {
+        // Buffered bytes belong to the current entry
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void checkInRow() {
+        if (!inRow) throw new IllegalStateException("No row started");
+    }
+
+    private void checkSheetNotStarted() {
+        if (sheetStarted) throw new IllegalStateException("Sheet layout must be set before the first row");
+    }
+
+    /**
+     * Replaces characters Excel does not allow in sheet names and limits the length
+     */
+    private static String sanitizeSheetName(String name) {
+        if (name == null || name.trim().isEmpty()) return "Sheet1";
+        String cleaned = name.replaceAll("[\\[\\]:*?/\\\\]", "_");
+        return cleaned.length() > MAX_SHEET_NAME_LENGTH ? cleaned.substring(0, MAX_SHEET_NAME_LENGTH) : cleaned;
+    }
+}
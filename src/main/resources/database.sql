@@ -21,9 +21,30 @@ CREATE TABLE IF NOT EXISTS students (
     phone VARCHAR(20),
     marks DECIMAL(5,2),
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    -- Supports incremental sync of cached rosters by update time
+    INDEX idx_students_updated_at (updated_at),
+    -- Supports name-ordered paging of the student table
+    INDEX idx_students_name (name),
+    -- Support the other indexed sorts of the paged table (see SortSpec);
+    -- descending key parts need MySQL 8.0
+    INDEX idx_students_marks (marks),
+    INDEX idx_students_department_marks (department, marks DESC)
 );
 
+-- Log of deleted students for delta exports
+CREATE TABLE IF NOT EXISTS student_deletions (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    roll_no VARCHAR(50) NOT NULL,
+    deleted_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_student_deletions_deleted_at (deleted_at)
+);
+
+-- Record every deletion, whichever client performs it
+DROP TRIGGER IF EXISTS trg_students_after_delete;
+CREATE TRIGGER trg_students_after_delete AFTER DELETE ON students
+FOR EACH ROW INSERT INTO student_deletions (roll_no) VALUES (OLD.roll_no);
+
 -- Insert default admin user
 INSERT INTO users (username, password, role) VALUES ('admin', 'admin123', 'admin');
 